@@ -0,0 +1,140 @@
+package org.knime.hdf5.benchmark;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.hdf5.lib.Hdf5DataSet;
+import org.knime.hdf5.lib.Hdf5File;
+import org.knime.hdf5.lib.types.Hdf5DataType;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.Endian;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
+import org.knime.hdf5.nodes.writer.edit.EditDataType.Rounding;
+
+/**
+ * Standalone benchmark which compares the rows per second of reading a
+ * wide 2-dimensional dataSet row by row with boxed values (like the reader
+ * did before) with reading it block by block into the cells of the rows
+ * using {@linkplain Hdf5DataSet#readCells(long, long[], DataCell[][], int)}.
+ * <br>
+ * <br>
+ * The benchmark is compiled with the test fragment, but it is no unit test
+ * since it needs the native hdf library. To run it, launch it as a Java
+ * application of the fragment (e.g. with <i>Run As &gt; Java Application</i>
+ * in Eclipse) or with
+ * <pre>
+ * java -Djava.library.path=&lt;directory of the native hdf library&gt;
+ *     -cp &lt;class path of org.knime.hdf5.tests&gt;
+ *     org.knime.hdf5.benchmark.ReadCellsBenchmark [columns] [rows] [blockRowSize] [runs]
+ * </pre>
+ * where the class path contains the fragment, the plugin, its hdf jars and
+ * {@code org.knime.core} with its dependencies.
+ */
+public final class ReadCellsBenchmark {
+
+	private static final int DEFAULT_COLUMN_COUNT = 1000;
+
+	private static final int DEFAULT_ROW_COUNT = 20_000;
+
+	private static final int DEFAULT_BLOCK_ROW_SIZE = 1000;
+
+	private static final int DEFAULT_RUNS = 5;
+
+	private static final String MISSING_VALUE_MESSAGE = "(null) on joining hdf dataSets";
+
+	private ReadCellsBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		int columnCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COLUMN_COUNT;
+		int rowCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROW_COUNT;
+		int blockRowSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_BLOCK_ROW_SIZE;
+		int runs = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_RUNS;
+
+		File diskFile = File.createTempFile("readCellsBenchmark", ".h5");
+		diskFile.delete();
+		Hdf5File file = Hdf5File.createFile(diskFile.getPath());
+		try {
+			Hdf5DataSet<?> dataSet = createDataSet(file, columnCount, rowCount, blockRowSize);
+
+			// the first run of each method warms up the jit and the chunk cache
+			readRowByRow(dataSet, rowCount);
+			readBlockByBlock(dataSet, rowCount, blockRowSize);
+
+			long rowByRowNanos = 0;
+			long blockByBlockNanos = 0;
+			for (int run = 0; run < runs; run++) {
+				long start = System.nanoTime();
+				readRowByRow(dataSet, rowCount);
+				rowByRowNanos += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				readBlockByBlock(dataSet, rowCount, blockRowSize);
+				blockByBlockNanos += System.nanoTime() - start;
+			}
+
+			double rowByRowRate = (double) rowCount * runs / rowByRowNanos * 1e9;
+			double blockByBlockRate = (double) rowCount * runs / blockByBlockNanos * 1e9;
+			System.out.println("dataSet: " + rowCount + " rows x " + columnCount + " columns (FLOAT64), "
+					+ "block size: " + blockRowSize + " rows, runs: " + runs);
+			System.out.println(String.format("row by row (boxed):  %12.1f rows/s", rowByRowRate));
+			System.out.println(String.format("block by block:      %12.1f rows/s", blockByBlockRate));
+			System.out.println(String.format("speedup:             %12.2fx", blockByBlockRate / rowByRowRate));
+
+		} finally {
+			file.close();
+			diskFile.delete();
+		}
+	}
+
+	private static Hdf5DataSet<?> createDataSet(Hdf5File file, int columnCount, int rowCount, int blockRowSize) throws Exception {
+		Hdf5DataType type = Hdf5DataType.createDataType(Hdf5HdfDataType.getInstance(HdfDataType.FLOAT64, Endian.LITTLE_ENDIAN),
+				Hdf5KnimeDataType.DOUBLE, false, true, 0);
+		Hdf5DataSet<?> dataSet = file.createDataSet("data", new long[] { rowCount, columnCount }, 0, blockRowSize, type);
+
+		for (int fromRow = 0; fromRow < rowCount; fromRow += blockRowSize) {
+			int rows = Math.min(blockRowSize, rowCount - fromRow);
+			double[] values = new double[rows * columnCount];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = fromRow * columnCount + i;
+			}
+			dataSet.writeDoubles(values, new long[] { fromRow, 0 }, new long[] { rows, columnCount }, Rounding.DOWN);
+		}
+
+		return dataSet;
+	}
+
+	/**
+	 * Reads the rows like the reader did before, i.e. every row is read on
+	 * its own and every value is boxed and converted to a cell separately.
+	 */
+	private static long readRowByRow(Hdf5DataSet<?> dataSet, int rowCount) throws Exception {
+		Hdf5KnimeDataType knimeType = dataSet.getType().getKnimeType();
+		long cellCount = 0;
+		for (int r = 0; r < rowCount; r++) {
+			Object[] values = dataSet.readRow(r);
+			List<DataCell> row = new ArrayList<>();
+			for (Object value : values) {
+				row.add(knimeType.getDataCellWithValue(value, MISSING_VALUE_MESSAGE));
+			}
+			cellCount += row.size();
+		}
+
+		return cellCount;
+	}
+
+	private static long readBlockByBlock(Hdf5DataSet<?> dataSet, int rowCount, int blockRowSize) throws Exception {
+		int columnCount = (int) dataSet.numberOfColumns();
+		long cellCount = 0;
+		for (int fromRow = 0; fromRow < rowCount; fromRow += blockRowSize) {
+			DataCell[][] rows = new DataCell[Math.min(blockRowSize, rowCount - fromRow)][columnCount];
+			dataSet.readCells(fromRow, null, rows, 0);
+			cellCount += rows.length * columnCount;
+		}
+
+		return cellCount;
+	}
+}
@@ -0,0 +1,257 @@
+package org.knime.hdf5.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the hand-off of the read and write access of a {@linkplain Hdf5File}
+ * between threads. The access is only acquired and released on the access
+ * monitor such that the file does not need to exist and the hdf library is
+ * not needed.
+ */
+public class Hdf5FileAccessTest {
+
+	private static final long TIMEOUT_MILLIS = 10_000;
+
+	private Hdf5File m_file;
+
+	private Thread[] m_threads = new Thread[0];
+
+	@Before
+	public void setUp() throws ReflectiveOperationException {
+		String filePath = new File(System.getProperty("java.io.tmpdir"), "hdf5FileAccessTest.h5").getPath();
+		Constructor<Hdf5File> constructor = Hdf5File.class.getDeclaredConstructor(String.class, String.class);
+		constructor.setAccessible(true);
+		m_file = constructor.newInstance(filePath, Hdf5File.getCanonicalPath(filePath));
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		for (Thread thread : m_threads) {
+			thread.interrupt();
+			thread.join(TIMEOUT_MILLIS);
+		}
+	}
+
+	@Test
+	public void testReadersShareTheAccess() throws Exception {
+		lockAccess(Hdf5File.READ_ONLY_ACCESS);
+
+		CountDownLatch acquired = new CountDownLatch(1);
+		Thread reader = start(() -> {
+			lockAccess(Hdf5File.READ_ONLY_ACCESS);
+			acquired.countDown();
+		});
+
+		assertTrue(acquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		reader.join(TIMEOUT_MILLIS);
+		unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+		unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+	}
+
+	@Test
+	public void testWaitingWriterGoesBeforeNewReaders() throws Exception {
+		lockAccess(Hdf5File.READ_ONLY_ACCESS);
+
+		CountDownLatch writerAcquired = new CountDownLatch(1);
+		CountDownLatch writerRelease = new CountDownLatch(1);
+		Thread writer = start(() -> {
+			requestWriteAccess();
+			writerAcquired.countDown();
+			writerRelease.await();
+			unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+		});
+		awaitWaiting(writer);
+
+		// a new reader has to wait behind the waiting writer
+		CountDownLatch readerAcquired = new CountDownLatch(1);
+		Thread reader = start(() -> {
+			lockAccess(Hdf5File.READ_ONLY_ACCESS);
+			readerAcquired.countDown();
+			unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+		});
+		awaitWaiting(reader);
+		assertEquals(1, writerAcquired.getCount());
+		assertEquals(1, readerAcquired.getCount());
+
+		// the writer gets the access as soon as the last reader is gone
+		unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+		assertTrue(writerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertSame(writer, getWriter());
+		assertEquals(1, readerAcquired.getCount());
+
+		// the reader gets the access after the writer
+		writerRelease.countDown();
+		assertTrue(readerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		writer.join(TIMEOUT_MILLIS);
+		reader.join(TIMEOUT_MILLIS);
+		assertFalse(writer.isAlive() || reader.isAlive());
+	}
+
+	@Test
+	public void testReaderWithOpenFileIsNotBlockedByWaitingWriter() throws Exception {
+		CountDownLatch opened = new CountDownLatch(1);
+		CountDownLatch readAgain = new CountDownLatch(1);
+		CountDownLatch readerAcquired = new CountDownLatch(1);
+		Thread reader = start(() -> {
+			lockAccess(Hdf5File.READ_ONLY_ACCESS);
+			invoke("setOpenInThisThread", true);
+			opened.countDown();
+
+			// the waiting writer waits for this reader such that it has to be let in again
+			readAgain.await();
+			lockAccess(Hdf5File.READ_ONLY_ACCESS);
+			readerAcquired.countDown();
+
+			unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+			invoke("setOpenInThisThread", false);
+			unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+		});
+		assertTrue(opened.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+
+		CountDownLatch writerAcquired = new CountDownLatch(1);
+		Thread writer = start(() -> {
+			requestWriteAccess();
+			writerAcquired.countDown();
+			unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+		});
+		awaitWaiting(writer);
+
+		readAgain.countDown();
+		assertTrue(readerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		assertTrue(writerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		writer.join(TIMEOUT_MILLIS);
+		reader.join(TIMEOUT_MILLIS);
+	}
+
+	@Test
+	public void testWriteAccessIsReentrant() throws Exception {
+		requestWriteAccess();
+		lockAccess(Hdf5File.READ_WRITE_ACCESS);
+		lockAccess(Hdf5File.READ_ONLY_ACCESS);
+		unlockAccess(Hdf5File.READ_ONLY_ACCESS);
+		unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+
+		// the write access is only released after the last unlock
+		CountDownLatch writerAcquired = new CountDownLatch(1);
+		Thread writer = start(() -> {
+			requestWriteAccess();
+			writerAcquired.countDown();
+			unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+		});
+		awaitWaiting(writer);
+		assertEquals(1, writerAcquired.getCount());
+
+		unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+		assertTrue(writerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		writer.join(TIMEOUT_MILLIS);
+	}
+
+	@Test
+	public void testReadAccessIsReleasedByAnyThread() throws Exception {
+		lockAccess(Hdf5File.READ_ONLY_ACCESS);
+
+		Thread releaser = start(() -> unlockAccess(Hdf5File.READ_ONLY_ACCESS));
+		releaser.join(TIMEOUT_MILLIS);
+
+		CountDownLatch writerAcquired = new CountDownLatch(1);
+		Thread writer = start(() -> {
+			requestWriteAccess();
+			writerAcquired.countDown();
+			unlockAccess(Hdf5File.READ_WRITE_ACCESS);
+		});
+		assertTrue(writerAcquired.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+		writer.join(TIMEOUT_MILLIS);
+	}
+
+	@FunctionalInterface
+	private static interface Action {
+		void run() throws Exception;
+	}
+
+	private Thread start(Action action) {
+		Thread thread = new Thread(() -> {
+			try {
+				action.run();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		thread.setDaemon(true);
+
+		Thread[] threads = new Thread[m_threads.length + 1];
+		System.arraycopy(m_threads, 0, threads, 0, m_threads.length);
+		threads[m_threads.length] = thread;
+		m_threads = threads;
+
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * Waits until the thread waits on the access monitor of the file.
+	 */
+	private static void awaitWaiting(Thread thread) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+		while (thread.getState() != Thread.State.WAITING) {
+			assertTrue("Thread does not wait for the access", System.currentTimeMillis() < end);
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * @return the thread which has the write access to the file
+	 */
+	private Thread getWriter() throws ReflectiveOperationException {
+		synchronized (getField("m_accessMonitor")) {
+			return (Thread) getField("m_writer");
+		}
+	}
+
+	private Object getField(String name) throws ReflectiveOperationException {
+		Field field = Hdf5File.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(m_file);
+	}
+
+	private void lockAccess(int access) throws Exception {
+		invoke("lockAccess", access);
+	}
+
+	private void unlockAccess(int access) throws Exception {
+		invoke("unlockAccess", access);
+	}
+
+	private void requestWriteAccess() throws Exception {
+		invoke("requestWriteAccess");
+	}
+
+	private void invoke(String methodName, Object... args) throws Exception {
+		Class<?>[] parameterTypes = new Class<?>[args.length];
+		for (int i = 0; i < args.length; i++) {
+			parameterTypes[i] = args[i] instanceof Integer ? int.class : boolean.class;
+		}
+
+		Method method = Hdf5File.class.getDeclaredMethod(methodName, parameterTypes);
+		method.setAccessible(true);
+		try {
+			method.invoke(m_file, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause() instanceof Exception ? (Exception) ite.getCause() : ite;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package org.knime.hdf5.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the name counts and the next suffixes of {@linkplain Hdf5NameSet}.
+ */
+public class Hdf5NameSetTest {
+
+	@Test
+	public void testNameCounts() {
+		Hdf5NameSet names = new Hdf5NameSet();
+		assertFalse(names.contains("a"));
+
+		names.add("a");
+		names.add("a");
+		names.remove("a");
+		assertTrue(names.contains("a"));
+
+		names.remove("a");
+		assertFalse(names.contains("a"));
+
+		// removing an unused name does nothing
+		names.remove("a");
+		assertFalse(names.contains("a"));
+	}
+
+	@Test
+	public void testUniqueNames() {
+		Hdf5NameSet names = new Hdf5NameSet(Arrays.asList("a", "a(1)", "a(2)", "b(3)"));
+		assertEquals("c", names.getUniqueName("c"));
+		assertEquals("a(3)", names.getUniqueName("a"));
+		assertEquals("a(3)", names.getUniqueName("a(1)"));
+		assertEquals("b(4)", names.getUniqueName("b(3)"));
+		assertEquals("b", names.getUniqueName("b"));
+
+		// the unique name is not added
+		assertFalse(names.contains("a(3)"));
+	}
+
+	@Test
+	public void testNextSuffix() {
+		Hdf5NameSet names = new Hdf5NameSet(Arrays.asList("a"));
+		for (int i = 1; i <= 5; i++) {
+			String uniqueName = names.getUniqueName("a");
+			assertEquals("a(" + i + ")", uniqueName);
+			names.add(uniqueName);
+		}
+
+		// a removed suffix is available again and the next suffix continues afterwards
+		names.remove("a(2)");
+		assertEquals("a(2)", names.getUniqueName("a"));
+		names.add("a(2)");
+		assertEquals("a(6)", names.getUniqueName("a"));
+
+		// a search which starts behind the next suffix does not skip the free suffixes
+		names.remove("a(3)");
+		names.add("a(10)");
+		assertEquals("a(11)", names.getUniqueName("a(10)"));
+		assertEquals("a(3)", names.getUniqueName("a"));
+	}
+
+	@Test
+	public void testNamesWithoutValidSuffix() {
+		Hdf5NameSet names = new Hdf5NameSet(Arrays.asList("a(01)", "a(0)", "a()", "(1)", "a(99999999999)"));
+		assertEquals("a(01)(1)", names.getUniqueName("a(01)"));
+		assertEquals("a(0)(1)", names.getUniqueName("a(0)"));
+		assertEquals("a()(1)", names.getUniqueName("a()"));
+		assertEquals("(2)", names.getUniqueName("(1)"));
+		assertEquals("a(99999999999)(1)", names.getUniqueName("a(99999999999)"));
+	}
+
+	@Test
+	public void testSameNamesAsTheSimpleSearch() {
+		Random random = new Random(42);
+		String[] baseNames = { "a", "b(2)", "dataSet" };
+		List<String> usedNames = new ArrayList<>();
+		Hdf5NameSet names = new Hdf5NameSet();
+
+		for (int step = 0; step < 5000; step++) {
+			String baseName = baseNames[random.nextInt(baseNames.length)];
+			String name = random.nextInt(3) == 0 ? baseName + "(" + (1 + random.nextInt(20)) + ")" : baseName;
+			if (random.nextInt(3) == 0 && !usedNames.isEmpty()) {
+				String removedName = usedNames.remove(random.nextInt(usedNames.size()));
+				names.remove(removedName);
+				assertEquals(usedNames.contains(removedName), names.contains(removedName));
+
+			} else {
+				String uniqueName = names.getUniqueName(name);
+				assertEquals(getUniqueNameBySearch(usedNames, name), uniqueName);
+				usedNames.add(uniqueName);
+				names.add(uniqueName);
+			}
+		}
+	}
+
+	/**
+	 * Searches the unique name from the suffix {@code 1} (or the suffix of
+	 * {@code name}) on without any bookkeeping.
+	 */
+	private static String getUniqueNameBySearch(List<String> usedNames, String name) {
+		if (!usedNames.contains(name)) {
+			return name;
+		}
+
+		String baseName = name;
+		int i = 1;
+		if (name.matches(".*\\([1-9][0-9]*\\)")) {
+			i = Integer.parseInt(name.substring(name.lastIndexOf("(") + 1, name.lastIndexOf(")")));
+			baseName = name.substring(0, name.lastIndexOf("("));
+		}
+
+		String newName = name;
+		while (usedNames.contains(newName)) {
+			newName = baseName + "(" + i + ")";
+			i++;
+		}
+
+		return newName;
+	}
+}
@@ -0,0 +1,138 @@
+package org.knime.hdf5.lib.types;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.activation.UnsupportedDataTypeException;
+
+import org.junit.Test;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+import org.knime.hdf5.nodes.writer.edit.EditDataType.Rounding;
+
+/**
+ * Tests the conversions of {@linkplain Hdf5ArrayConverter} which do not
+ * need the hdf library.
+ */
+public class Hdf5ArrayConverterTest {
+
+	private static Object convert(HdfDataType inputType, HdfDataType outputType, Rounding rounding, Object input)
+			throws UnsupportedDataTypeException {
+		return Hdf5ArrayConverter.getConverter(inputType, outputType, rounding).convert(input, Array.getLength(input));
+	}
+
+	@Test
+	public void testUnsignedWideningOnlyChangesNegativeValues() throws UnsupportedDataTypeException {
+		assertArrayEquals(new short[] { 0, 5, 127, 128, 255 },
+				(short[]) convert(HdfDataType.UINT8, HdfDataType.INT16, Rounding.DOWN, new byte[] { 0, 5, 127, -128, -1 }));
+		assertArrayEquals(new int[] { 0, 5, 32767, 32768, 65535 },
+				(int[]) convert(HdfDataType.UINT16, HdfDataType.INT32, Rounding.DOWN, new short[] { 0, 5, 32767, -32768, -1 }));
+		assertArrayEquals(new long[] { 0, 5, 2147483647L, 2147483648L, 4294967295L },
+				(long[]) convert(HdfDataType.UINT32, HdfDataType.INT64, Rounding.DOWN, new int[] { 0, 5, Integer.MAX_VALUE, Integer.MIN_VALUE, -1 }));
+	}
+
+	@Test
+	public void testUnsigned64ToFloat() throws UnsupportedDataTypeException {
+		double pow2To64 = Math.pow(2, 64);
+		assertArrayEquals(new double[] { 0.0, 1.0, Long.MAX_VALUE, pow2To64 / 2, pow2To64 },
+				(double[]) convert(HdfDataType.UINT64, HdfDataType.FLOAT64, Rounding.DOWN, new long[] { 0, 1, Long.MAX_VALUE, Long.MIN_VALUE, -1 }), 0.0);
+		assertArrayEquals(new float[] { 1.0f, (float) pow2To64 },
+				(float[]) convert(HdfDataType.UINT64, HdfDataType.FLOAT32, Rounding.DOWN, new long[] { 1, -1 }), 0.0f);
+		assertArrayEquals(new double[] { -1.0 },
+				(double[]) convert(HdfDataType.INT64, HdfDataType.FLOAT64, Rounding.DOWN, new long[] { -1 }), 0.0);
+	}
+
+	@Test
+	public void testNarrowingKeepsTheLowerBits() throws UnsupportedDataTypeException {
+		assertArrayEquals(new byte[] { -1, 0, -128 },
+				(byte[]) convert(HdfDataType.INT64, HdfDataType.INT8, Rounding.DOWN, new long[] { 0x1FF, 0x100, 0x80 }));
+		assertArrayEquals(new short[] { -1 },
+				(short[]) convert(HdfDataType.UINT32, HdfDataType.UINT16, Rounding.DOWN, new int[] { -1 }));
+	}
+
+	@Test
+	public void testRounding() throws UnsupportedDataTypeException {
+		double[] input = { 2.5, -2.5, 2.4, -2.6 };
+		assertArrayEquals(new int[] { 2, -2, 2, -2 }, (int[]) convert(HdfDataType.FLOAT64, HdfDataType.INT32, Rounding.DOWN, input));
+		assertArrayEquals(new int[] { 3, -3, 3, -3 }, (int[]) convert(HdfDataType.FLOAT64, HdfDataType.INT32, Rounding.UP, input));
+		assertArrayEquals(new int[] { 2, -3, 2, -3 }, (int[]) convert(HdfDataType.FLOAT64, HdfDataType.INT32, Rounding.FLOOR, input));
+		assertArrayEquals(new int[] { 3, -2, 3, -2 }, (int[]) convert(HdfDataType.FLOAT64, HdfDataType.INT32, Rounding.CEIL, input));
+		assertArrayEquals(new int[] { 3, -2, 2, -3 }, (int[]) convert(HdfDataType.FLOAT64, HdfDataType.INT32, Rounding.MATH, input));
+		assertArrayEquals(new byte[] { 3, -3 },
+				(byte[]) convert(HdfDataType.FLOAT32, HdfDataType.UINT8, Rounding.UP, new float[] { 2.5f, -2.5f }));
+	}
+
+	@Test
+	public void testFloatConversions() throws UnsupportedDataTypeException {
+		assertArrayEquals(new double[] { 0.5, -1.25 },
+				(double[]) convert(HdfDataType.FLOAT32, HdfDataType.FLOAT64, Rounding.DOWN, new float[] { 0.5f, -1.25f }), 0.0);
+		assertArrayEquals(new float[] { 0.1f },
+				(float[]) convert(HdfDataType.FLOAT64, HdfDataType.FLOAT32, Rounding.DOWN, new double[] { 0.1 }), 0.0f);
+	}
+
+	@Test
+	public void testConvertersAreSharedIfTheRoundingIsIrrelevant() throws UnsupportedDataTypeException {
+		assertSame(Hdf5ArrayConverter.getConverter(HdfDataType.INT8, HdfDataType.INT16, Rounding.DOWN),
+				Hdf5ArrayConverter.getConverter(HdfDataType.INT8, HdfDataType.INT16, Rounding.MATH));
+	}
+
+	@Test(expected = UnsupportedDataTypeException.class)
+	public void testStringIsRejected() throws UnsupportedDataTypeException {
+		Hdf5ArrayConverter.getConverter(HdfDataType.STRING, HdfDataType.INT32, Rounding.DOWN);
+	}
+
+	@Test
+	public void testOffsetsAcrossSeveralBlocks() throws UnsupportedDataTypeException {
+		int length = 10_000;
+		int[] input = new int[length + 3];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = i - 5000;
+		}
+
+		long[] output = new long[length + 7];
+		Hdf5ArrayConverter.getConverter(HdfDataType.UINT32, HdfDataType.INT64, Rounding.DOWN).convert(input, 3, output, 7, length);
+		for (int i = 0; i < length; i++) {
+			assertEquals(input[i + 3] & 0xFFFFFFFFL, output[i + 7]);
+		}
+		assertEquals(0, output[6]);
+	}
+
+	@Test
+	public void testConcurrentConversions() throws Exception {
+		Hdf5ArrayConverter converter = Hdf5ArrayConverter.getConverter(HdfDataType.FLOAT64, HdfDataType.INT16, Rounding.MATH);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			@SuppressWarnings("unchecked")
+			Future<short[]>[] results = new Future[8];
+			for (int t = 0; t < results.length; t++) {
+				double shift = t;
+				results[t] = executor.submit(() -> {
+					double[] input = new double[20_000];
+					for (int i = 0; i < input.length; i++) {
+						input[i] = i % 1000 + shift;
+					}
+					short[] output = new short[input.length];
+					for (int run = 0; run < 10; run++) {
+						converter.convert(input, 0, output, 0, input.length);
+					}
+					return output;
+				});
+			}
+
+			for (int t = 0; t < results.length; t++) {
+				short[] output = results[t].get(30, TimeUnit.SECONDS);
+				for (int i = 0; i < output.length; i++) {
+					assertEquals(i % 1000 + t, output[i]);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
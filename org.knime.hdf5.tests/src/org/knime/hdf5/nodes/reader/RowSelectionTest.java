@@ -0,0 +1,100 @@
+package org.knime.hdf5.nodes.reader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the range, stride and sample of {@linkplain RowSelection}.
+ */
+public class RowSelectionTest {
+
+	@Test
+	public void testAllRows() {
+		RowSelection selection = new RowSelection(10, 0, -1, 1, 0, 0);
+		assertEquals(10, selection.size());
+		assertTrue(selection.isContiguous());
+		assertArrayEquals(new long[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 }, selection.getRowIndices(0, 10));
+	}
+
+	@Test
+	public void testRange() {
+		RowSelection selection = new RowSelection(10, 3, 4, 1, 0, 0);
+		assertEquals(4, selection.size());
+		assertArrayEquals(new long[] { 3, 4, 5, 6 }, selection.getRowIndices(0, 4));
+
+		// the range is cut at the end of the dataSets
+		assertEquals(2, new RowSelection(10, 8, 5, 1, 0, 0).size());
+		assertEquals(0, new RowSelection(10, 12, -1, 1, 0, 0).size());
+		assertEquals(0, new RowSelection(10, 3, 0, 1, 0, 0).size());
+	}
+
+	@Test
+	public void testStride() {
+		RowSelection selection = new RowSelection(10, 1, -1, 3, 0, 0);
+		assertEquals(3, selection.size());
+		assertFalse(selection.isContiguous());
+		assertArrayEquals(new long[] { 1, 4, 7 }, selection.getRowIndices(0, 3));
+		assertArrayEquals(new long[] { 4, 7 }, selection.getRowIndices(1, 2));
+
+		assertEquals(4, new RowSelection(10, 0, -1, 3, 0, 0).size());
+		assertEquals(2, new RowSelection(10, 0, 4, 3, 0, 0).size());
+
+		// a stride below 1 selects every row
+		assertTrue(new RowSelection(10, 0, -1, 0, 0, 0).isContiguous());
+	}
+
+	@Test
+	public void testSample() {
+		RowSelection selection = new RowSelection(1000, 100, 500, 2, 50, 42);
+		assertEquals(50, selection.size());
+		assertFalse(selection.isContiguous());
+
+		long[] rowIndices = selection.getRowIndices(0, 50);
+		Set<Long> distinctIndices = new HashSet<>();
+		for (int i = 0; i < rowIndices.length; i++) {
+			assertTrue(rowIndices[i] >= 100 && rowIndices[i] < 600);
+			assertEquals(0, (rowIndices[i] - 100) % 2);
+			if (i > 0) {
+				assertTrue(rowIndices[i - 1] < rowIndices[i]);
+			}
+			distinctIndices.add(rowIndices[i]);
+		}
+		assertEquals(50, distinctIndices.size());
+
+		// the same seed draws the same sample
+		assertArrayEquals(rowIndices, new RowSelection(1000, 100, 500, 2, 50, 42).getRowIndices(0, 50));
+	}
+
+	@Test
+	public void testSampleOfAllRows() {
+		// all positions are drawn if the sample has one row less than the range
+		RowSelection selection = new RowSelection(20, 0, -1, 1, 19, 7);
+		long[] rowIndices = selection.getRowIndices(0, 19);
+		Set<Long> distinctIndices = new HashSet<>();
+		for (long rowIndex : rowIndices) {
+			distinctIndices.add(rowIndex);
+		}
+		assertEquals(19, distinctIndices.size());
+	}
+
+	@Test
+	public void testSampleNotSmallerThanTheRange() {
+		RowSelection selection = new RowSelection(10, 0, -1, 1, 10, 0);
+		assertEquals(10, selection.size());
+		assertTrue(selection.isContiguous());
+
+		assertEquals(10, new RowSelection(10, 0, -1, 1, 100, 0).size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSampleSizeAboveMaximum() {
+		new RowSelection(Long.MAX_VALUE, 0, -1, 1, RowSelection.MAX_SAMPLE_SIZE + 1, 0);
+	}
+}
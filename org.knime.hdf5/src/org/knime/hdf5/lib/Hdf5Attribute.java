@@ -107,6 +107,7 @@ public class Hdf5Attribute<Type> {
                     HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT));
         	
         	parent.addAttribute(attribute);
+        	parent.updateAttributeNames(null, attribute.getName());
         	
         } catch (HDF5Exception | NullPointerException | IllegalArgumentException | IllegalStateException hnpiaise) {
         	throw new IOException("Attribute \"" + name + "\" in \""
@@ -337,7 +338,7 @@ public class Hdf5Attribute<Type> {
 	 * @throws IOException if an error occurred in the hdf library while creating
 	 */
 	public Hdf5Attribute<?> createBackup(String prefix) throws IOException {
-		return m_parent.copyAttribute(this, Hdf5TreeElement.getUniqueName(Arrays.asList(m_parent.loadAttributeNames()), prefix + m_name));
+		return m_parent.copyAttribute(this, m_parent.getUniqueAttributeName(prefix + m_name));
 	}
 	
 	/**
@@ -0,0 +1,182 @@
+package org.knime.hdf5.lib;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * The settings for the cache of the raw data chunks of dataSets in hdf.
+ * The cache can be set for all dataSets of a file (see
+ * {@linkplain Hdf5File#setChunkCache(Hdf5ChunkCache)}) or for a single
+ * dataSet (see {@linkplain Hdf5DataSet#setChunkCache(Hdf5ChunkCache)}).
+ * If nothing is set for a dataSet, its cache is sized such that all chunks
+ * of one row of chunks fit into it (see
+ * {@linkplain Hdf5ChunkCache#forChunks(long[], long[], long)}).
+ *
+ * @see <a href=
+ *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetChunkCache"
+ *	>H5.H5Pset_chunk_cache(long, long, long, double)</a>
+ */
+public class Hdf5ChunkCache {
+
+	/**
+	 * The number of bytes of the cache used by the hdf library by default.
+	 */
+	public static final long DEFAULT_BYTE_SIZE = 1L << 20;
+
+	/**
+	 * The number of slots of the cache used by the hdf library by default.
+	 */
+	public static final long DEFAULT_SLOTS = 521;
+
+	/**
+	 * The preemption policy used by the hdf library by default.
+	 */
+	public static final double DEFAULT_PREEMPTION = 0.75;
+
+	/**
+	 * The maximum number of bytes of a cache which is sized automatically.
+	 */
+	public static final long MAX_AUTOMATIC_BYTE_SIZE = 128L << 20;
+
+	/**
+	 * The number of slots per chunk in the cache recommended by the hdf
+	 * library to avoid collisions in the hash table.
+	 */
+	private static final long SLOTS_PER_CHUNK = 100;
+
+	private static final long MAX_SLOTS = 1L << 24;
+
+	private final long m_slots;
+
+	private final long m_byteSize;
+
+	private final double m_preemption;
+
+	/**
+	 * @param slots the number of chunk slots in the hash table of the cache
+	 * 	(rdcc_nslots, should be a prime number)
+	 * @param byteSize the number of bytes of the cache (rdcc_nbytes)
+	 * @param preemption the preemption policy from 0 to 1 (rdcc_w0) where
+	 * 	1 means that fully read or written chunks are removed from the cache
+	 * 	first
+	 * @throws IllegalArgumentException if any value is out of range
+	 */
+	public Hdf5ChunkCache(long slots, long byteSize, double preemption) throws IllegalArgumentException {
+		if (slots < 1 || byteSize < 0 || preemption < 0 || preemption > 1) {
+			throw new IllegalArgumentException("Invalid chunk cache settings: slots=" + slots
+					+ ", byteSize=" + byteSize + ", preemption=" + preemption);
+		}
+		m_slots = slots;
+		m_byteSize = byteSize;
+		m_preemption = preemption;
+	}
+
+	/**
+	 * @return the cache with the default settings of the hdf library
+	 */
+	public static Hdf5ChunkCache getDefault() {
+		return new Hdf5ChunkCache(DEFAULT_SLOTS, DEFAULT_BYTE_SIZE, DEFAULT_PREEMPTION);
+	}
+
+	/**
+	 * Returns the cache in which all chunks of one row of chunks fit, i.e.
+	 * all chunks which are needed to read or write a block of rows which
+	 * has the size of the row chunks. Otherwise, the chunks of compressed
+	 * dataSets would be decompressed again for every block of rows. The size
+	 * is limited to {@linkplain Hdf5ChunkCache#MAX_AUTOMATIC_BYTE_SIZE} bytes.
+	 *
+	 * @param dimensions the dimensions of the dataSet
+	 * @param chunkDimensions the sizes of the chunks of the dataSet (may be
+	 * 	{@code null} if the dataSet is not stored in chunks)
+	 * @param elementByteSize the number of bytes of one value of the dataSet
+	 * @return the cache or {@code null} if the default cache is large enough
+	 */
+	public static Hdf5ChunkCache forChunks(long[] dimensions, long[] chunkDimensions, long elementByteSize) {
+		if (chunkDimensions == null || chunkDimensions.length == 0 || chunkDimensions.length != dimensions.length) {
+			return null;
+		}
+
+		long chunkByteSize = Math.max(elementByteSize, 1);
+		long chunksPerRow = 1;
+		for (int i = 0; i < chunkDimensions.length; i++) {
+			chunkByteSize *= Math.max(chunkDimensions[i], 1);
+			if (i > 0) {
+				chunksPerRow *= (Math.max(dimensions[i], 1) + Math.max(chunkDimensions[i], 1) - 1) / Math.max(chunkDimensions[i], 1);
+			}
+		}
+
+		long byteSize = Math.min(chunkByteSize * chunksPerRow, MAX_AUTOMATIC_BYTE_SIZE);
+		if (byteSize <= DEFAULT_BYTE_SIZE) {
+			return null;
+		}
+
+		long chunksInCache = Math.max(byteSize / chunkByteSize, 1);
+		long slots = nextPrime(Math.max(Math.min(chunksInCache * SLOTS_PER_CHUNK, MAX_SLOTS), DEFAULT_SLOTS));
+
+		return new Hdf5ChunkCache(slots, byteSize, DEFAULT_PREEMPTION);
+	}
+
+	private static long nextPrime(long number) {
+		long candidate = number | 1;
+		while (!isPrime(candidate)) {
+			candidate += 2;
+		}
+
+		return candidate;
+	}
+
+	private static boolean isPrime(long number) {
+		for (long divisor = 3; divisor * divisor <= number; divisor += 2) {
+			if (number % divisor == 0) {
+				return false;
+			}
+		}
+
+		return number > 1;
+	}
+
+	public long getSlots() {
+		return m_slots;
+	}
+
+	public long getByteSize() {
+		return m_byteSize;
+	}
+
+	public double getPreemption() {
+		return m_preemption;
+	}
+
+	/**
+	 * Sets this cache as the default cache for all dataSets of a file.
+	 *
+	 * @param fileAccessPropertyListId the id of the file access property list
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetCache"
+	 *	>H5.H5Pset_cache(long, int, long, long, double)</a>
+	 */
+	void setForFile(long fileAccessPropertyListId) throws HDF5LibraryException {
+		// the number of elements in the metadata cache is ignored by the hdf library
+		H5.H5Pset_cache(fileAccessPropertyListId, 0, m_slots, m_byteSize, m_preemption);
+	}
+
+	/**
+	 * Creates the dataSet access property list which uses this cache.
+	 *
+	 * @return the id of the property list (which needs to be closed)
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 */
+	long createDataSetAccessPropertyList() throws HDF5LibraryException {
+		long propertyListId = H5.H5Pcreate(HDF5Constants.H5P_DATASET_ACCESS);
+		H5.H5Pset_chunk_cache(propertyListId, m_slots, m_byteSize, m_preemption);
+
+		return propertyListId;
+	}
+
+	@Override
+	public String toString() {
+		return "{ slots=" + m_slots + ",byteSize=" + m_byteSize + ",preemption=" + m_preemption + " }";
+	}
+}
@@ -1,14 +1,20 @@
 package org.knime.hdf5.lib;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.activation.UnsupportedDataTypeException;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.LongCell;
 import org.knime.core.node.NodeLogger;
+import org.knime.hdf5.lib.types.Hdf5ArrayConverter;
 import org.knime.hdf5.lib.types.Hdf5DataType;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
 import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
@@ -29,6 +35,34 @@ import hdf.hdf5lib.exceptions.HDF5LibraryException;
  */
 public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 
+	/**
+	 * The number of bytes of a chunk whose size is chosen automatically.
+	 */
+	public static final long DEFAULT_CHUNK_BYTE_SIZE = 1L << 20;
+	
+	/**
+	 * The maximum number of bytes of a chunk allowed by the hdf library.
+	 */
+	private static final long MAX_CHUNK_BYTE_SIZE = (1L << 32) - 1;
+	
+	/**
+	 * The message of the missing cells for {@code null} values and rows
+	 * which do not exist in this dataSet.
+	 */
+	private static final String MISSING_VALUE_MESSAGE = "(null) on joining hdf dataSets";
+	
+	/**
+	 * The minimum average number of consecutive rows in a selection of rows
+	 * such that every range of rows is selected as a hyperslab instead of
+	 * selecting the single values.
+	 */
+	private static final int MIN_HYPERSLAB_ROW_RUN = 4;
+	
+	/**
+	 * The maximum number of values which are selected as single values.
+	 */
+	private static final long MAX_ELEMENT_SELECTION_SIZE = 1 << 16;
+	
 	private long m_dataspaceId = -1;
 	
 	private long[] m_dimensions;
@@ -37,8 +71,38 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	
 	private long m_chunkRowSize;
 	
+	/**
+	 * The sizes of the chunks in all dimensions or {@code null} if this
+	 * dataSet is not stored in chunks.
+	 */
+	private long[] m_chunkDimensions;
+	
+	/**
+	 * The filters (except deflate) in the order they are applied to the chunks.
+	 */
+	private Hdf5Filter[] m_filters = new Hdf5Filter[0];
+	
+	/**
+	 * The cache for the chunks of this dataSet or {@code null} if the cache
+	 * should be chosen automatically.
+	 */
+	private Hdf5ChunkCache m_chunkCache;
+	
+	/**
+	 * If the number of rows of this dataSet can be changed after its creation.
+	 */
+	private boolean m_extendible;
+	
 	private Hdf5DataType m_type;
 	
+	/**
+	 * The version of the metadata of the file in which the data type of this
+	 * dataSet has been loaded or -1 if it needs to be loaded again.
+	 * 
+	 * @see Hdf5File#getMetadataVersion()
+	 */
+	private long m_metadataVersion = -1;
+	
 	private Hdf5DataSet(String name, Hdf5DataType type) 
 			throws NullPointerException, IllegalArgumentException {
 		super(name);
@@ -75,12 +139,35 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	
 	static Hdf5DataSet<?> createDataSet(Hdf5Group parent, String name, long[] dimensions,
 			int compressionLevel, long chunkRowSize, Hdf5DataType type) throws IOException {
+		return createDataSet(parent, name, dimensions, compressionLevel, chunkRowSize, false, type);
+	}
+	
+	static Hdf5DataSet<?> createDataSet(Hdf5Group parent, String name, long[] dimensions,
+			int compressionLevel, long chunkRowSize, boolean extendible, Hdf5DataType type) throws IOException {
+		// row chunks which only contain one row are never useful, so their size is chosen automatically
+		return createDataSet(parent, name, dimensions, compressionLevel, new Hdf5Filter[0],
+				chunkRowSize > 1 ? new long[] { chunkRowSize } : null, extendible, type);
+	}
+	
+	/**
+	 * Creates a new dataSet. If the dataSet should be extendible, the number
+	 * of rows is unlimited such that it can be changed later using
+	 * {@linkplain Hdf5DataSet#setNumberOfRows(long)}. Extendible dataSets
+	 * are always stored in chunks.
+	 * 
+	 * @see Hdf5DataSet#createCompression(int, Hdf5Filter[], long[])
+	 */
+	static Hdf5DataSet<?> createDataSet(Hdf5Group parent, String name, long[] dimensions, int compressionLevel,
+			Hdf5Filter[] filters, long[] chunkDimensions, boolean extendible, Hdf5DataType type) throws IOException {
 		Hdf5DataSet<?> dataSet = null;
+		long propertyListId = HDF5Constants.H5P_DEFAULT;
+		long accessPropertyListId = HDF5Constants.H5P_DEFAULT;
 		
 		try {
 			dataSet = getInstance(parent, name, type);
-			dataSet.createDataspace(dimensions);
-			long propertyListId = dataSet.createCompression(compressionLevel, chunkRowSize);
+			dataSet.createDataspace(dimensions, extendible);
+			propertyListId = dataSet.createCompression(compressionLevel, filters, chunkDimensions);
+			accessPropertyListId = dataSet.createAccessPropertyList();
 			
 			/*
 			 * parent.lockReadOpen() is not needed here because write access
@@ -89,28 +176,54 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 			 */
 	        dataSet.setElementId(H5.H5Dcreate(parent.getElementId(), dataSet.getName(),
             		dataSet.getType().getConstants()[0], dataSet.getDataspaceId(),
-                    HDF5Constants.H5P_DEFAULT, propertyListId, HDF5Constants.H5P_DEFAULT));
-	        
-            H5.H5Pclose(propertyListId);
+                    HDF5Constants.H5P_DEFAULT, propertyListId, accessPropertyListId));
 	        
     		parent.addDataSet(dataSet);
+    		parent.updateObjectNames(null, dataSet.getName());
     		
 		} catch (HDF5Exception | NullPointerException | IllegalArgumentException | IllegalStateException hnpiaise) {
             throw new IOException("DataSet could not be created: " + hnpiaise.getMessage(), hnpiaise);
+            
+        } finally {
+        	closePropertyList(propertyListId, name);
+        	closePropertyList(accessPropertyListId, name);
         }
 		
 		return dataSet;
 	}
 	
+	/**
+	 * Closes the property list such that it also does not leak if the
+	 * dataSet could not be created or opened.
+	 * 
+	 * @param propertyListId the id of the property list or
+	 * 	{@code H5P_DEFAULT} if no property list has been created
+	 * @param name the name of the dataSet
+	 */
+	private static void closePropertyList(long propertyListId, String name) {
+		if (propertyListId != HDF5Constants.H5P_DEFAULT && propertyListId >= 0) {
+			try {
+				H5.H5Pclose(propertyListId);
+				
+			} catch (HDF5LibraryException hle) {
+				NodeLogger.getLogger(Hdf5DataSet.class).error("Property list of dataSet \"" + name
+						+ "\" could not be closed: " + hle.getMessage(), hle);
+			}
+		}
+	}
+	
 	static Hdf5DataSet<?> openDataSet(Hdf5Group parent, String name) throws IOException {
 		Hdf5DataSet<?> dataSet = null;
 		
 		try {
+			Hdf5File file = parent.getFile();
+			long metadataVersion = file != null ? file.getMetadataVersion() : -1;
 			Hdf5DataType type = parent.findDataSetType(name);
 			dataSet = getInstance(parent, name, type);
 			
 	    	parent.addDataSet(dataSet);
 	    	dataSet.open();
+	    	dataSet.m_metadataVersion = metadataVersion;
         	
         } catch (NullPointerException | IllegalArgumentException | IllegalStateException npiaise) {
         	throw new IOException("DataSet could not be opened: " + npiaise.getMessage(), npiaise);
@@ -132,6 +245,29 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	void updateDataSet() throws UnsupportedDataTypeException, IOException {
 		m_type = getParent().findDataSetType(getName());
 	}
+	
+	/**
+	 * Updates the data type of this dataSet and opens it. Both are skipped
+	 * if this dataSet is still open and the metadata of the file has not been
+	 * changed by a writer since the last update, so the open dataSet id and
+	 * the data type are reused.
+	 * 
+	 * @throws UnsupportedDataTypeException if the data type is unsupported now
+	 * @throws IOException if this dataSet does not exist or an internal error
+	 * 	occurred
+	 * @see Hdf5DataSet#updateDataSet()
+	 * @see Hdf5File#getMetadataVersion()
+	 */
+	void updateAndOpen() throws UnsupportedDataTypeException, IOException {
+		Hdf5File file = getFile();
+		long metadataVersion = file != null ? file.getMetadataVersion() : -1;
+		if (metadataVersion < 0 || metadataVersion != m_metadataVersion || !isOpen()) {
+			m_metadataVersion = -1;
+			updateDataSet();
+			open();
+			m_metadataVersion = metadataVersion;
+		}
+	}
 
 	private long getDataspaceId() {
 		return m_dataspaceId;
@@ -165,6 +301,45 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 		return m_chunkRowSize;
 	}
 	
+	/**
+	 * @return the sizes of the chunks in all dimensions or {@code null} if
+	 * 	this dataSet is not stored in chunks
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetChunk"
+	 *	>H5.H5Pset_chunk(long, int, long[])</a>
+	 */
+	public long[] getChunkDimensions() {
+		return m_chunkDimensions != null ? m_chunkDimensions.clone() : null;
+	}
+	
+	/**
+	 * @return the cache for the chunks of this dataSet or {@code null} if
+	 * 	it is chosen automatically
+	 */
+	public Hdf5ChunkCache getChunkCache() {
+		return m_chunkCache;
+	}
+	
+	/**
+	 * Sets the cache for the chunks of this dataSet. The cache is used when
+	 * this dataSet is opened the next time.
+	 * 
+	 * @param chunkCache the cache or {@code null} to choose it automatically
+	 * @see Hdf5DataSet#createAccessPropertyList()
+	 */
+	public void setChunkCache(Hdf5ChunkCache chunkCache) {
+		m_chunkCache = chunkCache;
+	}
+	
+	/**
+	 * @return the filters (except the deflate compression) which are applied
+	 * 	to the chunks of this dataSet in the order they are applied
+	 * @see Hdf5DataSet#getCompressionLevel()
+	 */
+	public Hdf5Filter[] getFilters() {
+		return m_filters.clone();
+	}
+	
 	public Hdf5DataType getType() {
 		return m_type;
 	}
@@ -179,6 +354,73 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 		return m_dimensions.length > 0 ? m_dimensions[0] : 1;
 	}
 	
+	/**
+	 * @return if the number of rows of this dataSet can be changed
+	 * @see Hdf5DataSet#setNumberOfRows(long)
+	 */
+	public boolean isExtendible() {
+		return m_extendible;
+	}
+	
+	/**
+	 * Appends empty rows to this extendible dataSet which can be written
+	 * afterwards. Only the new rows need to be written, the existing rows
+	 * stay untouched.
+	 * 
+	 * @param rowCount the number of rows to append
+	 * @return the index of the first appended row
+	 * @throws IOException if this dataSet is not extendible or an error
+	 * 	occurred in the hdf library
+	 * @see Hdf5DataSet#setNumberOfRows(long)
+	 */
+	public long appendRows(long rowCount) throws IOException {
+		long fromRowIndex = numberOfRows();
+		setNumberOfRows(fromRowIndex + rowCount);
+		
+		return fromRowIndex;
+	}
+	
+	/**
+	 * Changes the number of rows of this extendible dataSet. New rows are
+	 * filled with the fill value of the dataSet, removed rows are discarded.
+	 * 
+	 * @param rowCount the new number of rows
+	 * @throws IOException if this dataSet is not extendible or an error
+	 * 	occurred in the hdf library
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5D.html#Dataset-SetExtent"
+	 *	>H5.H5Dset_extent(long, long[])</a>
+	 */
+	public void setNumberOfRows(long rowCount) throws IOException {
+		try {
+			lockWriteOpen();
+			checkOpen();
+			
+			if (!m_extendible) {
+				throw new IllegalStateException("Number of rows of dataSet \"" + getPathFromFileWithName() + "\" cannot be changed");
+			
+			} else if (rowCount < 0) {
+				throw new IllegalArgumentException("Number of rows cannot be negative: " + rowCount);
+			}
+			
+			if (rowCount != m_dimensions[0]) {
+				long[] dimensions = m_dimensions.clone();
+				dimensions[0] = rowCount;
+				H5.H5Dset_extent(getElementId(), dimensions);
+				
+				// the old dataSpace does not know the new extent
+				H5.H5Sclose(m_dataspaceId);
+				m_dataspaceId = -1;
+				loadDataspace();
+			}
+		} catch (HDF5Exception | IOException | NullPointerException | IllegalArgumentException | IllegalStateException hionpiaise) {
+			throw new IOException("Number of rows could not be changed: " + hionpiaise.getMessage(), hionpiaise);
+			
+		} finally {
+			unlockWriteOpen();
+		}
+	}
+	
 	/**
 	 * Returns the number of multi-dimensional columns.
 	 * 
@@ -267,48 +509,265 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	}
 	
 	/**
-	 * Selects a chunk within the dataSet and returns its memory space id.
+	 * Selects a chunk within a copy of the data space of this dataSet and
+	 * returns the ids of the memory space and the file space. Since every
+	 * access uses its own copy of the data space, several threads can read
+	 * from this dataSet at the same time.
+	 * 
+	 * @param offset the indices of the first cell in the dataSet from where
+	 * 	the chunk should be selected
+	 * @param count the number of values to select for each dimension
+	 * @return the ids of the memory space (index 0) and file space (index 1)
+	 * 	of the selected chunk
+	 * @throws HDF5Exception if {@code offset} or {@code count} cannot be fit
+	 * 	in the dimensions array or an internal error occurred
+	 * @see Hdf5DataSet#unselectChunk(long[])
+	 */
+	private long[] selectChunk(long[] offset, long[] count) throws HDF5Exception {
+		return selectChunk(offset, count, null, null);
+	}
+	
+	/**
+	 * Selects a chunk within a copy of the data space of this dataSet and
+	 * returns the ids of the memory space and the file space. If
+	 * {@code rowIndices} is not {@code null}, only the rows with those
+	 * indices are selected instead of the rows from {@code offset[0]}.
+	 * If {@code columnIndices} is not {@code null}, only the columns with
+	 * those indices are selected instead of the columns described by the
+	 * other dimensions of {@code offset} and {@code count}. The rows and
+	 * columns are selected by the hdf library such that only their values
+	 * are read from the file.
 	 * 
 	 * @param offset the indices of the first cell in the dataSet from where
 	 * 	the chunk should be selected
 	 * @param count the number of values to select for each dimension
-	 * @return the memory id of the selected chunk
+	 * @param rowIndices the ascending indices of the rows to select
+	 * 	(may be {@code null})
+	 * @param columnIndices the ascending indices of the columns to select
+	 * 	(in the order of {@linkplain Hdf5DataSet#nextColumnIndices(long[])};
+	 * 	may be {@code null})
+	 * @return the ids of the memory space (index 0) and file space (index 1)
+	 * 	of the selected chunk
 	 * @throws HDF5Exception if {@code offset} or {@code count} cannot be fit
 	 * 	in the dimensions array or an internal error occurred
+	 * @see Hdf5DataSet#unselectChunk(long[])
 	 */
-	private long selectChunk(long[] offset, long[] count) throws HDF5Exception {
-		long memSpaceId = HDF5Constants.H5P_DEFAULT;
+	private long[] selectChunk(long[] offset, long[] count, long[] rowIndices, long[] columnIndices) throws HDF5Exception {
+		long[] spaceIds = { HDF5Constants.H5P_DEFAULT, H5.H5Scopy(m_dataspaceId) };
 		
 		// check if dataSet is not scalar
 		if (m_dimensions.length > 0) {
-			memSpaceId = H5.H5Screate_simple(count.length, count, null);
-			
-			H5.H5Sselect_hyperslab(m_dataspaceId, HDF5Constants.H5S_SELECT_SET,
-					offset, null, count, null);
+			try {
+				if (columnIndices == null) {
+					spaceIds[0] = H5.H5Screate_simple(count.length, count, null);
+				} else {
+					spaceIds[0] = H5.H5Screate_simple(1, new long[] { count[0] * columnIndices.length }, null);
+				}
+				
+				if (rowIndices == null && columnIndices == null) {
+					H5.H5Sselect_hyperslab(spaceIds[1], HDF5Constants.H5S_SELECT_SET,
+							offset, null, count, null);
+				} else {
+					selectBlocks(spaceIds[1], offset, count, rowIndices, columnIndices);
+				}
+			} catch (HDF5Exception | NullPointerException hnpe) {
+				unselectChunk(spaceIds);
+				throw hnpe;
+			}
         }
         
-        return memSpaceId;
+        return spaceIds;
 	}
 	
 	/**
-	 * Closes the memory space used for the chunk.
+	 * Selects the rows and columns with the input indices in the file space.
+	 * Rows with a constant distance are selected at once by using the stride
+	 * of the hyperslab, otherwise every range of consecutive rows is added to
+	 * the selection. The same applies for consecutive columns within the
+	 * last dimension. If the ranges of rows are short (e.g. for a random
+	 * sample), the values are selected as single elements instead since
+	 * merging many small hyperslabs is slow.
 	 * 
-	 * @param memSpaceId the id of the memory space
-	 * @return success of closing the memory space
+	 * @param fileSpaceId the id of the file space
+	 * @param offset the indices of the first cell in the dataSet
+	 * @param count the number of values to select for each dimension
+	 * @param rowIndices the ascending indices of the rows to select instead
+	 * 	of the rows from {@code offset[0]} (may be {@code null})
+	 * @param columnIndices the ascending indices of the columns to select
+	 * 	(may be {@code null})
+	 * @throws HDF5Exception if an internal error occurred
 	 */
-	private boolean unselectChunk(long memSpaceId) {
-		if (memSpaceId >= 0 && memSpaceId != HDF5Constants.H5P_DEFAULT) {
-			try {
-				H5.H5Sclose(memSpaceId);
-				return true;
+	private void selectBlocks(long fileSpaceId, long[] offset, long[] count, long[] rowIndices, long[] columnIndices) throws HDF5Exception {
+		int rank = offset.length;
+		long[] start = offset.clone();
+		long[] stride = new long[rank];
+		Arrays.fill(stride, 1);
+		long[] blockCount = count.clone();
+		
+		List<long[]> rowRanges = getRowRanges(offset[0], count[0], rowIndices);
+		if (rowIndices != null && rowRanges.size() > 1 && rowIndices.length < (long) rowRanges.size() * MIN_HYPERSLAB_ROW_RUN) {
+			long valuesPerRow = 1;
+			if (columnIndices != null) {
+				valuesPerRow = columnIndices.length;
+			} else {
+				for (int i = 1; i < rank; i++) {
+					valuesPerRow *= count[i];
+				}
+			}
+			
+			if (rowIndices.length * valuesPerRow <= MAX_ELEMENT_SELECTION_SIZE) {
+				selectElements(fileSpaceId, offset, count, rowIndices, columnIndices, (int) valuesPerRow);
+				return;
+			}
+		}
+		
+		int operation = HDF5Constants.H5S_SELECT_SET;
+		for (long[] rowRange : rowRanges) {
+			start[0] = rowRange[0];
+			stride[0] = rowRange[1];
+			blockCount[0] = rowRange[2];
+			
+			if (columnIndices == null) {
+				H5.H5Sselect_hyperslab(fileSpaceId, operation, start, stride, blockCount, null);
+				operation = HDF5Constants.H5S_SELECT_OR;
 				
-			} catch (HDF5LibraryException hle) {
-				NodeLogger.getLogger(getClass()).warn("Memory space of dataSet \"" + getPathFromFileWithName()
-						+ "\" could not be closed: " + hle.getMessage(), hle);
+			} else {
+				long lastDimensionSize = m_dimensions[rank - 1];
+				for (int i = 0; i < columnIndices.length; i++) {
+					int rangeStart = i;
+					while (i + 1 < columnIndices.length && columnIndices[i + 1] == columnIndices[i] + 1
+							&& columnIndices[i + 1] % lastDimensionSize != 0) {
+						i++;
+					}
+					
+					// convert the index of the column to the indices of the dimensions
+					long columnIndex = columnIndices[rangeStart];
+					for (int j = rank - 1; j > 0; j--) {
+						start[j] = columnIndex % m_dimensions[j];
+						columnIndex /= m_dimensions[j];
+						blockCount[j] = 1;
+					}
+					blockCount[rank - 1] = i - rangeStart + 1;
+					
+					H5.H5Sselect_hyperslab(fileSpaceId, operation, start, stride, blockCount, null);
+					operation = HDF5Constants.H5S_SELECT_OR;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Selects the values of the rows and columns with the input indices as
+	 * single elements in the file space. The elements are listed in the
+	 * order of the rows and columns such that they are read in the same
+	 * order as for a selection of hyperslabs.
+	 * 
+	 * @param fileSpaceId the id of the file space
+	 * @param offset the indices of the first cell in the dataSet
+	 * @param count the number of values to select for each dimension
+	 * @param rowIndices the ascending indices of the rows to select
+	 * @param columnIndices the ascending indices of the columns to select
+	 * 	(may be {@code null})
+	 * @param valuesPerRow the number of values to select in each row
+	 * @throws HDF5Exception if an internal error occurred
+	 */
+	private void selectElements(long fileSpaceId, long[] offset, long[] count, long[] rowIndices,
+			long[] columnIndices, int valuesPerRow) throws HDF5Exception {
+		int rank = offset.length;
+		long[][] coordinates = new long[rowIndices.length * valuesPerRow][];
+		int e = 0;
+		for (long rowIndex : rowIndices) {
+			if (columnIndices != null) {
+				for (long columnIndex : columnIndices) {
+					// convert the index of the column to the indices of the dimensions
+					long[] coordinate = new long[rank];
+					coordinate[0] = rowIndex;
+					for (int j = rank - 1; j > 0; j--) {
+						coordinate[j] = columnIndex % m_dimensions[j];
+						columnIndex /= m_dimensions[j];
+					}
+					coordinates[e++] = coordinate;
+				}
+			} else {
+				long[] position = offset.clone();
+				position[0] = rowIndex;
+				for (int v = 0; v < valuesPerRow; v++) {
+					coordinates[e++] = position.clone();
+					
+					// go to the next position within the row
+					for (int j = rank - 1; j > 0; j--) {
+						if (++position[j] < offset[j] + count[j]) {
+							break;
+						}
+						position[j] = offset[j];
+					}
+				}
 			}
 		}
 		
-		return false;
+		H5.H5Sselect_elements(fileSpaceId, HDF5Constants.H5S_SELECT_SET, coordinates.length, coordinates);
+	}
+	
+	/**
+	 * @param fromRowIndex the index of the first row
+	 * @param rowCount the number of rows
+	 * @param rowIndices the ascending indices of the rows (may be {@code null})
+	 * @return the ranges of rows as arrays of the first row index, the
+	 * 	stride and the number of rows
+	 */
+	private static List<long[]> getRowRanges(long fromRowIndex, long rowCount, long[] rowIndices) {
+		List<long[]> rowRanges = new ArrayList<>();
+		if (rowIndices == null) {
+			rowRanges.add(new long[] { fromRowIndex, 1, rowCount });
+			return rowRanges;
+		}
+		
+		long rowStride = rowIndices.length > 1 ? rowIndices[1] - rowIndices[0] : 1;
+		boolean constantStride = true;
+		for (int i = 2; i < rowIndices.length && constantStride; i++) {
+			constantStride = rowIndices[i] - rowIndices[i - 1] == rowStride;
+		}
+		
+		if (constantStride) {
+			rowRanges.add(new long[] { rowIndices.length > 0 ? rowIndices[0] : 0, rowStride, rowIndices.length });
+			
+		} else {
+			for (int i = 0; i < rowIndices.length; i++) {
+				int rangeStart = i;
+				while (i + 1 < rowIndices.length && rowIndices[i + 1] == rowIndices[i] + 1) {
+					i++;
+				}
+				rowRanges.add(new long[] { rowIndices[rangeStart], 1, i - rangeStart + 1 });
+			}
+		}
+		
+		return rowRanges;
+	}
+	
+	/**
+	 * Closes the memory space and the copy of the file space used for the chunk.
+	 * 
+	 * @param spaceIds the ids of the memory space and file space
+	 * @return success of closing the memory space and file space
+	 */
+	private boolean unselectChunk(long[] spaceIds) {
+		boolean success = spaceIds != null;
+		if (success) {
+			for (long spaceId : spaceIds) {
+				if (spaceId >= 0 && spaceId != HDF5Constants.H5P_DEFAULT) {
+					try {
+						H5.H5Sclose(spaceId);
+						
+					} catch (HDF5LibraryException hle) {
+						success = false;
+						NodeLogger.getLogger(getClass()).warn("Memory space of dataSet \"" + getPathFromFileWithName()
+								+ "\" could not be closed: " + hle.getMessage(), hle);
+					}
+				}
+			}
+		}
+		
+		return success;
 	}
 	
 	/**
@@ -320,12 +779,61 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 * 	space is out of range
 	 */
 	private int checkChunkSelection(long[] offset, long[] count) throws HDF5DataspaceInterfaceException {
+		return checkChunkSelection(offset, count, null, null);
+	}
+	
+	/**
+	 * @param offset the indices of the first cell in the dataSet from where
+	 * 	the chunk should be selected
+	 * @param count the number of values to select for each dimension
+	 * @param rowIndices the ascending indices of the rows to select instead
+	 * 	of the rows from {@code offset[0]} (may be {@code null})
+	 * @param columnIndices the ascending indices of the columns to select
+	 * 	instead of the columns of the other dimensions (may be {@code null})
+	 * @return the number of values of the selection
+	 * @throws HDF5DataspaceInterfaceException if the selection of the data
+	 * 	space is out of range
+	 */
+	private int checkChunkSelection(long[] offset, long[] count, long[] rowIndices, long[] columnIndices) throws HDF5DataspaceInterfaceException {
 		if (m_dimensions.length != offset.length || offset.length != count.length) {
 			throw new HDF5DataspaceInterfaceException("Offset or count has wrong number of dimensions");
 		}
 		
 		long numberOfValues = 1;
-		for (int i = 0; i < m_dimensions.length; i++) {
+		int fromDimension = 0;
+		if (rowIndices != null) {
+			if (m_dimensions.length == 0 || count[0] != rowIndices.length) {
+				throw new HDF5DataspaceInterfaceException("Row indices do not fit to the count of dimension 0");
+			}
+			for (int i = 0; i < rowIndices.length; i++) {
+				if (rowIndices[i] < 0 || rowIndices[i] >= m_dimensions[0]) {
+					throw new HDF5DataspaceInterfaceException("Selected row index (rows: " + m_dimensions[0] + ") is out of bounds: " + rowIndices[i]);
+				} else if (i > 0 && rowIndices[i] <= rowIndices[i - 1]) {
+					throw new HDF5DataspaceInterfaceException("Selected row indices are not ascending");
+				}
+			}
+			numberOfValues = count[0];
+			fromDimension = 1;
+		}
+		
+		int toDimension = m_dimensions.length;
+		if (columnIndices != null) {
+			if (m_dimensions.length == 0) {
+				throw new HDF5DataspaceInterfaceException("Cannot select columns of a scalar dataSet");
+			}
+			long colNum = numberOfColumns();
+			for (int i = 0; i < columnIndices.length; i++) {
+				if (columnIndices[i] < 0 || columnIndices[i] >= colNum) {
+					throw new HDF5DataspaceInterfaceException("Selected column index (columns: " + colNum + ") is out of bounds: " + columnIndices[i]);
+				} else if (i > 0 && columnIndices[i] <= columnIndices[i - 1]) {
+					throw new HDF5DataspaceInterfaceException("Selected column indices are not ascending");
+				}
+			}
+			numberOfValues *= columnIndices.length;
+			toDimension = 1;
+		}
+		
+		for (int i = fromDimension; i < toDimension; i++) {
 			if (offset[i] < 0) {
 				throw new HDF5DataspaceInterfaceException("Cannot select a negative index of dimension " + i);
 			} else if (count[i] < 0) {
@@ -414,46 +922,203 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 * @throws IOException if an error occurred in the hdf library
 	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
 	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public boolean write(Type[] dataIn, long[] offset, long[] count, Rounding rounding) throws IOException, HDF5DataspaceInterfaceException {
-		Object[] dataWrite = Arrays.copyOf(dataIn, dataIn.length);
-
-		// convert the data from knime to hdf data type
-		if (!m_type.isHdfType(HdfDataType.STRING) && !m_type.hdfTypeEqualsKnimeType()) {
-            int numberOfValues = 1;
-			for (int i = 0; i < count.length; i++) {
-				numberOfValues *= count[i];
+		// unbox the knime data and convert it to the hdf data type with the Hdf5ArrayConverter
+		switch (m_type.getKnimeType()) {
+		case INTEGER:
+			int[] dataWriteInt = new int[dataIn.length];
+			for (int i = 0; i < dataWriteInt.length; i++) {
+				dataWriteInt[i] = (Integer) dataIn[i];
 			}
-			
-			dataWrite = m_type.getHdfType().createArray(numberOfValues);
-            
-			Class knimeClass = m_type.getKnimeClass();
-			Class hdfClass = m_type.getHdfClass();
-			for (int i = 0; i < dataWrite.length; i++) {
-				dataWrite[i] = m_type.knimeToHdf(knimeClass, knimeClass.cast(dataIn[i]), hdfClass, rounding);
+			return writeInts(dataWriteInt, offset, count);
+		case LONG:
+			long[] dataWriteLong = new long[dataIn.length];
+			for (int i = 0; i < dataWriteLong.length; i++) {
+				dataWriteLong[i] = (Long) dataIn[i];
+			}
+			return writeLongs(dataWriteLong, offset, count);
+		case DOUBLE:
+			double[] dataWriteDouble = new double[dataIn.length];
+			for (int i = 0; i < dataWriteDouble.length; i++) {
+				dataWriteDouble[i] = (Double) dataIn[i];
 			}
+			return writeDoubles(dataWriteDouble, offset, count, rounding);
+		default:
+			return writeHdf(Arrays.copyOf(dataIn, dataIn.length, String[].class), offset, count);
+		}
+	}
+	
+	/**
+	 * Writes {@code int} values to this dataSet after converting them to the
+	 * hdf type.
+	 * 
+	 * @param dataIn the values that should be written
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @return if the values were successfully written
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public boolean writeInts(int[] dataIn, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		return writeConverted(dataIn, dataIn.length, HdfDataType.INT32, Rounding.DOWN, offset, count);
+	}
+	
+	/**
+	 * Writes {@code long} values to this dataSet after converting them to the
+	 * hdf type.
+	 * 
+	 * @param dataIn the values that should be written
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @return if the values were successfully written
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public boolean writeLongs(long[] dataIn, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		return writeConverted(dataIn, dataIn.length, HdfDataType.INT64, Rounding.DOWN, offset, count);
+	}
+	
+	/**
+	 * Writes {@code double} values to this dataSet after converting them to the
+	 * hdf type using the rounding if the hdf type is no float type.
+	 * 
+	 * @param dataIn the values that should be written
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @param rounding the rounding for a cast from float to int
+	 * @return if the values were successfully written
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public boolean writeDoubles(double[] dataIn, long[] offset, long[] count, Rounding rounding) throws IOException, HDF5DataspaceInterfaceException {
+		return writeConverted(dataIn, dataIn.length, HdfDataType.FLOAT64, rounding, offset, count);
+	}
+	
+	/**
+	 * Writes the raw bytes of the values to this dataSet. The bytes need to be
+	 * in the native memory layout of the hdf type of this dataSet.
+	 * 
+	 * @param dataIn the bytes that should be written
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @return if the bytes were successfully written
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public boolean writeBytes(byte[] dataIn, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		return writePrimitive(dataIn, dataIn.length / getValueByteSize(), m_type.getConstants()[1], offset, count);
+	}
+	
+	/**
+	 * Converts the array of primitive values of the input type to the hdf type
+	 * of this dataSet and writes them.
+	 * 
+	 * @param dataIn the array of primitive values of the input type
+	 * @param length the number of values in {@code dataIn}
+	 * @param inputType the hdf type for the memory layout of {@code dataIn}
+	 * @param rounding the rounding for a cast from float to int
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @return if the values were successfully written
+	 * @throws IOException if this is a String dataSet, the array is too small
+	 * 	or an error occurred in the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 * @see Hdf5ArrayConverter
+	 */
+	private boolean writeConverted(Object dataIn, int length, HdfDataType inputType, Rounding rounding,
+			long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		HdfDataType hdfType = m_type.getHdfType().getType();
+		Object dataWrite = dataIn;
+		if (hdfType != inputType) {
+			dataWrite = Hdf5ArrayConverter.getConverter(inputType, hdfType, rounding).convert(dataIn, length);
 		}
 		
-		return writeHdf(dataWrite, offset, count);
+		return writePrimitive(dataWrite, length, m_type.getConstants()[1], offset, count);
+	}
+	
+	/**
+	 * Writes the array of primitive values to this dataSet.
+	 * 
+	 * @param dataWrite the array of primitive values
+	 * @param length the number of values in {@code dataWrite}
+	 * @param memTypeId the memory type of the values
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be written
+	 * @param count the number of values to select for each dimension
+	 * @return if the values were successfully written
+	 * @throws IOException if this is a String dataSet, the array is too small
+	 * 	or an error occurred in the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	boolean writePrimitive(Object dataWrite, int length, long memTypeId, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		checkNumberType();
+		
+    	long[] spaceIds = null;
+    	try {
+    		lockReadOpen();
+    		checkOpen();
+    		int numberOfValues = checkChunkSelection(offset, count);
+    		if (length < numberOfValues) {
+    			throw new IOException("Not enough values to write: " + length + " instead of " + numberOfValues);
+    		}
+    	
+    		spaceIds = selectChunk(offset, count);
+    		
+    		long elementId = getElementId();
+    		if (dataWrite instanceof byte[]) {
+				H5.H5Dwrite(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (byte[]) dataWrite);
+    		} else if (dataWrite instanceof short[]) {
+				H5.H5Dwrite_short(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (short[]) dataWrite);
+    		} else if (dataWrite instanceof int[]) {
+				H5.H5Dwrite_int(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (int[]) dataWrite);
+    		} else if (dataWrite instanceof long[]) {
+				H5.H5Dwrite_long(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (long[]) dataWrite);
+    		} else if (dataWrite instanceof float[]) {
+				H5.H5Dwrite_float(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (float[]) dataWrite);
+    		} else {
+				H5.H5Dwrite_double(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (double[]) dataWrite);
+    		}
+			
+			return true;
+    			
+	    } catch (HDF5DataspaceInterfaceException hdie) {
+	    	throw hdie;
+	    	
+	    } catch (HDF5Exception | IOException | NullPointerException | ClassCastException hionpcce) {
+	    	throw new IOException("DataSet \"" + getPathFromFileWithName()
+	    			+ "\" could not be written: " + hionpcce.getMessage(), hionpcce);
+	    	
+	    } finally {
+	    	unlockReadOpen();
+			unselectChunk(spaceIds);
+	    }
 	}
 		
-	private boolean writeHdf(Object[] dataWrite, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
-    	long memSpaceId = -1;
+	boolean writeHdf(Object[] dataWrite, long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		// write numbers through the primitive arrays to avoid the unboxing in the hdf library
+		if (!m_type.isHdfType(HdfDataType.STRING)) {
+			return writePrimitive(unboxHdfArray(dataWrite), dataWrite.length, m_type.getConstants()[1], offset, count);
+		}
+		
+    	long[] spaceIds = null;
     	try {
     		lockReadOpen();
     		checkOpen();
     		checkChunkSelection(offset, count);
     	
-    		memSpaceId = selectChunk(offset, count);
+    		spaceIds = selectChunk(offset, count);
 		
-			if (m_type.isHdfType(HdfDataType.STRING)) {
-				H5.H5Dwrite_string(getElementId(), m_type.getConstants()[1],
-						memSpaceId, m_dataspaceId, HDF5Constants.H5P_DEFAULT, (String[]) dataWrite);
-				
-			} else {
-				H5.H5Dwrite(getElementId(), m_type.getConstants()[1],
-	            		memSpaceId, m_dataspaceId, HDF5Constants.H5P_DEFAULT, dataWrite);
-			}
+			H5.H5Dwrite_string(getElementId(), m_type.getConstants()[1],
+					spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (String[]) dataWrite);
 			
 			return true;
     			
@@ -466,10 +1131,66 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	    	
 	    } finally {
 	    	unlockReadOpen();
-			unselectChunk(memSpaceId);
+			unselectChunk(spaceIds);
 	    }
 	}
 	
+	/**
+	 * Converts the boxed array of hdf values (created by
+	 * {@linkplain Hdf5HdfDataType#createArray(int)}) to the respective array
+	 * of primitive values.
+	 * 
+	 * @param dataWrite the boxed hdf values
+	 * @return the array of primitive values
+	 * @throws UnsupportedDataTypeException if the hdf type is no number
+	 */
+	private Object unboxHdfArray(Object[] dataWrite) throws UnsupportedDataTypeException {
+		switch (m_type.getHdfType().getType()) {
+		case INT8:
+		case UINT8:
+			byte[] bytes = new byte[dataWrite.length];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (Byte) dataWrite[i];
+			}
+			return bytes;
+		case INT16:
+		case UINT16:
+			short[] shorts = new short[dataWrite.length];
+			for (int i = 0; i < shorts.length; i++) {
+				shorts[i] = (Short) dataWrite[i];
+			}
+			return shorts;
+		case INT32:
+		case UINT32:
+			int[] ints = new int[dataWrite.length];
+			for (int i = 0; i < ints.length; i++) {
+				ints[i] = (Integer) dataWrite[i];
+			}
+			return ints;
+		case INT64:
+		case UINT64:
+			long[] longs = new long[dataWrite.length];
+			for (int i = 0; i < longs.length; i++) {
+				longs[i] = (Long) dataWrite[i];
+			}
+			return longs;
+		case FLOAT32:
+			float[] floats = new float[dataWrite.length];
+			for (int i = 0; i < floats.length; i++) {
+				floats[i] = (Float) dataWrite[i];
+			}
+			return floats;
+		case FLOAT64:
+			double[] doubles = new double[dataWrite.length];
+			for (int i = 0; i < doubles.length; i++) {
+				doubles[i] = (Double) dataWrite[i];
+			}
+			return doubles;
+		default:
+			throw new UnsupportedDataTypeException("Cannot create primitive array of this dataType");
+		}
+	}
+	
 	/**
 	 * Writes the values of a knime data row and many hdf dataSets to a row.
 	 * {@code dataRowColumnIndices} and {@code dataSetColumnIndices} are used
@@ -657,51 +1378,279 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 * @throws IOException if an error occurred in the hdf library
 	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@SuppressWarnings("unchecked")
 	public Type[] read(long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
-		Type[] dataOut = null;
+		// read the data in the hdf data type and convert it to the knime data type with the Hdf5ArrayConverter
+		switch (m_type.getKnimeType()) {
+		case INTEGER:
+			int[] dataReadInt = readInts(offset, count, null);
+			Integer[] dataOutInt = new Integer[dataReadInt.length];
+			for (int i = 0; i < dataOutInt.length; i++) {
+				dataOutInt[i] = dataReadInt[i];
+			}
+			return (Type[]) dataOutInt;
+		case LONG:
+			long[] dataReadLong = readLongs(offset, count, null);
+			Long[] dataOutLong = new Long[dataReadLong.length];
+			for (int i = 0; i < dataOutLong.length; i++) {
+				dataOutLong[i] = dataReadLong[i];
+			}
+			return (Type[]) dataOutLong;
+		case DOUBLE:
+			double[] dataReadDouble = readDoubles(offset, count, null);
+			Double[] dataOutDouble = new Double[dataReadDouble.length];
+			for (int i = 0; i < dataOutDouble.length; i++) {
+				dataOutDouble[i] = dataReadDouble[i];
+			}
+			return (Type[]) dataOutDouble;
+		default:
+			return (Type[]) readHdf(offset, count);
+		}
+	}
+	
+	/**
+	 * Reads the values of this dataSet as {@code int} values after converting
+	 * them from the hdf type, so it should only be used if the knime type of
+	 * this dataSet is {@code INTEGER}.
+	 * 
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param dataOut the array to read the values into; a new array is
+	 * 	created if it is {@code null} or too small
+	 * @return the array with the read values at its beginning
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public int[] readInts(long[] offset, long[] count, int[] dataOut) throws IOException, HDF5DataspaceInterfaceException {
+		int numberOfValues = checkChunkSelection(offset, count);
+		dataOut = dataOut != null && dataOut.length >= numberOfValues ? dataOut : new int[numberOfValues];
+		readConverted(dataOut, numberOfValues, HdfDataType.INT32, offset, count, null, null);
+		return dataOut;
+	}
+	
+	/**
+	 * Reads the values of this dataSet as {@code long} values after converting
+	 * them from the hdf type.
+	 * 
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param dataOut the array to read the values into; a new array is
+	 * 	created if it is {@code null} or too small
+	 * @return the array with the read values at its beginning
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public long[] readLongs(long[] offset, long[] count, long[] dataOut) throws IOException, HDF5DataspaceInterfaceException {
+		int numberOfValues = checkChunkSelection(offset, count);
+		dataOut = dataOut != null && dataOut.length >= numberOfValues ? dataOut : new long[numberOfValues];
+		readConverted(dataOut, numberOfValues, HdfDataType.INT64, offset, count, null, null);
+		return dataOut;
+	}
+	
+	/**
+	 * Reads the values of this dataSet as {@code double} values after converting
+	 * them from the hdf type.
+	 * 
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param dataOut the array to read the values into; a new array is
+	 * 	created if it is {@code null} or too small
+	 * @return the array with the read values at its beginning
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	public double[] readDoubles(long[] offset, long[] count, double[] dataOut) throws IOException, HDF5DataspaceInterfaceException {
+		int numberOfValues = checkChunkSelection(offset, count);
+		dataOut = dataOut != null && dataOut.length >= numberOfValues ? dataOut : new double[numberOfValues];
+		readConverted(dataOut, numberOfValues, HdfDataType.FLOAT64, offset, count, null, null);
+		return dataOut;
+	}
+	
+	/**
+	 * Reads the raw bytes of the values of this dataSet. The bytes are in the
+	 * native memory layout of the hdf type of this dataSet.
+	 * 
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param dataOut the array to read the bytes into; a new array is
+	 * 	created if it is {@code null} or too small
+	 * @return the array with the read bytes at its beginning
+	 * @throws IOException if this is a String dataSet or an error occurred in
+	 * 	the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 * @see Hdf5DataSet#getValueByteSize()
+	 */
+	public byte[] readBytes(long[] offset, long[] count, byte[] dataOut) throws IOException, HDF5DataspaceInterfaceException {
+		int valueByteSize = getValueByteSize();
+		long numberOfBytes = (long) checkChunkSelection(offset, count) * valueByteSize;
+		if (numberOfBytes > Integer.MAX_VALUE) {
+			throw new HDF5DataspaceInterfaceException("Number of bytes to read in dataSet \"" + getPathFromFileWithName()
+					+ "\" has overflown the Integer values.");
+		}
 		
-		// read the data and convert it from hdf to knime data type
-		if (!m_type.isHdfType(HdfDataType.STRING) && !m_type.hdfTypeEqualsKnimeType()) {
-			Object[] dataRead = readHdf(offset, count);
-			dataOut = (Type[]) m_type.getKnimeType().createArray(dataRead.length);
+		dataOut = dataOut != null && dataOut.length >= numberOfBytes ? dataOut : new byte[(int) numberOfBytes];
+		readPrimitive(dataOut, dataOut.length / valueByteSize, m_type.getConstants()[1], offset, count, null, null);
+		return dataOut;
+	}
+	
+	/**
+	 * Reads the values of this dataSet and converts them from the hdf type of
+	 * this dataSet to the output type.
+	 * 
+	 * @param dataOut the array of primitive values of the output type
+	 * @param numberOfValues the number of values to read
+	 * @param outputType the hdf type for the memory layout of {@code dataOut}
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param rowIndices the ascending indices of the rows to read instead of
+	 * 	the rows from {@code offset[0]} (may be {@code null})
+	 * @param columnIndices the ascending indices of the columns to read
+	 * 	instead of the columns of the other dimensions (may be {@code null})
+	 * @throws IOException if this is a String dataSet, the array is too small
+	 * 	or an error occurred in the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 * @see Hdf5ArrayConverter
+	 */
+	private void readConverted(Object dataOut, int numberOfValues, HdfDataType outputType,
+			long[] offset, long[] count, long[] rowIndices, long[] columnIndices) throws IOException, HDF5DataspaceInterfaceException {
+		HdfDataType hdfType = m_type.getHdfType().getType();
+		if (hdfType == outputType) {
+			readPrimitive(dataOut, numberOfValues, m_type.getConstants()[1], offset, count, rowIndices, columnIndices);
 			
-            Class hdfClass = m_type.getHdfClass();
-			Class knimeClass = m_type.getKnimeClass();
-			for (int i = 0; i < dataRead.length; i++) {
-				dataOut[i] = (Type) m_type.hdfToKnime(hdfClass, hdfClass.cast(dataRead[i]), knimeClass);
-			}
 		} else {
-			dataOut = (Type[]) readHdf(offset, count);
+			// converting from hdf to knime never needs a rounding
+			Hdf5ArrayConverter converter = Hdf5ArrayConverter.getConverter(hdfType, outputType, Rounding.DOWN);
+			Object dataRead = converter.createInputArray(numberOfValues);
+			readPrimitive(dataRead, numberOfValues, m_type.getConstants()[1], offset, count, rowIndices, columnIndices);
+			converter.convert(dataRead, 0, dataOut, 0, numberOfValues);
 		}
+	}
+	
+	/**
+	 * Reads the values of this dataSet into the array of primitive values.
+	 * 
+	 * @param dataRead the array of primitive values
+	 * @param length the number of values which fit into {@code dataRead}
+	 * @param memTypeId the memory type of the values
+	 * @param offset the indices of the first cell in the dataSet that should
+	 * 	be read
+	 * @param count the number of values to select for each dimension
+	 * @param rowIndices the ascending indices of the rows to read instead of
+	 * 	the rows from {@code offset[0]} (may be {@code null})
+	 * @param columnIndices the ascending indices of the columns to read
+	 * 	instead of the columns of the other dimensions (may be {@code null})
+	 * @throws IOException if this is a String dataSet, the array is too small
+	 * 	or an error occurred in the hdf library
+	 * @throws HDF5DataspaceInterfaceException if the offset or count is out of range
+	 */
+	void readPrimitive(Object dataRead, int length, long memTypeId, long[] offset, long[] count, long[] rowIndices,
+			long[] columnIndices) throws IOException, HDF5DataspaceInterfaceException {
+		checkNumberType();
 		
-		return dataOut;
+        long[] spaceIds = null;
+		try {
+			lockReadOpen();
+			checkOpen();
+			int numberOfValues = checkChunkSelection(offset, count, rowIndices, columnIndices);
+    		if (length < numberOfValues) {
+    			throw new IOException("Not enough space to read values: " + length + " instead of " + numberOfValues);
+    		}
+		
+            spaceIds = selectChunk(offset, count, rowIndices, columnIndices);
+
+    		long elementId = getElementId();
+    		if (dataRead instanceof byte[]) {
+				H5.H5Dread(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (byte[]) dataRead);
+    		} else if (dataRead instanceof short[]) {
+				H5.H5Dread_short(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (short[]) dataRead);
+    		} else if (dataRead instanceof int[]) {
+				H5.H5Dread_int(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (int[]) dataRead);
+    		} else if (dataRead instanceof long[]) {
+				H5.H5Dread_long(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (long[]) dataRead);
+    		} else if (dataRead instanceof float[]) {
+				H5.H5Dread_float(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (float[]) dataRead);
+    		} else {
+				H5.H5Dread_double(elementId, memTypeId, spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (double[]) dataRead);
+    		}
+			
+	    } catch (HDF5DataspaceInterfaceException hdie) {
+	    	throw hdie;
+	    	
+	    } catch (HDF5Exception | IOException | NullPointerException | ClassCastException hionpcce) {
+            throw new IOException("DataSet \"" + getPathFromFileWithName()
+					+ "\" could not be read: " + hionpcce.getMessage(), hionpcce);
+            
+        } finally {
+        	unlockReadOpen();
+			unselectChunk(spaceIds);
+        }
+	}
+	
+	/**
+	 * @throws UnsupportedDataTypeException if the hdf type of this dataSet
+	 * 	is no number
+	 */
+	private void checkNumberType() throws UnsupportedDataTypeException {
+		if (!m_type.getHdfType().getType().isNumber()) {
+			throw new UnsupportedDataTypeException("DataSet \"" + getPathFromFileWithName()
+					+ "\" has no number dataType: " + m_type.getHdfType().getType());
+		}
+	}
+	
+	/**
+	 * @return the number of bytes of one value of this dataSet (also for Strings)
+	 */
+	int getElementByteSize() {
+		return m_type.isHdfType(HdfDataType.STRING) ? (int) Math.max(m_type.getHdfType().getStringLength(), 1)
+				: Math.max(m_type.getHdfType().getType().getSize() / 8, 1);
+	}
+	
+	/**
+	 * @return the number of bytes of one value in the memory type of this dataSet
+	 * @throws UnsupportedDataTypeException if the hdf type of this dataSet
+	 * 	is no number
+	 */
+	public int getValueByteSize() throws UnsupportedDataTypeException {
+		checkNumberType();
+		return m_type.getHdfType().getType().getSize() / 8;
 	}
 		
-	private Object[] readHdf(long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
-        long memSpaceId = -1;
+	Object[] readHdf(long[] offset, long[] count) throws IOException, HDF5DataspaceInterfaceException {
+		return readHdf(offset, count, null, null);
+	}
+	
+	Object[] readHdf(long[] offset, long[] count, long[] rowIndices, long[] columnIndices) throws IOException, HDF5DataspaceInterfaceException {
+        long[] spaceIds = null;
 		try {
 			lockReadOpen();
 			checkOpen();
-			int numberOfValues = checkChunkSelection(offset, count);
+			int numberOfValues = checkChunkSelection(offset, count, rowIndices, columnIndices);
 		
-            memSpaceId = selectChunk(offset, count);
+            spaceIds = selectChunk(offset, count, rowIndices, columnIndices);
 
 			Object[] dataRead = m_type.getHdfType().createArray(numberOfValues);
 			if (m_type.isHdfType(HdfDataType.STRING)) {
                 if (m_type.isVlen()) {
 					long typeId = H5.H5Tget_native_type(m_type.getConstants()[0]);
                     H5.H5DreadVL(getElementId(), typeId,
-                    		memSpaceId, m_dataspaceId, HDF5Constants.H5P_DEFAULT, dataRead);
+                    		spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, dataRead);
     				H5.H5Tclose(typeId);
                     
                 } else {
 					H5.H5Dread_string(getElementId(), m_type.getConstants()[1],
-							memSpaceId, m_dataspaceId, HDF5Constants.H5P_DEFAULT, (String[]) dataRead);
+							spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, (String[]) dataRead);
 				}
 			} else {
 	            H5.H5Dread(getElementId(), m_type.getConstants()[1],
-	            		memSpaceId, m_dataspaceId, HDF5Constants.H5P_DEFAULT, dataRead);
+	            		spaceIds[0], spaceIds[1], HDF5Constants.H5P_DEFAULT, dataRead);
 			}
 			
 			return dataRead;
@@ -715,7 +1664,7 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
             
         } finally {
         	unlockReadOpen();
-			unselectChunk(memSpaceId);
+			unselectChunk(spaceIds);
         }
 	}
 	
@@ -731,23 +1680,179 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 * @throws HDF5DataspaceInterfaceException if the row index is out of range
 	 */
 	public void extendRow(List<DataCell> row, long rowIndex) throws IOException, HDF5DataspaceInterfaceException {
+		extendRows(Collections.singletonList(row), rowIndex);
+	}
+	
+	/**
+	 * Extends the input rows by the whole rows (starting at the input row
+	 * index) of this dataSet. All rows of this dataSet which belong to the
+	 * input rows are read at once instead of reading them row by row.
+	 * 
+	 * @param rows the rows to be extended
+	 * @param fromRowIndex the index of the row in this dataSet as source for
+	 * 	the extension of the first row in {@code rows}
+	 * @throws IOException if this dataSet does not exist or an internal error
+	 * 	occurred
+	 * @throws HDF5DataspaceInterfaceException if the number of values in the
+	 * 	block of rows is out of range
+	 * @see Hdf5DataSet#extendRow(List, long)
+	 */
+	public void extendRows(List<List<DataCell>> rows, long fromRowIndex) throws IOException, HDF5DataspaceInterfaceException {
+		DataCell[][] cells = new DataCell[rows.size()][(int) numberOfColumns()];
+		readCells(fromRowIndex, null, cells, 0);
+		
+		for (int r = 0; r < rows.size(); r++) {
+			rows.get(r).addAll(Arrays.asList(cells[r]));
+		}
+	}
+	
+	/**
+	 * Reads the cells of the whole rows (starting at the input row index)
+	 * of this dataSet at once and puts them directly into the input rows
+	 * (starting at the input column index). The values are read as one
+	 * primitive block and the cells are created from it without boxing the
+	 * values. Only the selected columns are read from the file. Rows which
+	 * do not exist in this dataSet consist of missing cells.
+	 * <br>
+	 * <br>
+	 * This method may be called by several threads at the same time as
+	 * long as they fill different columns of the rows.
+	 * 
+	 * @param fromRowIndex the index of the row in this dataSet which belongs
+	 * 	to the first row of {@code rows}
+	 * @param columnIndices the ascending indices of the columns (in the order
+	 * 	of {@linkplain Hdf5DataSet#nextColumnIndices(long[])}) to read or
+	 * 	{@code null} to read all columns
+	 * @param rows the cells of the rows to fill
+	 * @param fromColumnIndex the index of the first column within
+	 * 	{@code rows} to fill with the cells of this dataSet
+	 * @throws IOException if this dataSet does not exist or an internal error
+	 * 	occurred
+	 * @throws HDF5DataspaceInterfaceException if the number of values in the
+	 * 	block of rows is out of range
+	 */
+	public void readCells(long fromRowIndex, long[] columnIndices, DataCell[][] rows, int fromColumnIndex) throws IOException, HDF5DataspaceInterfaceException {
+		int rowsToRead = (int) Math.max(0, Math.min(rows.length, numberOfRows() - fromRowIndex));
+		readCells(fromRowIndex, null, rowsToRead, columnIndices, rows, fromColumnIndex);
+	}
+	
+	/**
+	 * Reads the cells of the rows with the input indices of this dataSet
+	 * and puts them directly into the input rows (starting at the input
+	 * column index). Only the selected rows and columns are read from the
+	 * file. Row
+	 * indices which do not exist in this dataSet lead to rows of missing
+	 * cells.
+	 * <br>
+	 * <br>
+	 * This method may be called by several threads at the same time as
+	 * long as they fill different columns of the rows.
+	 * 
+	 * @param rowIndices the ascending indices of the rows in this dataSet
+	 * 	which belong to the rows of {@code rows}
+	 * @param columnIndices the ascending indices of the columns (in the order
+	 * 	of {@linkplain Hdf5DataSet#nextColumnIndices(long[])}) to read or
+	 * 	{@code null} to read all columns
+	 * @param rows the cells of the rows to fill
+	 * @param fromColumnIndex the index of the first column within
+	 * 	{@code rows} to fill with the cells of this dataSet
+	 * @throws IOException if this dataSet does not exist or an internal error
+	 * 	occurred
+	 * @throws HDF5DataspaceInterfaceException if the row indices are not
+	 * 	ascending or the number of values is out of range
+	 * @see Hdf5DataSet#readCells(long, long[], DataCell[][], int)
+	 */
+	public void readCells(long[] rowIndices, long[] columnIndices, DataCell[][] rows, int fromColumnIndex) throws IOException, HDF5DataspaceInterfaceException {
+		// the row indices are ascending, so the existing rows are at the beginning
+		int rowsToRead = 0;
+		long rowCount = numberOfRows();
+		while (rowsToRead < Math.min(rowIndices.length, rows.length) && rowIndices[rowsToRead] < rowCount) {
+			rowsToRead++;
+		}
+		
+		if (m_dimensions.length == 0) {
+			// scalar dataSets only have the row with index 0
+			readCells(0, null, rowsToRead, columnIndices, rows, fromColumnIndex);
+			
+		} else {
+			readCells(0, rowsToRead < rowIndices.length ? Arrays.copyOf(rowIndices, rowsToRead) : rowIndices,
+					rowsToRead, columnIndices, rows, fromColumnIndex);
+		}
+	}
+	
+	private void readCells(long fromRowIndex, long[] rowIndices, int rowsToRead, long[] columnIndices,
+			DataCell[][] rows, int fromColumnIndex) throws IOException, HDF5DataspaceInterfaceException {
 		Hdf5KnimeDataType knimeType = m_type.getKnimeType();
-		long rowNum = numberOfRows();
 		int colNum = (int) numberOfColumns();
+		if (columnIndices != null) {
+			// the selection of all columns does not need to be handled separately
+			if (columnIndices.length == colNum) {
+				columnIndices = null;
+			} else {
+				colNum = columnIndices.length;
+			}
+		}
+		int toColumnIndex = fromColumnIndex + colNum;
 		
-		String missingValueMessage = "(null) on joining hdf dataSets";
-		// check if this dataSet has a row with the rowIndex
-		if (rowIndex < rowNum) {
-			Type[] dataRead = readRow(rowIndex);
-			
-			for (int c = 0; c < colNum; c++) {
-				// add DataCell with the read value to the row
-				row.add(knimeType.getDataCellWithValue(dataRead[c], missingValueMessage));
+		long[] offset = new long[m_dimensions.length];
+		long[] count = m_dimensions.clone();
+		if (m_dimensions.length > 0) {
+			offset[0] = fromRowIndex;
+			count[0] = rowsToRead;
+		}
+		
+		// use the primitive arrays for numbers to avoid boxing the values
+		if (rowsToRead > 0 && colNum > 0) {
+			int numberOfValues = rowsToRead * colNum;
+			int i = 0;
+			switch (knimeType) {
+			case INTEGER:
+				int[] dataReadInt = new int[numberOfValues];
+				readConverted(dataReadInt, numberOfValues, HdfDataType.INT32, offset, count, rowIndices, columnIndices);
+				for (int r = 0; r < rowsToRead; r++) {
+					DataCell[] row = rows[r];
+					for (int c = fromColumnIndex; c < toColumnIndex; c++) {
+						row[c] = new IntCell(dataReadInt[i++]);
+					}
+				}
+				break;
+			case LONG:
+				long[] dataReadLong = new long[numberOfValues];
+				readConverted(dataReadLong, numberOfValues, HdfDataType.INT64, offset, count, rowIndices, columnIndices);
+				for (int r = 0; r < rowsToRead; r++) {
+					DataCell[] row = rows[r];
+					for (int c = fromColumnIndex; c < toColumnIndex; c++) {
+						row[c] = new LongCell(dataReadLong[i++]);
+					}
+				}
+				break;
+			case DOUBLE:
+				double[] dataReadDouble = new double[numberOfValues];
+				readConverted(dataReadDouble, numberOfValues, HdfDataType.FLOAT64, offset, count, rowIndices, columnIndices);
+				for (int r = 0; r < rowsToRead; r++) {
+					DataCell[] row = rows[r];
+					for (int c = fromColumnIndex; c < toColumnIndex; c++) {
+						row[c] = new DoubleCell(dataReadDouble[i++]);
+					}
+				}
+				break;
+			default:
+				Object[] dataRead = readHdf(offset, count, rowIndices, columnIndices);
+				for (int r = 0; r < rowsToRead; r++) {
+					DataCell[] row = rows[r];
+					for (int c = fromColumnIndex; c < toColumnIndex; c++) {
+						row[c] = knimeType.getDataCellWithValue(dataRead[i++], MISSING_VALUE_MESSAGE);
+					}
+				}
+				break;
 			}
-		} else {
-			for (int c = 0; c < colNum; c++) {
-				// add MissingCell to the row
-				row.add(knimeType.getDataCellWithValue(null, missingValueMessage));
+		}
+		
+		// add MissingCells for the rows which do not exist (the cell can be shared since it is immutable)
+		if (rowsToRead < rows.length) {
+			DataCell missingCell = knimeType.getDataCellWithValue(null, MISSING_VALUE_MESSAGE);
+			for (int r = rowsToRead; r < rows.length; r++) {
+				Arrays.fill(rows[r], fromColumnIndex, toColumnIndex, missingCell);
 			}
 		}
 	}
@@ -756,15 +1861,23 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 * Creates the data space with the size of {@code dimensions} for this dataSet.
 	 * 
 	 * @param dimensions the dimensions for this dataSet
+	 * @param extendible if the number of rows should be unlimited
 	 * @throws IOException if an error occurred in the hdf library
 	 */
-	private void createDataspace(long[] dimensions) throws IOException {
+	private void createDataspace(long[] dimensions, boolean extendible) throws IOException {
 		m_dimensions = dimensions;
+		m_extendible = extendible && m_dimensions.length > 0;
 		
 		// Create the dataSpace for this dataSet.
         try {
+        	long[] maxDimensions = null;
+        	if (m_extendible) {
+        		maxDimensions = m_dimensions.clone();
+        		maxDimensions[0] = HDF5Constants.H5S_UNLIMITED;
+        	}
+        	
             m_dataspaceId = m_dimensions.length == 0 ? H5.H5Screate(HDF5Constants.H5S_SCALAR)
-        			: H5.H5Screate_simple(m_dimensions.length, m_dimensions, null);
+        			: H5.H5Screate_simple(m_dimensions.length, m_dimensions, maxDimensions);
             
         } catch (HDF5Exception | NullPointerException hnpe) {
             throw new IOException("DataSpace could not be created: " + hnpe.getMessage(), hnpe);
@@ -772,14 +1885,22 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	}
 	
 	/**
+	 * Creates the properties for storing this dataSet. The dataSet is stored
+	 * in chunks if it is compressed, filtered, extendible or any chunk size
+	 * is given.
+	 * 
 	 * @param compressionLevel the compression level (from 0 to 9) for this dataSet
-	 * @param chunkRowSize the size of the row chunks to store this dataSet
-	 * 	(may not be larger than the number of rows or 2^32-1,
-	 * 	may not be 0 if compression is used)
+	 * @param filters the filters to apply to the chunks (filters which
+	 * 	cannot be applied to the type of this dataSet are skipped)
+	 * @param chunkDimensions the sizes of the chunks to store this dataSet
+	 * 	in each dimension where 0 (or a missing size) means that the size is
+	 * 	chosen automatically (may be {@code null})
 	 * @return id of the list containing those properties
 	 * @throws IOException if an error occurred in the hdf library
-	 * @throws IllegalArgumentException if {@code chunkRowSize} is 0 although
-	 * 	compression is used
+	 * @throws IllegalArgumentException if this dataSet is scalar although
+	 * 	it should be stored in chunks or if the szip filter should be
+	 * 	combined with the deflate compression
+	 * @see Hdf5DataSet#computeChunkDimensions(long[])
 	 * @see <a href=
 	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetDeflate"
 	 *	>H5.H5Pset_deflate(long, int)</a>
@@ -787,35 +1908,91 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetChunk"
 	 *	>H5.H5Pset_chunk(long, int, long[])</a>
 	 */
-	private long createCompression(int compressionLevel, long chunkRowSize) throws IOException, IllegalArgumentException {
+	private long createCompression(int compressionLevel, Hdf5Filter[] filters, long[] chunkDimensions) throws IOException, IllegalArgumentException {
 		long propertyListId = HDF5Constants.H5P_DEFAULT;
+		m_compressionLevel = 0;
+		m_chunkRowSize = 1;
+		m_chunkDimensions = null;
+		m_filters = new Hdf5Filter[0];
 		
-		if (compressionLevel > 0) {
-			if (chunkRowSize > 0) {
-				try {
-					propertyListId = H5.H5Pcreate(HDF5Constants.H5P_DATASET_CREATE);
-	                H5.H5Pset_layout(propertyListId, HDF5Constants.H5D_CHUNKED);
-	                
-					long[] chunks = new long[m_dimensions.length];
-					Arrays.fill(chunks, 1);
-					chunks[0] = chunkRowSize;
-	                H5.H5Pset_chunk(propertyListId, chunks.length, chunks);
-	                H5.H5Pset_deflate(propertyListId, compressionLevel);
-	                
-	    			m_compressionLevel = compressionLevel;
-	    			m_chunkRowSize = chunkRowSize;
-	    			
-				} catch (HDF5Exception | NullPointerException hlnpe) {
-		            throw new IOException("Compression could not be created: " + hlnpe.getMessage(), hlnpe);
-		        }
-			} else {
-				throw new IllegalArgumentException("chunkRowSize must be > 0 because of compressionLevel > 0");
+		HdfDataType hdfType = m_type.getHdfType().getType();
+		Hdf5Filter[] applicableFilters = filters == null ? new Hdf5Filter[0] : Arrays.stream(filters)
+				.filter(filter -> filter.isApplicable(hdfType)).distinct().sorted().toArray(Hdf5Filter[]::new);
+		
+		boolean chunksGiven = chunkDimensions != null && Arrays.stream(chunkDimensions).anyMatch(size -> size > 0);
+		if (compressionLevel > 0 || applicableFilters.length > 0 || m_extendible || chunksGiven) {
+			if (m_dimensions.length == 0) {
+				throw new IllegalArgumentException("Scalar dataSets cannot be stored in chunks");
 			}
+			if (compressionLevel > 0 && Arrays.asList(applicableFilters).contains(Hdf5Filter.SZIP)) {
+				throw new IllegalArgumentException("Filter \"" + Hdf5Filter.SZIP.getName()
+						+ "\" cannot be combined with a compression level above 0");
+			}
+			
+			try {
+				long[] chunks = computeChunkDimensions(chunkDimensions);
+				propertyListId = H5.H5Pcreate(HDF5Constants.H5P_DATASET_CREATE);
+                H5.H5Pset_layout(propertyListId, HDF5Constants.H5D_CHUNKED);
+                H5.H5Pset_chunk(propertyListId, chunks.length, chunks);
+                
+                boolean deflateAdded = compressionLevel <= 0;
+                for (Hdf5Filter filter : applicableFilters) {
+                	if (!deflateAdded && !filter.isBeforeDeflate()) {
+    	                H5.H5Pset_deflate(propertyListId, compressionLevel);
+    	                deflateAdded = true;
+                	}
+                	filter.addTo(propertyListId);
+                }
+                if (!deflateAdded) {
+	                H5.H5Pset_deflate(propertyListId, compressionLevel);
+                }
+                
+    			m_compressionLevel = compressionLevel;
+    			m_chunkRowSize = chunks[0];
+    			m_chunkDimensions = chunks;
+    			m_filters = applicableFilters;
+    			
+			} catch (HDF5Exception | NullPointerException hlnpe) {
+	            throw new IOException("Compression could not be created: " + hlnpe.getMessage(), hlnpe);
+	        }
 		}
 		
         return propertyListId;
 	}
 	
+	/**
+	 * Computes the sizes of the chunks for all dimensions of this dataSet.
+	 * Since the rows are read and written as a whole, the sizes which are
+	 * chosen automatically include as many values of the last dimensions as
+	 * fit into {@linkplain Hdf5DataSet#DEFAULT_CHUNK_BYTE_SIZE} bytes, and the
+	 * number of rows fills up the rest of these bytes.
+	 * 
+	 * @param chunkDimensions the sizes of the chunks in each dimension where
+	 * 	0 (or a missing size) means that the size is chosen automatically
+	 * 	(may be {@code null})
+	 * @return the sizes of the chunks which fit to the dimensions of this
+	 * 	dataSet
+	 */
+	private long[] computeChunkDimensions(long[] chunkDimensions) {
+		long[] chunks = new long[m_dimensions.length];
+		long chunkByteSize = getElementByteSize();
+		
+		for (int i = chunks.length - 1; i >= 0; i--) {
+			long size = chunkDimensions != null && i < chunkDimensions.length ? chunkDimensions[i] : 0;
+			if (size <= 0) {
+				size = DEFAULT_CHUNK_BYTE_SIZE / chunkByteSize;
+			}
+			// only the number of rows may be unlimited
+			if (i > 0 || !m_extendible) {
+				size = Math.min(size, m_dimensions[i]);
+			}
+			chunks[i] = Math.max(Math.min(size, MAX_CHUNK_BYTE_SIZE / chunkByteSize), 1);
+			chunkByteSize *= chunks[i];
+		}
+		
+		return chunks;
+	}
+	
 	/**
 	 * Loads the data space and updates the dimensions array.
 	 * 
@@ -827,9 +2004,11 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 			
 			int ndims = H5.H5Sget_simple_extent_ndims(m_dataspaceId);
 			long[] dimensions = new long[ndims];
-			H5.H5Sget_simple_extent_dims(m_dataspaceId, dimensions, null);
+			long[] maxDimensions = new long[ndims];
+			H5.H5Sget_simple_extent_dims(m_dataspaceId, dimensions, maxDimensions);
 			
 			m_dimensions = dimensions;
+			m_extendible = ndims > 0 && maxDimensions[0] == HDF5Constants.H5S_UNLIMITED;
 			
 		} catch (HDF5LibraryException | NullPointerException hlnpe) {
             throw new IOException("Dimensions could not be loaded: " + hlnpe.getMessage(), hlnpe);
@@ -847,16 +2026,33 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 			int layoutType = H5.H5Pget_layout(propertyListId);
 	        m_compressionLevel = 0;
 	    	m_chunkRowSize = 1;
+	    	m_chunkDimensions = null;
+	    	m_filters = new Hdf5Filter[0];
 			
 			if (layoutType == HDF5Constants.H5D_CHUNKED) {
-				int[] values = new int[1];
-	            H5.H5Pget_filter(propertyListId, 0, new int[1], new long[] { 1 }, values, 1, new String[1], new int[1]);
-	            m_compressionLevel = values[0];
+				// chunks may also be stored without any filter
+				List<Hdf5Filter> filters = new ArrayList<>();
+				int numberOfFilters = H5.H5Pget_nfilters(propertyListId);
+				for (int i = 0; i < numberOfFilters; i++) {
+					int[] values = new int[8];
+		            int filterId = H5.H5Pget_filter(propertyListId, i, new int[1], new long[] { values.length }, values, 256, new String[1], new int[1]);
+		            if (filterId == HDF5Constants.H5Z_FILTER_DEFLATE) {
+			            m_compressionLevel = values[0];
+			            
+		            } else if (Hdf5Filter.get(filterId) != null) {
+		            	filters.add(Hdf5Filter.get(filterId));
+		            	
+		            } else {
+		            	NodeLogger.getLogger(getClass()).debug("DataSet \"" + getPathFromFileWithName() + "\" uses the unknown filter " + filterId);
+		            }
+				}
+				m_filters = filters.toArray(new Hdf5Filter[filters.size()]);
 	            
-	            if (m_compressionLevel > 0) {
+	            if (m_dimensions.length > 0) {
 	    			long[] chunks = new long[m_dimensions.length];
 	    	        H5.H5Pget_chunk(propertyListId, chunks.length, chunks);
 	    	        m_chunkRowSize = chunks[0];
+	    	        m_chunkDimensions = chunks;
 	    	    }
 			}
 			
@@ -867,6 +2063,50 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
         }
 	}
 	
+	/**
+	 * Loads the dimensions and the chunks of this dataSet from the metadata
+	 * index of the file before the dataSet is opened for the first time.
+	 * 
+	 * @return if the dimensions and the chunks could be loaded
+	 * @see Hdf5ObjectInfo#findIndexed(Hdf5TreeElement)
+	 */
+	private boolean loadIndexedStorage() {
+		Hdf5ObjectInfo info = Hdf5ObjectInfo.findIndexed(this);
+		if (info != null && info.isDataSet() && info.getDimensions() != null) {
+			m_dimensions = info.getDimensions();
+			m_chunkDimensions = info.getChunkDimensions();
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Creates the access property list with the cache for the chunks of
+	 * this dataSet. The cache set for this dataSet is used if it exists.
+	 * Otherwise, if no cache is set for the file, the cache is sized such
+	 * that one row of chunks fits into it.
+	 * 
+	 * @return the id of the property list or {@code H5P_DEFAULT} if the
+	 * 	default cache (of the file) should be used
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 * @see Hdf5ChunkCache#forChunks(long[], long[], long)
+	 */
+	private long createAccessPropertyList() throws HDF5LibraryException {
+		Hdf5ChunkCache chunkCache = m_chunkCache;
+		if (chunkCache == null && m_chunkDimensions != null) {
+			Hdf5TreeElement file = getParent();
+			while (!file.isFile()) {
+				file = file.getParent();
+			}
+			if (((Hdf5File) file).getChunkCache() == null) {
+				chunkCache = Hdf5ChunkCache.forChunks(m_dimensions, m_chunkDimensions, getElementByteSize());
+			}
+		}
+		
+		return chunkCache != null ? chunkCache.createDataSetAccessPropertyList() : HDF5Constants.H5P_DEFAULT;
+	}
+	
 	@Override
 	public boolean open() throws IOException {
 		try {
@@ -879,11 +2119,38 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 				
 				checkExists();
 				
-				setElementId(H5.H5Dopen(getParent().getElementId(), getName(),
-						HDF5Constants.H5P_DEFAULT));
+				/*
+				 * the cache depends on the chunks, so they are taken from the last
+				 * time this dataSet has been opened or from the metadata index
+				 * such that the dataSet only needs to be opened once
+				 */
+				boolean storageKnown = m_dimensions != null || loadIndexedStorage();
+				long accessPropertyListId = storageKnown ? createAccessPropertyList() : HDF5Constants.H5P_DEFAULT;
+				try {
+					setElementId(H5.H5Dopen(getParent().getElementId(), getName(), accessPropertyListId));
+				} finally {
+					closePropertyList(accessPropertyListId, getName());
+				}
 				
 				loadDataspace();
 				loadCompression();
+				
+				// otherwise, the chunks are only known after opening, so the dataSet is opened again if it needs another cache
+				accessPropertyListId = storageKnown ? HDF5Constants.H5P_DEFAULT : createAccessPropertyList();
+				if (accessPropertyListId != HDF5Constants.H5P_DEFAULT) {
+					try {
+						H5.H5Sclose(m_dataspaceId);
+						m_dataspaceId = -1;
+						H5.H5Dclose(getElementId());
+						setElementId(-1);
+						
+						setElementId(H5.H5Dopen(getParent().getElementId(), getName(), accessPropertyListId));
+						loadDataspace();
+						
+					} finally {
+						closePropertyList(accessPropertyListId, getName());
+					}
+				}
 			}
 			
 			return true;
@@ -936,6 +2203,7 @@ public class Hdf5DataSet<Type> extends Hdf5TreeElement {
 	public String toString() {
 		return "{ name=" + getName() + ",pathFromFile=" + getPathFromFile() + ",open=" + isOpen()
 				+ ",dimensions=" + Arrays.toString(m_dimensions) + ",type=" + m_type
-				+ ",compressionLevel=" + m_compressionLevel + ",chunkRowSize=" + m_chunkRowSize + " }";
+				+ ",compressionLevel=" + m_compressionLevel + ",chunkRowSize=" + m_chunkRowSize
+				+ ",chunkDimensions=" + Arrays.toString(m_chunkDimensions) + ",filters=" + Arrays.toString(m_filters) + " }";
 	}
 }
@@ -0,0 +1,187 @@
+package org.knime.hdf5.lib;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * The settings how the hdf library accesses a file on the disk, i.e. the
+ * file driver and the sizes of the blocks which are read and written at
+ * once. Larger blocks turn many small reads (e.g. of the metadata) into
+ * few large ones which is especially faster for files on network drives.
+ *
+ * @see Hdf5File#openFile(String, int, Hdf5DriverProfile)
+ * @see Hdf5File#createFile(String, Hdf5DriverProfile)
+ */
+public class Hdf5DriverProfile {
+
+	/**
+	 * Enum for the file drivers of the hdf library.
+	 */
+	public static enum Driver {
+
+		/**
+		 * The default driver which uses the posix functions for reading and
+		 * writing.
+		 */
+		SEC2,
+
+		/**
+		 * The driver which uses the buffered stdio functions of C.
+		 */
+		STDIO,
+
+		/**
+		 * The driver which loads the whole file into the memory. Changes are
+		 * only written to the file when it is closed if the backing store is
+		 * used.
+		 */
+		CORE
+	}
+
+	/**
+	 * The number of bytes by which the memory of the core driver is increased
+	 * at once by default.
+	 */
+	public static final long DEFAULT_CORE_INCREMENT = 64L << 20;
+
+	private final Driver m_driver;
+
+	private final long m_coreIncrement;
+
+	private final boolean m_backingStore;
+
+	private final long m_metaBlockSize;
+
+	private final long m_sieveBufferSize;
+
+	private final long m_alignmentThreshold;
+
+	private final long m_alignment;
+
+	/**
+	 * @param driver the file driver
+	 * @param coreIncrement the number of bytes by which the memory of the
+	 * 	core driver is increased at once (only for {@code CORE})
+	 * @param backingStore if the changes should be written to the file when
+	 * 	it is closed (only for {@code CORE})
+	 * @param metaBlockSize the minimum number of bytes of the blocks for the
+	 * 	metadata (0 for the default)
+	 * @param sieveBufferSize the maximum number of bytes of the buffer for
+	 * 	reading and writing contiguous raw data (0 for the default)
+	 * @param alignmentThreshold the minimum number of bytes of objects which
+	 * 	are aligned (only used if {@code alignment} is larger than 1)
+	 * @param alignment the number of bytes to which the addresses of the
+	 * 	objects are aligned (0 or 1 for no alignment)
+	 * @throws IllegalArgumentException if any size is negative
+	 */
+	public Hdf5DriverProfile(Driver driver, long coreIncrement, boolean backingStore, long metaBlockSize,
+			long sieveBufferSize, long alignmentThreshold, long alignment) throws IllegalArgumentException {
+		if (coreIncrement < 0 || metaBlockSize < 0 || sieveBufferSize < 0 || alignmentThreshold < 0 || alignment < 0) {
+			throw new IllegalArgumentException("Sizes of the driver profile cannot be negative");
+		}
+		m_driver = driver;
+		m_coreIncrement = coreIncrement > 0 ? coreIncrement : DEFAULT_CORE_INCREMENT;
+		m_backingStore = backingStore;
+		m_metaBlockSize = metaBlockSize;
+		m_sieveBufferSize = sieveBufferSize;
+		m_alignmentThreshold = alignmentThreshold;
+		m_alignment = alignment;
+	}
+
+	/**
+	 * @param driver the file driver
+	 * @return the profile with the driver and the default sizes
+	 */
+	public static Hdf5DriverProfile forDriver(Driver driver) {
+		return new Hdf5DriverProfile(driver, DEFAULT_CORE_INCREMENT, true, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Returns the profile for loading the whole file into the memory. This
+	 * fits for small and medium files which are read completely.
+	 *
+	 * @param backingStore if the changes should be written to the file when
+	 * 	it is closed
+	 * @return the profile for the core driver
+	 */
+	public static Hdf5DriverProfile inMemory(boolean backingStore) {
+		return new Hdf5DriverProfile(Driver.CORE, DEFAULT_CORE_INCREMENT, backingStore, 0, 0, 0, 0);
+	}
+
+	public Driver getDriver() {
+		return m_driver;
+	}
+
+	public long getCoreIncrement() {
+		return m_coreIncrement;
+	}
+
+	public boolean usesBackingStore() {
+		return m_backingStore;
+	}
+
+	public long getMetaBlockSize() {
+		return m_metaBlockSize;
+	}
+
+	public long getSieveBufferSize() {
+		return m_sieveBufferSize;
+	}
+
+	public long getAlignmentThreshold() {
+		return m_alignmentThreshold;
+	}
+
+	public long getAlignment() {
+		return m_alignment;
+	}
+
+	/**
+	 * Sets the driver and the sizes of this profile for a file.
+	 *
+	 * @param fileAccessPropertyListId the id of the file access property list
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetFaplCore"
+	 *	>H5.H5Pset_fapl_core(long, long, boolean)</a>
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetMetaBlockSize"
+	 *	>H5.H5Pset_meta_block_size(long, long)</a>
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetSieveBufSize"
+	 *	>H5.H5Pset_sieve_buf_size(long, long)</a>
+	 * @see <a href=
+	 *	"https://support.hdfgroup.org/HDF5/doc/RM/RM_H5P.html#Property-SetAlignment"
+	 *	>H5.H5Pset_alignment(long, long, long)</a>
+	 */
+	void setForFile(long fileAccessPropertyListId) throws HDF5LibraryException {
+		switch (m_driver) {
+		case STDIO:
+			H5.H5Pset_fapl_stdio(fileAccessPropertyListId);
+			break;
+		case CORE:
+			H5.H5Pset_fapl_core(fileAccessPropertyListId, m_coreIncrement, m_backingStore);
+			break;
+		default:
+			H5.H5Pset_fapl_sec2(fileAccessPropertyListId);
+			break;
+		}
+
+		if (m_metaBlockSize > 0) {
+			H5.H5Pset_meta_block_size(fileAccessPropertyListId, m_metaBlockSize);
+		}
+		if (m_sieveBufferSize > 0) {
+			H5.H5Pset_sieve_buf_size(fileAccessPropertyListId, m_sieveBufferSize);
+		}
+		if (m_alignment > 1) {
+			H5.H5Pset_alignment(fileAccessPropertyListId, m_alignmentThreshold, m_alignment);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "{ driver=" + m_driver + ",coreIncrement=" + m_coreIncrement + ",backingStore=" + m_backingStore
+				+ ",metaBlockSize=" + m_metaBlockSize + ",sieveBufferSize=" + m_sieveBufferSize
+				+ ",alignmentThreshold=" + m_alignmentThreshold + ",alignment=" + m_alignment + " }";
+	}
+}
@@ -3,15 +3,21 @@ package org.knime.hdf5.lib;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -34,9 +40,17 @@ public class Hdf5File extends Hdf5Group {
 	public static final int READ_WRITE_ACCESS = 1;
 	
 	/**
-	 * Lists all loaded file instances.
+	 * Maps the canonical file paths to all loaded file instances. The
+	 * instances are referenced weakly such that the entries of files which
+	 * are closed and not used anymore are evicted.
 	 */
-	private static final List<Hdf5File> ALL_FILES = new ArrayList<>();
+	private static final Map<String, FileReference> ALL_FILES = new ConcurrentHashMap<>();
+	
+	/**
+	 * The queue of the references in {@code ALL_FILES} whose instances have
+	 * been garbage collected.
+	 */
+	private static final ReferenceQueue<Hdf5File> COLLECTED_FILES = new ReferenceQueue<>();
 
 	/**
 	 * Manages the locks for opening/creating/deleting files on the machine.
@@ -48,30 +62,145 @@ public class Hdf5File extends Hdf5Group {
 	private static final Lock GLOBAL_W = GLOBAL_RWL.writeLock();
 	
 	private final String m_filePath;
+	
+	/**
+	 * The key of this file in {@code ALL_FILES}.
+	 */
+	private final String m_canonicalPath;
 
 	/**
-	 * Manages the locks for reading/writing this file.
+	 * The monitor for the access to this file. Any number of threads and
+	 * sessions may read this file at the same time, but only one thread may
+	 * write it. Only the writing thread is tracked such that the read access
+	 * is not bound to the threads.
+	 */
+	private final Object m_accessMonitor = new Object();
+	
+	/**
+	 * The thread which has write access to this file or {@code null} if no
+	 * thread has.
+	 */
+	private Thread m_writer;
+	
+	private int m_writeHolds;
+	
+	private int m_readHolds;
+	
+	/**
+	 * The number of threads which wait for the write access.
+	 */
+	private final AtomicInteger m_writeRequests = new AtomicInteger();
+	
+	private volatile int m_access = NOT_ACCESSED;
+	
+	/**
+	 * The version of the metadata of this file which is increased whenever
+	 * the metadata may have been changed, i.e. when a thread acquires or
+	 * releases the write access or when the file is opened in the hdf library.
 	 */
-	private final ReentrantReadWriteLock m_rwl = new ReentrantReadWriteLock(true);
+	private final AtomicLong m_metadataVersion = new AtomicLong();
 	
-	private final Lock m_r = m_rwl.readLock();
+	/**
+	 * The number of read sessions which have opened this file.
+	 * 
+	 * @see Hdf5File#openReadSession()
+	 */
+	private volatile int m_sessions;
 	
-	private final Lock m_w = m_rwl.writeLock();
+	/**
+	 * The default cache for the chunks of all dataSets in this file or
+	 * {@code null} if the cache should be chosen for each dataSet.
+	 */
+	private Hdf5ChunkCache m_chunkCache;
 	
-	private int m_access = NOT_ACCESSED;
+	/**
+	 * The driver and block sizes with which this file is accessed or
+	 * {@code null} if the defaults of the hdf library should be used.
+	 */
+	private Hdf5DriverProfile m_driverProfile;
 	
 	/**
 	 * Lists all threads that have access to this file and maps them to the
 	 * number how many times they have opened this file.
 	 */
-	private Map<Thread, Integer> m_accessors = new HashMap<>();
+	private final Map<Thread, Integer> m_accessors = new ConcurrentHashMap<>();
 	
-	private Hdf5File(String filePath) throws HDF5LibraryException, NullPointerException,
+	private Hdf5File(String filePath, String canonicalPath) throws HDF5LibraryException, NullPointerException,
 			IllegalArgumentException {
 		super(filePath.substring(filePath.lastIndexOf(File.separator) + 1));
-		m_filePath = filePath;
+		m_filePath = new File(filePath).getAbsolutePath();
+		m_canonicalPath = canonicalPath;
+	}
+	
+	/**
+	 * The weak reference to a loaded file instance which knows its key in
+	 * {@code ALL_FILES} such that it can be evicted.
+	 */
+	private static class FileReference extends WeakReference<Hdf5File> {
+		
+		private final String m_key;
+		
+		private FileReference(Hdf5File file) {
+			super(file, COLLECTED_FILES);
+			m_key = file.m_canonicalPath;
+		}
+	}
+	
+	/**
+	 * @param filePath the file path
+	 * @return the canonical file path or the absolute file path if the
+	 * 	canonical one cannot be resolved
+	 */
+	static String getCanonicalPath(String filePath) {
+		File file = new File(filePath);
+		try {
+			return file.getCanonicalPath();
+		} catch (IOException | SecurityException iose) {
+			return file.getAbsolutePath();
+		}
+	}
+	
+	/**
+	 * Removes the entries of the file instances which have been garbage
+	 * collected from {@code ALL_FILES}.
+	 */
+	private static void evictCollectedFiles() {
+		Reference<? extends Hdf5File> ref;
+		while ((ref = COLLECTED_FILES.poll()) != null) {
+			ALL_FILES.remove(((FileReference) ref).m_key, ref);
+		}
+	}
+	
+	/**
+	 * @param canonicalPath the canonical file path
+	 * @return the loaded file instance or {@code null} if none is loaded
+	 */
+	private static Hdf5File getLoadedFile(String canonicalPath) {
+		FileReference ref = ALL_FILES.get(canonicalPath);
+		return ref != null ? ref.get() : null;
+	}
+	
+	/**
+	 * Adds the file to the loaded file instances if no other instance for
+	 * the same file path is loaded.
+	 * 
+	 * @param file the new file instance
+	 * @return the loaded file instance for the file path of {@code file}
+	 */
+	private static Hdf5File registerFile(Hdf5File file) {
+		evictCollectedFiles();
+		
+		Hdf5File[] loadedFile = new Hdf5File[1];
+		ALL_FILES.compute(file.m_canonicalPath, (key, ref) -> {
+			loadedFile[0] = ref != null ? ref.get() : null;
+			if (loadedFile[0] == null) {
+				loadedFile[0] = file;
+				return new FileReference(file);
+			}
+			return ref;
+		});
 		
-		ALL_FILES.add(this);
+		return loadedFile[0];
 	}
 	
 	/**
@@ -82,6 +211,21 @@ public class Hdf5File extends Hdf5Group {
 	 * @throws IOException if the file already exists or an internal error occurred
 	 */
 	public static Hdf5File createFile(String filePath) throws IOException {
+		return createFile(filePath, null);
+	}
+	
+	/**
+	 * Creates a new file with the input file path which is accessed with the
+	 * driver profile.
+	 * The name of the file may not contain '/'.
+	 * 
+	 * @param filePath the path to the file including its name
+	 * @param driverProfile the driver profile or {@code null} for the
+	 * 	defaults of the hdf library
+	 * @throws IOException if the file already exists or an internal error occurred
+	 * @see Hdf5DriverProfile
+	 */
+	public static Hdf5File createFile(String filePath, Hdf5DriverProfile driverProfile) throws IOException {
 		try {
 			GLOBAL_W.lock();
 		
@@ -89,9 +233,15 @@ public class Hdf5File extends Hdf5Group {
 				throw new IOException("File does already exist");
 			}
 			
-			Hdf5File file = new Hdf5File(filePath);
+			String canonicalPath = getCanonicalPath(filePath);
+			Hdf5File file = new Hdf5File(filePath, canonicalPath);
+			file.setDriverProfile(driverProfile);
 			file.create();
 			
+			// replace the instance of a previously deleted file with the same path
+			evictCollectedFiles();
+			ALL_FILES.put(canonicalPath, new FileReference(file));
+			
 			return file;
 			
 		} catch (HDF5LibraryException | IOException | NullPointerException | IllegalArgumentException hlionpiae) {
@@ -112,12 +262,30 @@ public class Hdf5File extends Hdf5Group {
 	 * <br>
 	 * If the file is open in different threads, it may happen that this
 	 * method is locked until the other threads have closed the file.
+	 * Opening different files is not locked.
 	 * 
 	 * @param filePath the path to the file including its name
 	 * @param access {@code READ_ONLY_ACCESS} or {@code READ_WRITE_ACCESS}
 	 * @throws IOException if the file does not exist or an internal error occurred
 	 */
-	public synchronized static Hdf5File openFile(String filePath, int access) throws IOException {
+	public static Hdf5File openFile(String filePath, int access) throws IOException {
+		return openFile(filePath, access, null);
+	}
+	
+	/**
+	 * Opens the file with the input file path with either READ or WRITE access
+	 * like {@linkplain Hdf5File#openFile(String, int)} where the file is
+	 * accessed with the driver profile. The driver profile is only used if
+	 * the file is not already open in any thread.
+	 * 
+	 * @param filePath the path to the file including its name
+	 * @param access {@code READ_ONLY_ACCESS} or {@code READ_WRITE_ACCESS}
+	 * @param driverProfile the driver profile or {@code null} for the
+	 * 	defaults of the hdf library
+	 * @throws IOException if the file does not exist or an internal error occurred
+	 * @see Hdf5DriverProfile
+	 */
+	public static Hdf5File openFile(String filePath, int access, Hdf5DriverProfile driverProfile) throws IOException {
 		try {
 			GLOBAL_R.lock();
 		
@@ -125,20 +293,19 @@ public class Hdf5File extends Hdf5Group {
 				throw new IOException("File does not exist");
 			}
 			
-			Hdf5File file = null;
 			// check if the file has already been loaded
-			for (Hdf5File f : ALL_FILES) {
-				if (f.getFilePath().equals(filePath)) {
-					file = f;
-					file.open(access);
-					break;
-				}
-			}
-	
+			String canonicalPath = getCanonicalPath(filePath);
+			Hdf5File file = getLoadedFile(canonicalPath);
 			if (file == null) {
-				// load the file and add it to the list of loaded files
-				file = new Hdf5File(filePath);
-				file.open(access);
+				// load the file and add it to the loaded files
+				file = registerFile(new Hdf5File(filePath, canonicalPath));
+			}
+			
+			Hdf5FilePool.validate(file);
+			file.open(access, driverProfile);
+			if (file.m_access == READ_ONLY_ACCESS) {
+				// keep the file open for the next time it is opened
+				Hdf5FilePool.retain(file);
 			}
 			
 			return file;
@@ -154,19 +321,68 @@ public class Hdf5File extends Hdf5Group {
 	/**
 	 * Returns the property list which sets the close degree to strong, i.e.
 	 * it ensures that all elements in the file are also closed after
-	 * closing the file.
+	 * closing the file. It also sets the default cache for the chunks of
+	 * the dataSets and the driver profile if they are set for this file.
 	 * 
-	 * @return the property list that specifies how the file will be closed
+	 * @return the property list that specifies how the file will be accessed
 	 * @throws HDF5LibraryException if an error occurred in the hdf library
 	 * @see Hdf5File#FILE_CLOSE_DEGREE
 	 */
-	private static long getAccessPropertyList() throws HDF5LibraryException {
+	private long getAccessPropertyList() throws HDF5LibraryException {
 		long pid = H5.H5Pcreate(HDF5Constants.H5P_FILE_ACCESS);
 		H5.H5Pset_fclose_degree(pid, HDF5Constants.H5F_CLOSE_STRONG);
+		if (m_chunkCache != null) {
+			m_chunkCache.setForFile(pid);
+		}
+		if (m_driverProfile != null) {
+			m_driverProfile.setForFile(pid);
+		}
 		
 		return pid;
 	}
 	
+	/**
+	 * @return the default cache for the chunks of all dataSets in this file
+	 * 	or {@code null} if the cache is chosen for each dataSet
+	 */
+	public Hdf5ChunkCache getChunkCache() {
+		return m_chunkCache;
+	}
+	
+	/**
+	 * Sets the default cache for the chunks of all dataSets in this file.
+	 * The cache is used when this file is opened the next time (if it is not
+	 * open in any thread). A cache set for a single dataSet is still used
+	 * for that dataSet.
+	 * 
+	 * @param chunkCache the cache or {@code null} to choose the cache for
+	 * 	each dataSet such that one row of its chunks fits into it
+	 * @see Hdf5DataSet#setChunkCache(Hdf5ChunkCache)
+	 */
+	public void setChunkCache(Hdf5ChunkCache chunkCache) {
+		m_chunkCache = chunkCache;
+	}
+	
+	/**
+	 * @return the driver profile with which this file is accessed or
+	 * 	{@code null} if the defaults of the hdf library are used
+	 */
+	public Hdf5DriverProfile getDriverProfile() {
+		return m_driverProfile;
+	}
+	
+	/**
+	 * Sets the driver profile with which this file is accessed. The profile
+	 * is used when this file is opened the next time (if it is not open in
+	 * any thread).
+	 * 
+	 * @param driverProfile the driver profile or {@code null} for the
+	 * 	defaults of the hdf library
+	 */
+	public void setDriverProfile(Hdf5DriverProfile driverProfile) {
+		m_driverProfile = driverProfile;
+	}
+	
 	/**
 	 * @param filePath the file path
 	 * @return if a file with the file path exists and has an hdf extension (.h5, .hdf5)
@@ -213,13 +429,13 @@ public class Hdf5File extends Hdf5Group {
 			if (existsHdf5File(filePath)) {
 				Hdf5File file = Hdf5File.openFile(filePath, READ_WRITE_ACCESS);
 				try {
-					file.m_w.lock();
+					file.lockAccess(READ_WRITE_ACCESS);
 					file.close();
 					if (file.isOpenAnywhere()) {
 						throw new IOException("File is opened somewhere else.");
 					}
 				} finally {
-					file.m_w.unlock();
+					file.unlockAccess(READ_WRITE_ACCESS);
 				}
 			} else if (!isHdf5FileCreatable(filePath, false)) {
 				throw new IOException("File cannot be created");
@@ -251,7 +467,7 @@ public class Hdf5File extends Hdf5Group {
 	 * @return a file path with a constructed name from the input such that it
 	 * 	is not contained in the parent directory
 	 * @throws IOException if no parent directory exists for the file path
-	 * @see Hdf5TreeElement#getUniqueName(List, String)
+	 * @see Hdf5TreeElement#getUniqueName(Collection, String)
 	 */
 	public static String getUniqueFilePath(String filePath) throws IOException {
 		File directory = new File(Hdf5File.getDirectoryPath(filePath));
@@ -260,7 +476,7 @@ public class Hdf5File extends Hdf5Group {
 			String fileExtension = fileName.lastIndexOf(".") >= 0 ? fileName.substring(fileName.lastIndexOf(".")) : "";
 			String fileNameWithoutExtension = fileName.substring(0, fileName.length() - fileExtension.length());
 			
-			List<String> usedNames = new ArrayList<>();
+			Set<String> usedNames = new HashSet<>();
 			for (File file : directory.listFiles()) {
 				if (file.isFile()) {
 					String name = file.getName();
@@ -281,12 +497,15 @@ public class Hdf5File extends Hdf5Group {
 	 * @return the absolute file path of this file
 	 */
 	public String getFilePath() {
-		return new File(m_filePath).getAbsolutePath();
+		return m_filePath;
 	}
 	
+	/**
+	 * @return if this file is open in this thread or in any read session
+	 */
 	@Override
 	protected boolean isOpen() {
-		return isOpenInThisThread();
+		return m_sessions > 0 || isOpenInThisThread();
 	}
 
 	@Override
@@ -295,47 +514,174 @@ public class Hdf5File extends Hdf5Group {
 	}
 	
 	private boolean isOpenInThisThread() {
-		synchronized (m_accessors) {
-			return m_accessors.containsKey(Thread.currentThread());
-		}
+		return m_accessors.containsKey(Thread.currentThread());
 	}
 
+	/**
+	 * Updates the number of accesses of this thread to the file. Only this
+	 * thread changes its entry in the accessors.
+	 * 
+	 * @param open if the number is increased or decreased by 1
+	 */
 	private void setOpenInThisThread(boolean open) {
-		synchronized (m_accessors) {
-			Thread curThread = Thread.currentThread();
-			if (!isOpenInThisThread() && open) {
-				// add the thread as new accessor
-				m_accessors.put(curThread, 1);
-			} else if (isOpenInThisThread()) {
-				// update the number of accesses to the file
-				m_accessors.put(curThread, m_accessors.get(curThread) + (open ? 1 : -1));
-			}
-			
+		Thread curThread = Thread.currentThread();
+		if (open || isOpenInThisThread()) {
 			/*
 			 * delete the thread from the accessor list if it does not access
 			 * the file anymore
 			 */
-			if (m_accessors.get(curThread) == 0) {
-				m_accessors.remove(curThread);
-			}
+			m_accessors.compute(curThread, (thread, count) -> {
+				int newCount = (count != null ? count : 0) + (open ? 1 : -1);
+				return newCount > 0 ? newCount : null;
+			});
 		}
 	}
 	
 	private boolean isOpenExactlyOnceInThisThread() {
-		synchronized (m_accessors) {
-			return isOpenInThisThread() && m_accessors.get(Thread.currentThread()) == 1;
-		}
+		Integer count = m_accessors.get(Thread.currentThread());
+		return count != null && count == 1;
 	}
 	
 	/**
 	 * @return if this file is open in this thread, but not in any other thread
+	 * 	or read session
 	 */
 	private boolean isOpenOnlyInThisThread() {
-		return isOpenInThisThread() && m_accessors.size() == 1;
+		return m_sessions == 0 && isOpenInThisThread() && m_accessors.size() == 1;
 	}
 	
 	private boolean isOpenInAnyThread() {
-		return !m_accessors.isEmpty();
+		return m_sessions > 0 || !m_accessors.isEmpty();
+	}
+	
+	/**
+	 * Acquires the read or write access to this file. The write access is
+	 * reentrant for the writing thread and that thread may also acquire the
+	 * read access. Waits until the access is granted.
+	 * <br>
+	 * <br>
+	 * New readers also wait while a thread waits for the write access such
+	 * that the writer is not starved by a steady stream of readers. Only the
+	 * writing thread and threads which already have this file open are let in
+	 * since the waiting writer in turn waits for their read access.
+	 * 
+	 * @param access {@code READ_ONLY_ACCESS} or {@code READ_WRITE_ACCESS}
+	 */
+	private void lockAccess(int access) {
+		Thread curThread = Thread.currentThread();
+		boolean interrupted = false;
+		synchronized (m_accessMonitor) {
+			boolean reentrant = m_writer == curThread || isOpenInThisThread();
+			while (m_writer != null && m_writer != curThread
+					|| access == READ_WRITE_ACCESS && m_writer == null && m_readHolds > 0
+					|| access == READ_ONLY_ACCESS && !reentrant && m_writeRequests.get() > 0) {
+				try {
+					m_accessMonitor.wait();
+				} catch (InterruptedException ie) {
+					interrupted = true;
+				}
+			}
+			
+			if (access == READ_WRITE_ACCESS) {
+				if (m_writer == null) {
+					m_metadataVersion.incrementAndGet();
+				}
+				m_writer = curThread;
+				m_writeHolds++;
+			} else {
+				m_readHolds++;
+			}
+		}
+		
+		if (interrupted) {
+			curThread.interrupt();
+		}
+	}
+	
+	/**
+	 * Acquires the write access to this file after closing it in the
+	 * {@linkplain Hdf5FilePool} since the pool would block the write access.
+	 */
+	private void requestWriteAccess() {
+		m_writeRequests.incrementAndGet();
+		try {
+			Hdf5FilePool.invalidate(this);
+			Hdf5MetadataIndex.invalidate(this);
+			lockAccess(READ_WRITE_ACCESS);
+			
+		} finally {
+			// wake up the readers which have waited for this request
+			synchronized (m_accessMonitor) {
+				m_writeRequests.decrementAndGet();
+				m_accessMonitor.notifyAll();
+			}
+		}
+	}
+	
+	/**
+	 * @return {@code READ_ONLY_ACCESS}, {@code READ_WRITE_ACCESS} or
+	 * 	{@code NOT_ACCESSED}
+	 */
+	int getAccess() {
+		return m_access;
+	}
+	
+	/**
+	 * @return the canonical path of this file which identifies it
+	 */
+	String getCanonicalPath() {
+		return m_canonicalPath;
+	}
+	
+	/**
+	 * Returns the version of the metadata of this file. Instances of the
+	 * objects in this file (e.g. the data types of dataSets) which have been
+	 * loaded in the same version do not need to be validated again.
+	 * 
+	 * @return the version of the metadata or -1 if a thread currently holds
+	 * 	the write access such that the metadata may change anytime
+	 */
+	long getMetadataVersion() {
+		synchronized (m_accessMonitor) {
+			return m_writer != null ? -1 : m_metadataVersion.get();
+		}
+	}
+	
+	/**
+	 * @return if any thread waits for the write access to this file
+	 */
+	boolean isWriteRequested() {
+		return m_writeRequests.get() > 0;
+	}
+	
+	/**
+	 * Releases the read or write access to this file. The read access may
+	 * be released by a different thread than the one which acquired it.
+	 * 
+	 * @param access {@code READ_ONLY_ACCESS} or {@code READ_WRITE_ACCESS}
+	 * @see Hdf5File#lockAccess(int)
+	 */
+	private void unlockAccess(int access) {
+		synchronized (m_accessMonitor) {
+			if (access == READ_WRITE_ACCESS) {
+				if (m_writer == Thread.currentThread() && --m_writeHolds == 0) {
+					m_writer = null;
+					m_metadataVersion.incrementAndGet();
+				}
+			} else if (m_readHolds > 0) {
+				m_readHolds--;
+			}
+			m_accessMonitor.notifyAll();
+		}
+	}
+	
+	/**
+	 * @return the access which this thread has acquired for this file
+	 */
+	private int getAccessOfThisThread() {
+		synchronized (m_accessMonitor) {
+			return m_writer == Thread.currentThread() ? READ_WRITE_ACCESS : READ_ONLY_ACCESS;
+		}
 	}
 	
 	/**
@@ -413,12 +759,23 @@ public class Hdf5File extends Hdf5Group {
 	 */
 	private void create() throws IOException {
 		try {
-			m_w.lock();
+			lockAccess(READ_WRITE_ACCESS);
 			
 			try {
 				lockWriteOpen();
-				setElementId(H5.H5Fcreate(getFilePath(), HDF5Constants.H5F_ACC_EXCL,
-						HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT));
+				long pid = HDF5Constants.H5P_DEFAULT;
+				if (m_driverProfile != null) {
+					pid = H5.H5Pcreate(HDF5Constants.H5P_FILE_ACCESS);
+					m_driverProfile.setForFile(pid);
+				}
+				try {
+					setElementId(H5.H5Fcreate(getFilePath(), HDF5Constants.H5F_ACC_EXCL,
+							HDF5Constants.H5P_DEFAULT, pid));
+				} finally {
+					if (pid != HDF5Constants.H5P_DEFAULT) {
+						H5.H5Pclose(pid);
+					}
+				}
 				m_access = READ_WRITE_ACCESS;
 				setOpenInThisThread(true);
 				
@@ -426,7 +783,7 @@ public class Hdf5File extends Hdf5Group {
 				unlockWriteOpen();
 			}
         } catch (HDF5LibraryException | NullPointerException hlnpe) {
-            m_w.unlock();
+            unlockAccess(READ_WRITE_ACCESS);
 
 			throw new IOException("The file \"" + getFilePath() + "\" cannot be created : " + hlnpe.getMessage(), hlnpe);
         }
@@ -503,7 +860,7 @@ public class Hdf5File extends Hdf5Group {
 		
 		boolean success = file.delete();
 		if (success) {
-			ALL_FILES.remove(this);
+			ALL_FILES.computeIfPresent(m_canonicalPath, (key, ref) -> ref.get() == this ? null : ref);
 		}
 		
 		GLOBAL_W.unlock();
@@ -522,7 +879,7 @@ public class Hdf5File extends Hdf5Group {
         String opened = "";
 		
         try {
-        	if (isOpenInThisThread()) {
+        	if (isOpen()) {
         		count = H5.H5Fget_obj_count(getElementId(), HDF5Constants.H5F_OBJ_ALL);
         		
 			} else {
@@ -589,19 +946,31 @@ public class Hdf5File extends Hdf5Group {
 	 * @throws IOException if this file does not exist or an internal error occurred
 	 */
 	public void open(int access) throws IOException {
+		open(access, m_driverProfile);
+	}
+	
+	/**
+	 * Opens this file like {@linkplain Hdf5File#open(int)} where the driver
+	 * profile is set before if this file is not open in any thread.
+	 * 
+	 * @param access {@code READ_ONLY_ACCESS} or {@code READ_WRITE_ACCESS}
+	 * @param driverProfile the driver profile or {@code null} for the
+	 * 	defaults of the hdf library
+	 * @throws IOException if this file does not exist or an internal error occurred
+	 */
+	private void open(int access, Hdf5DriverProfile driverProfile) throws IOException {
 		try {
 			// acquire a read or write lock if this file is not open in this thread
 			if (!isOpenInThisThread()) {
-    			long pid = Hdf5File.getAccessPropertyList();
-
 				if (access == READ_ONLY_ACCESS) {
-					m_r.lock();
+					lockAccess(READ_ONLY_ACCESS);
 					
 					try {
 						lockWriteOpen();
 						// open this file only if this instance is not already open
 						if (!isOpenInAnyThread()) {
-							setElementId(H5.H5Fopen(getFilePath(), HDF5Constants.H5F_ACC_RDONLY, pid));
+							m_driverProfile = driverProfile;
+							openInHdf(HDF5Constants.H5F_ACC_RDONLY);
 						}
 						m_access = access;
 						setOpenInThisThread(true);
@@ -610,13 +979,14 @@ public class Hdf5File extends Hdf5Group {
 						unlockWriteOpen();
 					}
 				} else if (access == READ_WRITE_ACCESS) {
-					m_w.lock();
+					requestWriteAccess();
 
 					try {
 						lockWriteOpen();
 						// open this file only if this instance is not already open
 						if (!isOpenInAnyThread()) {
-							setElementId(H5.H5Fopen(getFilePath(), HDF5Constants.H5F_ACC_RDWR, pid));
+							m_driverProfile = driverProfile;
+							openInHdf(HDF5Constants.H5F_ACC_RDWR);
 						}
 						m_access = access;
 						setOpenInThisThread(true);
@@ -625,24 +995,37 @@ public class Hdf5File extends Hdf5Group {
 						unlockWriteOpen();
 					}
 				}
-				
-    			H5.H5Pclose(pid);
     			
 			} else {
 				setOpenInThisThread(true);
 			}
 		} catch (HDF5LibraryException | NullPointerException hlnpe) {
-			if (access == READ_ONLY_ACCESS) {
-				m_r.unlock();
-				
-			} else if (access == READ_WRITE_ACCESS) {
-				m_w.unlock();
+			if (access == READ_ONLY_ACCESS || access == READ_WRITE_ACCESS) {
+				unlockAccess(access);
 			}
 
 			throw new IOException("The file \"" + getFilePath() + "\" cannot be opened: " + hlnpe.getMessage(), hlnpe);
         }
 	}
 	
+	/**
+	 * Opens this file in the hdf library with the access property list of
+	 * this file.
+	 * 
+	 * @param hdfAccess {@code H5F_ACC_RDONLY} or {@code H5F_ACC_RDWR}
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 */
+	private void openInHdf(int hdfAccess) throws HDF5LibraryException, NullPointerException {
+		long pid = getAccessPropertyList();
+		try {
+			setElementId(H5.H5Fopen(getFilePath(), hdfAccess, pid));
+			m_metadataVersion.incrementAndGet();
+			
+		} finally {
+			H5.H5Pclose(pid);
+		}
+	}
+	
 	/**
 	 * Closes this file and all elements in this file if it is not accessed by
 	 * any threads anymore.
@@ -666,39 +1049,17 @@ public class Hdf5File extends Hdf5Group {
 			if (isOpenInThisThread()) {
 				if (isOpenExactlyOnceInThisThread()) {
 	    			if (isOpenOnlyInThisThread()) {
-	    	    		for (Hdf5DataSet<?> ds : getDataSets()) {
-	            			success &= ds.close();
-	            		}
-
-	    	    		for (Hdf5Attribute<?> attr : getAttributes()) {
-	            			success &= attr.close();
-	            		}
-	    	    		
-	    	    		for (Hdf5Group group : getGroups()) {
-	            			success &= group.close();
-	            		}
-			    		
-			    		NodeLogger.getLogger(getClass()).debug("Number of open objects in file \""
-			    				+ getName() + "\": " + whatisOpenInFile());
-			    		
-			    		success &= H5.H5Fclose(getElementId()) >= 0;
-			    		if (success) {
-			    			setElementId(-1);
-			    		}
+	    				success &= closeInHdf();
 		    		}
 	    			
 	    			if (success) {
 			    		setOpenInThisThread(false);
 			    		
 			    		/*
-			    		 * unlock the read or write lock since the file is not
+			    		 * release the read or write access since the file is not
 			    		 * open anymore in this thread
 			    		 */
-						if (m_access == READ_ONLY_ACCESS) {
-							m_r.unlock();
-						} else if (m_access == READ_WRITE_ACCESS) {
-							m_w.unlock();
-						}
+						unlockAccess(getAccessOfThisThread());
 						
 			    		if (!isOpenInAnyThread()) {
 			    			m_access = NOT_ACCESSED;
@@ -719,6 +1080,110 @@ public class Hdf5File extends Hdf5Group {
 		}
 	}
 	
+	/**
+	 * Closes all elements in this file and this file in the hdf library.
+	 * 
+	 * @return if closing was successful
+	 * @throws IOException if an element could not be closed
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 */
+	private boolean closeInHdf() throws IOException, HDF5LibraryException {
+		boolean success = true;
+		for (Hdf5DataSet<?> ds : getDataSets()) {
+			success &= ds.close();
+		}
+
+		for (Hdf5Attribute<?> attr : getAttributes()) {
+			success &= attr.close();
+		}
+		
+		for (Hdf5Group group : getGroups()) {
+			success &= group.close();
+		}
+		
+		NodeLogger.getLogger(getClass()).debug("Number of open objects in file \""
+				+ getName() + "\": " + whatisOpenInFile());
+		
+		success &= H5.H5Fclose(getElementId()) >= 0;
+		if (success) {
+			setElementId(-1);
+		}
+		
+		return success;
+	}
+	
+	/**
+	 * Opens a read session for this file. In contrast to
+	 * {@linkplain Hdf5File#open(int)}, the session is not bound to this
+	 * thread, i.e. the file stays open for all threads (e.g. the threads of
+	 * a worker pool which read dataSets in parallel) until the session is
+	 * closed, and the session may be closed by any thread.
+	 * <br>
+	 * <br>
+	 * It may happen that this method is locked until the thread which
+	 * writes the file has closed it.
+	 * 
+	 * @return the session which needs to be closed
+	 * @throws IOException if this file does not exist or an internal error occurred
+	 */
+	public Hdf5FileSession openReadSession() throws IOException {
+		lockAccess(READ_ONLY_ACCESS);
+		try {
+			lockWriteOpen();
+			if (!isOpenInAnyThread()) {
+				openInHdf(HDF5Constants.H5F_ACC_RDONLY);
+				m_access = READ_ONLY_ACCESS;
+			}
+			m_sessions++;
+			
+			return new Hdf5FileSession(this);
+			
+		} catch (HDF5LibraryException | NullPointerException hlnpe) {
+			unlockAccess(READ_ONLY_ACCESS);
+			
+			throw new IOException("The file \"" + getFilePath() + "\" cannot be opened: " + hlnpe.getMessage(), hlnpe);
+			
+		} finally {
+			unlockWriteOpen();
+		}
+	}
+	
+	/**
+	 * Closes a read session of this file and this file itself if it is not
+	 * open in any other thread or session anymore.
+	 * 
+	 * @return if closing was successful
+	 * @throws IOException if an internal error occurred
+	 * @see Hdf5FileSession#close()
+	 */
+	boolean closeReadSession() throws IOException {
+		try {
+			lockWriteOpen();
+			
+			boolean success = true;
+			if (m_sessions == 1 && m_accessors.isEmpty()) {
+				success = closeInHdf();
+			}
+			
+			if (success) {
+				m_sessions--;
+				unlockAccess(READ_ONLY_ACCESS);
+				
+				if (!isOpenInAnyThread()) {
+	    			m_access = NOT_ACCESSED;
+				}
+			}
+			
+			return success;
+			
+		} catch (HDF5LibraryException hle) {
+        	throw new IOException("File \"" + getFilePath() + "\" could not be closed: " + hle.getMessage(), hle);
+        	
+        } finally {
+			unlockWriteOpen();
+		}
+	}
+	
 	@Override
 	public String toString() {
 		return "{ filePath=" + getFilePath() + ",open=" + isOpen() + ",access="
@@ -0,0 +1,331 @@
+package org.knime.hdf5.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Process-wide pool which keeps recently used files open read-only such that
+ * opening them again (e.g. in the configure and execute of the same node)
+ * does not need to open them again in the hdf library. A pooled file is
+ * closed if it has not been used for the idle timeout, if more than the
+ * maximum number of files are pooled, if the modification time or the size
+ * of the file on the disk has changed or if a thread requests write access
+ * for the file.
+ * <br>
+ * <br>
+ * The pool is disabled by default and can be enabled with the system
+ * property {@value #ENABLED_PROPERTY} or with
+ * {@linkplain Hdf5FilePool#setEnabled(boolean)}.
+ *
+ * @see Hdf5File#openFile(String, int)
+ */
+public final class Hdf5FilePool {
+
+	/**
+	 * The system property which enables the pool if it is {@code true}.
+	 */
+	public static final String ENABLED_PROPERTY = "knime.hdf5.filepool";
+
+	/**
+	 * The number of milliseconds after which an unused file is closed by
+	 * default.
+	 */
+	public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 60_000;
+
+	/**
+	 * The maximum number of files which are kept open by default.
+	 */
+	public static final int DEFAULT_MAX_OPEN_FILES = 16;
+
+	private static final long EVICTION_PERIOD_MILLIS = 5_000;
+
+	/**
+	 * Maps the pooled files to their entries in the order of their last use.
+	 */
+	private static final Map<Hdf5File, PoolEntry> POOL = new LinkedHashMap<>(16, 0.75f, true);
+
+	private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private static long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+
+	private static int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+
+	private static ScheduledExecutorService evictionService;
+
+	private Hdf5FilePool() {
+	}
+
+	/**
+	 * The read session of a pooled file and the state of the file on the
+	 * disk when it was pooled.
+	 */
+	private static class PoolEntry {
+
+		private final Hdf5FileSession m_session;
+
+		private final long m_lastModified;
+
+		private final long m_length;
+
+		private long m_lastUsed;
+
+		private PoolEntry(Hdf5FileSession session, long lastModified, long length) {
+			m_session = session;
+			m_lastModified = lastModified;
+			m_length = length;
+			m_lastUsed = System.currentTimeMillis();
+		}
+
+		private boolean isUpToDate(File file) {
+			return file.lastModified() == m_lastModified && file.length() == m_length;
+		}
+	}
+
+	/**
+	 * @return if recently used files are kept open
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enable if recently used files should be kept open (all pooled
+	 * 	files are closed if the pool is disabled)
+	 */
+	public static void setEnabled(boolean enable) {
+		enabled = enable;
+		if (!enable) {
+			invalidateAll();
+		}
+	}
+
+	/**
+	 * @return the number of milliseconds after which an unused file is closed
+	 */
+	public static synchronized long getIdleTimeoutMillis() {
+		return idleTimeoutMillis;
+	}
+
+	/**
+	 * @param timeoutMillis the number of milliseconds after which an unused
+	 * 	file is closed (0 to disable the pool)
+	 * @throws IllegalArgumentException if the timeout is negative
+	 */
+	public static void setIdleTimeoutMillis(long timeoutMillis) throws IllegalArgumentException {
+		if (timeoutMillis < 0) {
+			throw new IllegalArgumentException("Idle timeout cannot be negative");
+		}
+		synchronized (Hdf5FilePool.class) {
+			idleTimeoutMillis = timeoutMillis;
+		}
+		evictIdleFiles();
+	}
+
+	/**
+	 * @return the maximum number of files which are kept open
+	 */
+	public static synchronized int getMaxOpenFiles() {
+		return maxOpenFiles;
+	}
+
+	/**
+	 * @param maxFiles the maximum number of files which are kept open (0 to
+	 * 	disable the pool)
+	 * @throws IllegalArgumentException if the number is negative
+	 */
+	public static void setMaxOpenFiles(int maxFiles) throws IllegalArgumentException {
+		if (maxFiles < 0) {
+			throw new IllegalArgumentException("Maximum number of open files cannot be negative");
+		}
+		synchronized (Hdf5FilePool.class) {
+			maxOpenFiles = maxFiles;
+		}
+		evictIdleFiles();
+	}
+
+	/**
+	 * Keeps the file open in the pool. The file needs to be open read-only
+	 * in this thread.
+	 *
+	 * @param file the file which has been opened
+	 */
+	static void retain(Hdf5File file) {
+		if (!enabled) {
+			return;
+		}
+		
+		List<Hdf5FileSession> evictedSessions = new ArrayList<>();
+		synchronized (Hdf5FilePool.class) {
+			PoolEntry entry = POOL.get(file);
+			if (entry != null && !entry.isUpToDate(new File(file.getFilePath()))) {
+				// the file has changed after it has been validated, so it is not kept open any longer
+				evictedSessions.add(POOL.remove(file).m_session);
+				
+			} else if (entry != null) {
+				entry.m_lastUsed = System.currentTimeMillis();
+
+			} else if (idleTimeoutMillis > 0 && maxOpenFiles > 0) {
+				try {
+					File diskFile = new File(file.getFilePath());
+					Hdf5FileSession session = file.openReadSession();
+
+					/*
+					 * do not keep the file open if a writer waits for it,
+					 * the writer invalidates the pool only before waiting
+					 */
+					if (file.isWriteRequested()) {
+						evictedSessions.add(session);
+					} else {
+						POOL.put(file, new PoolEntry(session, diskFile.lastModified(), diskFile.length()));
+						startEvictionService();
+					}
+				} catch (IOException ioe) {
+					NodeLogger.getLogger(Hdf5FilePool.class).debug("File \"" + file.getFilePath()
+							+ "\" could not be kept open: " + ioe.getMessage(), ioe);
+				}
+			}
+
+			Iterator<PoolEntry> iter = POOL.values().iterator();
+			while (POOL.size() > maxOpenFiles && iter.hasNext()) {
+				evictedSessions.add(iter.next().m_session);
+				iter.remove();
+			}
+		}
+
+		closeSessions(evictedSessions);
+	}
+
+	/**
+	 * Closes the pooled file if it has changed on the disk since it was
+	 * pooled. This needs to be called before the file is opened such that
+	 * the pooled file is only handed out if its size and modification time
+	 * are unchanged.
+	 *
+	 * @param file the file which is about to be opened
+	 */
+	static void validate(Hdf5File file) {
+		Hdf5FileSession evictedSession = null;
+		synchronized (Hdf5FilePool.class) {
+			PoolEntry entry = POOL.get(file);
+			if (entry != null && !entry.isUpToDate(new File(file.getFilePath()))) {
+				evictedSession = POOL.remove(file).m_session;
+			}
+		}
+
+		if (evictedSession != null) {
+			closeSession(evictedSession);
+		}
+	}
+
+	/**
+	 * Closes the pooled file, e.g. since a thread requests write access.
+	 *
+	 * @param file the file
+	 */
+	static void invalidate(Hdf5File file) {
+		PoolEntry entry;
+		synchronized (Hdf5FilePool.class) {
+			entry = POOL.remove(file);
+		}
+
+		if (entry != null) {
+			closeSession(entry.m_session);
+		}
+	}
+
+	/**
+	 * Closes the pooled file with this path, e.g. when the node which has
+	 * read the file is reset or disposed.
+	 *
+	 * @param filePath the path of the file
+	 */
+	public static void invalidate(String filePath) {
+		String canonicalPath = Hdf5File.getCanonicalPath(filePath);
+		List<Hdf5FileSession> evictedSessions = new ArrayList<>();
+		synchronized (Hdf5FilePool.class) {
+			Iterator<Map.Entry<Hdf5File, PoolEntry>> iter = POOL.entrySet().iterator();
+			while (iter.hasNext()) {
+				Map.Entry<Hdf5File, PoolEntry> entry = iter.next();
+				if (entry.getKey().getCanonicalPath().equals(canonicalPath)) {
+					evictedSessions.add(entry.getValue().m_session);
+					iter.remove();
+				}
+			}
+		}
+
+		closeSessions(evictedSessions);
+	}
+
+	/**
+	 * Closes all pooled files.
+	 */
+	public static void invalidateAll() {
+		List<Hdf5FileSession> evictedSessions = new ArrayList<>();
+		synchronized (Hdf5FilePool.class) {
+			for (PoolEntry entry : POOL.values()) {
+				evictedSessions.add(entry.m_session);
+			}
+			POOL.clear();
+		}
+
+		closeSessions(evictedSessions);
+	}
+
+	/**
+	 * Closes all pooled files which have not been used for the idle timeout.
+	 */
+	private static void evictIdleFiles() {
+		List<Hdf5FileSession> evictedSessions = new ArrayList<>();
+		synchronized (Hdf5FilePool.class) {
+			long now = System.currentTimeMillis();
+			Iterator<PoolEntry> iter = POOL.values().iterator();
+			while (iter.hasNext()) {
+				PoolEntry entry = iter.next();
+				if (now - entry.m_lastUsed >= idleTimeoutMillis || POOL.size() > maxOpenFiles) {
+					evictedSessions.add(entry.m_session);
+					iter.remove();
+				}
+			}
+		}
+
+		closeSessions(evictedSessions);
+	}
+
+	private static synchronized void startEvictionService() {
+		if (evictionService == null) {
+			evictionService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "HDF5 file pool eviction");
+				thread.setDaemon(true);
+				return thread;
+			});
+			evictionService.scheduleWithFixedDelay(Hdf5FilePool::evictIdleFiles,
+					EVICTION_PERIOD_MILLIS, EVICTION_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private static void closeSessions(List<Hdf5FileSession> sessions) {
+		for (Hdf5FileSession session : sessions) {
+			closeSession(session);
+		}
+	}
+
+	private static void closeSession(Hdf5FileSession session) {
+		try {
+			session.close();
+
+		} catch (IOException ioe) {
+			NodeLogger.getLogger(Hdf5FilePool.class).warn("File \"" + session.getFile().getFilePath()
+					+ "\" could not be closed: " + ioe.getMessage(), ioe);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package org.knime.hdf5.lib;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle for a read session of an hdf file. The file stays open for all
+ * threads as long as the session is open, so the dataSets of the file can
+ * be read by several threads in parallel.
+ *
+ * @see Hdf5File#openReadSession()
+ */
+public class Hdf5FileSession implements AutoCloseable {
+
+	private final Hdf5File m_file;
+
+	private final AtomicBoolean m_open = new AtomicBoolean(true);
+
+	Hdf5FileSession(Hdf5File file) {
+		m_file = file;
+	}
+
+	/**
+	 * @return the file of this session
+	 */
+	public Hdf5File getFile() {
+		return m_file;
+	}
+
+	/**
+	 * @return if this session is still open
+	 */
+	public boolean isOpen() {
+		return m_open.get();
+	}
+
+	/**
+	 * Closes this session. The file is closed if it is not open in any
+	 * other thread or session anymore. Closing a closed session does nothing.
+	 *
+	 * @throws IOException if the file could not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (m_open.compareAndSet(true, false)) {
+			try {
+				if (!m_file.closeReadSession()) {
+					throw new IOException("File \"" + m_file.getFilePath() + "\" could not be closed");
+				}
+			} catch (IOException ioe) {
+				m_open.set(true);
+				throw ioe;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "{ file=" + m_file.getFilePath() + ",open=" + isOpen() + " }";
+	}
+}
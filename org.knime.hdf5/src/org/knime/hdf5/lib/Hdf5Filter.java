@@ -0,0 +1,147 @@
+package org.knime.hdf5.lib;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+
+/**
+ * Enum for the filters (except the deflate compression which is specified
+ * by the compression level) which can be applied to the chunks of a dataSet.
+ * The order of the values is the order in which the filters are applied
+ * to the chunks.
+ *
+ * @see Hdf5DataSet#getFilters()
+ */
+public enum Hdf5Filter {
+
+	/**
+	 * Stores integers with the minimum number of bits needed for the
+	 * values of a chunk (lossless, only for integers).
+	 */
+	SCALE_OFFSET("scaleOffset", HDF5Constants.H5Z_FILTER_SCALEOFFSET, true),
+
+	/**
+	 * Packs the values without their unused bits (only for numbers).
+	 */
+	NBIT("nbit", HDF5Constants.H5Z_FILTER_NBIT, true),
+
+	/**
+	 * Reorders the bytes of the values such that the compression works
+	 * better.
+	 */
+	SHUFFLE("shuffle", HDF5Constants.H5Z_FILTER_SHUFFLE, true),
+
+	/**
+	 * Compresses the values using the szip library (only for numbers).
+	 * Since szip compresses the typed values, it cannot be combined with
+	 * the deflate compression which would have compressed them already.
+	 */
+	SZIP("szip", HDF5Constants.H5Z_FILTER_SZIP, false),
+
+	/**
+	 * Adds a checksum to each chunk to detect corrupted data.
+	 */
+	FLETCHER32("fletcher32", HDF5Constants.H5Z_FILTER_FLETCHER32, false);
+
+	private static final Map<String, Hdf5Filter> LOOKUP = new HashMap<>();
+
+	private static final Map<Integer, Hdf5Filter> ID_LOOKUP = new HashMap<>();
+
+	static {
+		for (Hdf5Filter filter : Hdf5Filter.values()) {
+			LOOKUP.put(filter.getName(), filter);
+			ID_LOOKUP.put(filter.getFilterId(), filter);
+		}
+	}
+
+	private final String m_name;
+
+	private final int m_filterId;
+
+	/**
+	 * If the filter is applied before the deflate compression.
+	 */
+	private final boolean m_beforeDeflate;
+
+	private Hdf5Filter(String name, int filterId, boolean beforeDeflate) {
+		m_name = name;
+		m_filterId = filterId;
+		m_beforeDeflate = beforeDeflate;
+	}
+
+	public String getName() {
+		return m_name;
+	}
+
+	int getFilterId() {
+		return m_filterId;
+	}
+
+	boolean isBeforeDeflate() {
+		return m_beforeDeflate;
+	}
+
+	public static Hdf5Filter get(String name) {
+		return LOOKUP.get(name);
+	}
+
+	static Hdf5Filter get(int filterId) {
+		return ID_LOOKUP.get(filterId);
+	}
+
+	/**
+	 * @param type the hdf type of the dataSet
+	 * @return if this filter can be applied to dataSets of the hdf type
+	 */
+	public boolean isApplicable(HdfDataType type) {
+		switch (this) {
+		case SCALE_OFFSET:
+			return type.isNumber() && !type.isFloat();
+		case NBIT:
+		case SZIP:
+			return type.isNumber();
+		default:
+			return true;
+		}
+	}
+
+	/**
+	 * Adds this filter to the filters of the property list.
+	 *
+	 * @param propertyListId the id of the property list for creating a dataSet
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 * @throws IllegalArgumentException if the filter is not available or
+	 * 	cannot encode (e.g. if the hdf library only contains the szip decoder)
+	 */
+	void addTo(long propertyListId) throws HDF5LibraryException, IllegalArgumentException {
+		if (H5.H5Zfilter_avail(m_filterId) <= 0) {
+			throw new IllegalArgumentException("Filter \"" + m_name + "\" is not available");
+		}
+		if ((H5.H5Zget_filter_info(m_filterId) & HDF5Constants.H5Z_FILTER_CONFIG_ENCODE_ENABLED) == 0) {
+			throw new IllegalArgumentException("Filter \"" + m_name + "\" is only available for reading");
+		}
+
+		switch (this) {
+		case SCALE_OFFSET:
+			H5.H5Pset_scaleoffset(propertyListId, HDF5Constants.H5Z_SO_INT, HDF5Constants.H5Z_SO_INT_MINBITS_DEFAULT);
+			break;
+		case NBIT:
+			H5.H5Pset_nbit(propertyListId);
+			break;
+		case SHUFFLE:
+			H5.H5Pset_shuffle(propertyListId);
+			break;
+		case SZIP:
+			H5.H5Pset_szip(propertyListId, HDF5Constants.H5_SZIP_NN_OPTION_MASK, 16);
+			break;
+		case FLETCHER32:
+			H5.H5Pset_fletcher32(propertyListId);
+			break;
+		}
+	}
+}
@@ -13,11 +13,15 @@ import org.knime.core.node.NodeLogger;
 import org.knime.hdf5.lib.types.Hdf5DataType;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType;
 import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
+import org.knime.hdf5.nodes.writer.edit.ColumnNodeEdit;
 import org.knime.hdf5.nodes.writer.edit.DataSetNodeEdit;
 import org.knime.hdf5.nodes.writer.edit.EditDataType;
+import org.knime.hdf5.nodes.writer.edit.EditOverwritePolicy;
 
 import hdf.hdf5lib.H5;
 import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.callbacks.H5L_iterate_cb;
+import hdf.hdf5lib.callbacks.H5L_iterate_t;
 import hdf.hdf5lib.exceptions.HDF5LibraryException;
 
 /**
@@ -27,9 +31,29 @@ public class Hdf5Group extends Hdf5TreeElement {
 	
 	public static final int OBJECT_NOT_EXISTS = 0;
 	
-	private final List<Hdf5Group> m_groups = new ArrayList<>();
+	/**
+	 * The maximum number of links which are iterated in one call of the hdf
+	 * library such that other threads can access the library in between.
+	 */
+	private static final long ITERATION_BATCH_SIZE = 65536;
+	
+	/**
+	 * The loaded child groups mapped by their names in the order of loading.
+	 */
+	private final Map<String, Hdf5Group> m_groups = new LinkedHashMap<>();
 	
-	private final List<Hdf5DataSet<?>> m_dataSets = new ArrayList<>();
+	/**
+	 * The loaded child dataSets mapped by their names in the order of loading.
+	 */
+	private final Map<String, Hdf5DataSet<?>> m_dataSets = new LinkedHashMap<>();
+	
+	/**
+	 * The names of all child objects (also of the not supported ones) which
+	 * are loaded when the first unique object name is needed and maintained
+	 * on creating, moving, copying and deleting objects afterwards (or
+	 * {@code null} if they have not been loaded since this group was opened).
+	 */
+	private volatile Hdf5NameSet m_objectNames;
 
 	protected Hdf5Group(String name)
 			throws NullPointerException, IllegalArgumentException {
@@ -62,6 +86,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 					HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT,
 					HDF5Constants.H5P_DEFAULT));
 			parent.addGroup(group);
+			parent.updateObjectNames(null, group.getName());
     		
 		} catch (HDF5LibraryException | NullPointerException | IllegalArgumentException | IllegalStateException hlnpiaise) {
 			throw new IOException("Group could not be created: " + hlnpiaise.getMessage(), hlnpiaise);
@@ -91,7 +116,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 	 */
 	public Hdf5Group[] getGroups() {
 		synchronized (m_groups) {
-			return m_groups.toArray(new Hdf5Group[m_groups.size()]);
+			return m_groups.values().toArray(new Hdf5Group[m_groups.size()]);
 		}
 	}
 	
@@ -100,7 +125,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 	 */
 	public Hdf5DataSet<?>[] getDataSets() {
 		synchronized (m_dataSets) {
-			return m_dataSets.toArray(new Hdf5DataSet<?>[m_dataSets.size()]);
+			return m_dataSets.values().toArray(new Hdf5DataSet<?>[m_dataSets.size()]);
 		}
 	}
 	
@@ -136,8 +161,8 @@ public class Hdf5Group extends Hdf5TreeElement {
 	 * @param dimensions the dimensions for the new dataSet
 	 * @param compressionLevel the compression level (from 0 to 9) for the new dataSet
 	 * @param chunkRowSize the size of the row chunks to store the dataSet
-	 * 	(may not be larger than the number of rows or 2^32-1,
-	 * 	may not be 0 if compression is used)
+	 * 	(may not be larger than 2^32-1, chosen automatically if it is
+	 * 	not larger than 1 and compression is used)
 	 * @param type the data type for the new dataSet
 	 * @return the new dataSet
 	 * @throws IOException if there already exists a child <b>treeElement</b>
@@ -151,9 +176,44 @@ public class Hdf5Group extends Hdf5TreeElement {
 	 */
 	public Hdf5DataSet<?> createDataSet(String name, long[] dimensions,
 			int compressionLevel, long chunkRowSize, Hdf5DataType type) throws IOException {
+		return createDataSet(name, dimensions, compressionLevel, chunkRowSize, false, type);
+	}
+	
+	/**
+	 * Creates a new dataSet whose number of rows can be changed later if
+	 * {@code extendible} is {@code true}.
+	 * 
+	 * @param extendible if the number of rows of the new dataSet should be unlimited
+	 * @see Hdf5Group#createDataSet(String, long[], int, long, Hdf5DataType)
+	 * @see Hdf5DataSet#setNumberOfRows(long)
+	 */
+	public Hdf5DataSet<?> createDataSet(String name, long[] dimensions,
+			int compressionLevel, long chunkRowSize, boolean extendible, Hdf5DataType type) throws IOException {
+		return createDataSet(name, dimensions, compressionLevel, new Hdf5Filter[0],
+				chunkRowSize > 1 ? new long[] { chunkRowSize } : null, extendible, type);
+	}
+	
+	/**
+	 * Creates a new dataSet which is stored in chunks of the given sizes
+	 * where the filters are applied to. A chunk size of 0 (or a missing
+	 * size) for a dimension means that the size is chosen automatically
+	 * such that a chunk has about {@linkplain Hdf5DataSet#DEFAULT_CHUNK_BYTE_SIZE}
+	 * bytes.
+	 * 
+	 * @param filters the filters (except the deflate compression) to apply
+	 * 	to the chunks
+	 * @param chunkDimensions the sizes of the chunks in each dimension
+	 * 	(may be {@code null} if the dataSet should only be stored in chunks
+	 * 	if it is compressed, filtered or extendible)
+	 * @see Hdf5Group#createDataSet(String, long[], int, long, boolean, Hdf5DataType)
+	 * @see Hdf5DataSet#getChunkDimensions()
+	 * @see Hdf5DataSet#getFilters()
+	 */
+	public Hdf5DataSet<?> createDataSet(String name, long[] dimensions, int compressionLevel,
+			Hdf5Filter[] filters, long[] chunkDimensions, boolean extendible, Hdf5DataType type) throws IOException {
 		int objectType = getObjectTypeByName(name);	
 		if (objectType == OBJECT_NOT_EXISTS) {
-			return Hdf5DataSet.createDataSet(this, name, dimensions, compressionLevel, chunkRowSize, type);
+			return Hdf5DataSet.createDataSet(this, name, dimensions, compressionLevel, filters, chunkDimensions, extendible, type);
 			
 		} else {
 			throw new IOException("There is already "
@@ -190,6 +250,8 @@ public class Hdf5Group extends Hdf5TreeElement {
 			// move object
 			oldObject.close();
 			H5.H5Lmove(oldParent.getElementId(), oldObject.getName(), getElementId(), newName, HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT);
+			oldParent.updateObjectNames(oldObject.getName(), null);
+			updateObjectNames(null, newName);
 			
 			// update instances
 			if (!oldObject.exists() && getObjectTypeByName(newName) == objectType) {
@@ -226,6 +288,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 			Hdf5Group oldParent = oldObject.getParent();
 			int objectType = oldParent.getObjectTypeByName(oldObject.getName());
 			H5.H5Ocopy(oldParent.getElementId(), oldObject.getName(), getElementId(), newName, HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT);
+			updateObjectNames(null, newName);
 			if (getObjectTypeByName(newName) == objectType) {
 				newObject = objectType == HDF5Constants.H5I_GROUP ? getGroup(newName) : getDataSet(newName);
 			}
@@ -248,15 +311,11 @@ public class Hdf5Group extends Hdf5TreeElement {
 		
 		synchronized (m_groups) {
 			// check if the group has already been loaded
-			for (Hdf5Group grp : getGroups()) {
-				if (grp.getName().equals(name)) {
-					group = grp;
-					group.open();
-					break;
-				}
-			}
-			
-			if (group == null) {
+			group = m_groups.get(name);
+			if (group != null) {
+				group.open();
+				
+			} else {
 				// load the group and add it to the list of child groups
 				if (getObjectTypeByName(name) == HDF5Constants.H5I_GROUP) {
 					group = openGroup(this, name);
@@ -305,17 +364,12 @@ public class Hdf5Group extends Hdf5TreeElement {
 		Hdf5DataSet<?> dataSet = null;
 		
 		synchronized (m_dataSets) {
-			// check if the dataSet has already been loaded and update it if necessary
-			for (Hdf5DataSet<?> ds : getDataSets()) {
-				if (ds.getName().equals(name)) {
-					dataSet = ds;
-					dataSet.updateDataSet();
-					dataSet.open();
-					break;
-				}
-			}
-			
-			if (dataSet == null) {
+			// check if the dataSet has already been loaded and update it if the file has changed
+			dataSet = m_dataSets.get(name);
+			if (dataSet != null) {
+				dataSet.updateAndOpen();
+				
+			} else {
 				// load the dataSet and add it to the list of child dataSets
 				if (getObjectTypeByName(name) == HDF5Constants.H5I_DATASET) {
 					dataSet = Hdf5DataSet.openDataSet(this, name);
@@ -425,6 +479,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 				int objectTypeAfterDeletion = getObjectTypeByName(name);
 				if (objectTypeAfterDeletion == OBJECT_NOT_EXISTS) {
 					success = true;
+					updateObjectNames(name, null);
 					if (object instanceof Hdf5Group) {
 						removeGroup((Hdf5Group) object);
 					} else {
@@ -447,7 +502,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 	
 	private void addGroup(Hdf5Group group) {
 		synchronized (m_groups) {
-			m_groups.add(group);
+			m_groups.put(group.getName(), group);
 			group.setPathFromFile(getPathFromFileWithName(true));
 			group.setParent(this);
 		}
@@ -455,7 +510,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 
 	void addDataSet(Hdf5DataSet<?> dataSet) {
 		synchronized (m_dataSets) {
-			m_dataSets.add(dataSet);
+			m_dataSets.put(dataSet.getName(), dataSet);
 			dataSet.setPathFromFile(getPathFromFileWithName(true));
 			dataSet.setParent(this);
 		}
@@ -466,7 +521,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 			group.setParent(null);
 			group.setPathFromFile("");
 			group.setElementId(-1);
-			return m_groups.remove(group);
+			return m_groups.remove(group.getName(), group);
 		}
 	}
 
@@ -475,12 +530,53 @@ public class Hdf5Group extends Hdf5TreeElement {
 			dataSet.setParent(null);
 			dataSet.setPathFromFile("");
 			dataSet.setElementId(-1);
-			return m_dataSets.remove(dataSet);
+			return m_dataSets.remove(dataSet.getName(), dataSet);
 		}
 	}
 
-	private String[] loadObjectNames(int objectId) throws IOException {
-		List<String> names = new ArrayList<>();
+	/**
+	 * Visitor for the names of the child objects of a group.
+	 * 
+	 * @see Hdf5Group#iterateObjectNames(long, long, ObjectNameVisitor)
+	 */
+	@FunctionalInterface
+	public static interface ObjectNameVisitor {
+		
+		/**
+		 * @param name the name of the child object
+		 * @return if the iteration should be continued
+		 */
+		boolean visit(String name);
+	}
+	
+	/**
+	 * The data for {@code H5Literate} which counts the visited links and
+	 * passes the names of the objects of the requested type to the visitor.
+	 */
+	private static class IterationData implements H5L_iterate_t {
+		
+		private final int m_objectType;
+		
+		private final ObjectNameVisitor m_visitor;
+		
+		private long m_linkCount;
+		
+		private long m_maxLinkCount;
+		
+		private boolean m_stopped;
+		
+		private IterationData(int objectType, ObjectNameVisitor visitor) {
+			m_objectType = objectType;
+			m_visitor = visitor;
+		}
+	}
+	
+	/**
+	 * @return the number of links in this group (also of the not supported
+	 * 	objects)
+	 * @throws IOException if this group is not open or an internal error occurred
+	 */
+	public long numberOfObjects() throws IOException {
 		Hdf5Group group = isFile() ? this : getParent();
 		String name = isFile() ? "/" : getName();
 		
@@ -488,33 +584,163 @@ public class Hdf5Group extends Hdf5TreeElement {
 			group.lockReadOpen();
 			group.checkOpen();
 			
-			// get number of child objects in this group
-			int count = (int) H5.H5Gn_members(group.getElementId(), name);
+			return H5.H5Gget_info_by_name(group.getElementId(), name, HDF5Constants.H5P_DEFAULT).nlinks;
 			
-			if (count > 0) {
-				// get the information of the child objects
-				String[] oname = new String[count];
-				int[] otype = new int[count];
-				H5.H5Gget_obj_info_all(group.getElementId(), name, oname, otype, new int[count], new long[count], HDF5Constants.H5_INDEX_NAME);
+		} catch (HDF5LibraryException | IOException | NullPointerException hlionpe) {
+			throw new IOException("Number of objects could not be loaded: " + hlionpe.getMessage(), hlionpe);
+			
+		} finally {
+			group.unlockReadOpen();
+		}
+	}
+	
+	/**
+	 * Iterates over the links of this group in the order of their names
+	 * and passes the names of the objects of the type {@code objectType} to
+	 * the visitor. The links are iterated in batches such that the names of
+	 * large groups do not need to be loaded at once.
+	 * 
+	 * @param objectType the object type (e.g. {@code H5O_TYPE_GROUP}) or
+	 * 	{@code H5O_TYPE_UNKNOWN} for all objects
+	 * @param startIndex the index of the first link to iterate
+	 * @param maxCount the maximum number of links to iterate
+	 * @param visitor the visitor for the names
+	 * @return the index after the last iterated link, i.e. the start index
+	 * 	for continuing the iteration
+	 * @throws IOException if this group is not open or an internal error occurred
+	 */
+	private long iterateObjectNames(int objectType, long startIndex, long maxCount, ObjectNameVisitor visitor) throws IOException {
+		Hdf5Group group = isFile() ? this : getParent();
+		String name = isFile() ? "/" : getName();
+		IterationData iterationData = new IterationData(objectType, visitor);
+		long index = startIndex;
+		
+		try {
+			group.lockReadOpen();
+			group.checkOpen();
+			
+			H5L_iterate_cb callback = (groupId, linkName, info, data) -> {
+				IterationData iterData = (IterationData) data;
+				iterData.m_linkCount++;
 				
-				// filter the child objects on the objectId
-				boolean returnAllObjects = objectId == HDF5Constants.H5O_TYPE_UNKNOWN;
-				for (int i = 0; i < otype.length; i++) {
-					if (returnAllObjects || objectId == otype[i]) {
-						names.add(oname[i]);
+				boolean visit = iterData.m_objectType == HDF5Constants.H5O_TYPE_UNKNOWN;
+				if (!visit) {
+					try {
+						visit = H5.H5Oget_info_by_name(groupId, linkName, HDF5Constants.H5P_DEFAULT).type == iterData.m_objectType;
+					} catch (HDF5LibraryException | NullPointerException hlnpe) {
+						// the link does not point to an existing object
 					}
 				}
+				if (visit && !iterData.m_visitor.visit(linkName)) {
+					iterData.m_stopped = true;
+				}
+				
+				return iterData.m_stopped || iterData.m_linkCount >= iterData.m_maxLinkCount ? 1 : 0;
+			};
+			
+			/*
+			 * iterate in batches and release the hdf library in between, the
+			 * links cannot change meanwhile since changes need write access
+			 */
+			long linkCount = numberOfObjects();
+			while (index < linkCount && index - startIndex < maxCount && !iterationData.m_stopped) {
+				iterationData.m_linkCount = 0;
+				iterationData.m_maxLinkCount = Math.min(ITERATION_BATCH_SIZE, maxCount - (index - startIndex));
+				H5.H5Literate_by_name(group.getElementId(), name, HDF5Constants.H5_INDEX_NAME, HDF5Constants.H5_ITER_INC,
+						index, callback, iterationData, HDF5Constants.H5P_DEFAULT);
+				
+				if (iterationData.m_linkCount == 0) {
+					break;
+				}
+				index += iterationData.m_linkCount;
 			}
-		} catch (HDF5LibraryException | IOException | NullPointerException hlnpe) {
-           throw new IOException("List of objects could not be loaded: " + hlnpe.getMessage(), hlnpe);
-           
-        } finally {
+		} catch (HDF5LibraryException | IOException | NullPointerException hlionpe) {
+			throw new IOException("List of objects could not be loaded: " + hlionpe.getMessage(), hlionpe);
+			
+		} finally {
 			group.unlockReadOpen();
 		}
 		
+		return index;
+	}
+	
+	/**
+	 * Iterates over the names of the child objects of this group (also of the
+	 * not supported ones) in the order of their names without loading all
+	 * names at once.
+	 * 
+	 * @param startIndex the index of the first object to iterate
+	 * @param maxCount the maximum number of objects to iterate
+	 * @param visitor the visitor for the names which may stop the iteration
+	 * @return the index after the last iterated object, i.e. the start index
+	 * 	for continuing the iteration
+	 * @throws IOException if this group is not open or an internal error occurred
+	 */
+	public long iterateObjectNames(long startIndex, long maxCount, ObjectNameVisitor visitor) throws IOException {
+		return iterateObjectNames(HDF5Constants.H5O_TYPE_UNKNOWN, startIndex, maxCount, visitor);
+	}
+	
+	/**
+	 * @param startIndex the index of the first object
+	 * @param count the maximum number of names to load
+	 * @return the names of the child objects (also of the not supported ones)
+	 * 	on this page in the order of their names
+	 * @throws IOException if this group is not open or an internal error occurred
+	 */
+	public String[] loadObjectNames(long startIndex, int count) throws IOException {
+		List<String> names = new ArrayList<>();
+		iterateObjectNames(HDF5Constants.H5O_TYPE_UNKNOWN, startIndex, count, names::add);
+		
+		return names.toArray(new String[names.size()]);
+	}
+	
+	private String[] loadObjectNames(int objectType) throws IOException {
+		List<String> names = new ArrayList<>();
+		iterateObjectNames(objectType, 0, Long.MAX_VALUE, names::add);
+		
 		return names.toArray(new String[names.size()]);
 	}
 	
+	/**
+	 * @param name the name for a new child object
+	 * @return a name constructed out of {@code name} which no child object has
+	 * @throws IOException if this group is not open or an internal error occurred
+	 * @see Hdf5NameSet#getUniqueName(String)
+	 */
+	String getUniqueObjectName(String name) throws IOException {
+		Hdf5NameSet objectNames = m_objectNames;
+		if (objectNames == null) {
+			Hdf5NameSet loadedNames = new Hdf5NameSet();
+			iterateObjectNames(0, Long.MAX_VALUE, childName -> {
+				loadedNames.add(childName);
+				return true;
+			});
+			objectNames = loadedNames;
+			m_objectNames = objectNames;
+		}
+		
+		return objectNames.getUniqueName(name);
+	}
+	
+	/**
+	 * Updates the names of the child objects if they have already been loaded.
+	 * 
+	 * @param removedName the name of the object which does not exist
+	 * 	anymore in this group (or {@code null} if none)
+	 * @param addedName the name of the new object (or {@code null} if none)
+	 */
+	void updateObjectNames(String removedName, String addedName) {
+		Hdf5NameSet objectNames = m_objectNames;
+		if (objectNames != null) {
+			if (removedName != null) {
+				objectNames.remove(removedName);
+			}
+			if (addedName != null) {
+				objectNames.add(addedName);
+			}
+		}
+	}
+	
 	/**
 	 * @return the names of all child objects in this group
 	 * 	(also of the not supported ones)
@@ -546,41 +772,7 @@ public class Hdf5Group extends Hdf5TreeElement {
 	 */
 	public Map<String, Hdf5DataType> getAllDataSetsInfo() throws IOException {
 		Map<String, Hdf5DataType> paths = new LinkedHashMap<>();
-		String path = getPathFromFileWithName(true);
-		
-		try {
-			lockReadOpen();
-			checkOpen();
-			
-			for (String name : loadDataSetNames()) {
-				// there might exist some dataSets with unsupported dataTypes which should be ignored
-				try {
-					Hdf5DataType dataType = findDataSetType(name);
-					paths.put(path + name, dataType);
-
-				} catch (UnsupportedDataTypeException udte) {
-					NodeLogger.getLogger(getClass()).warn("DataSet \"" + path + name
-							+ "\" could not be loaded: " + udte.getMessage());
-					
-				} catch (IOException | NullPointerException ionpe) {
-					NodeLogger.getLogger(getClass()).error("DataSet \"" + path + name
-							+ "\" could not be loaded: " + ionpe.getMessage(), ionpe);
-				} 
-			}
-			
-			for (String name : loadGroupNames()) {
-				try {
-					Hdf5Group group = getGroup(name);
-					paths.putAll(group.getAllDataSetsInfo());
-					
-				} catch (IOException | NullPointerException ionpe) {
-					NodeLogger.getLogger(getClass()).error("Group \"" + path + name
-							+ "\" could not be loaded: " + ionpe.getMessage(), ionpe);
-				}
-			}
-		} finally {
-			unlockReadOpen();
-		}
+		Hdf5ObjectInfo.scan(this).collectDataSetsInfo(getPathFromFileWithName(true), paths);
 		
 		return paths;
 	}
@@ -596,10 +788,15 @@ public class Hdf5Group extends Hdf5TreeElement {
 		EditDataType editDataType = edit.getEditDataType();
 		Hdf5DataType dataType = Hdf5DataType.createDataType(Hdf5HdfDataType.getInstance(editDataType.getOutputType(), editDataType.getEndian()),
 				Hdf5KnimeDataType.getKnimeDataType(editDataType.getOutputType(), true), false, true, editDataType.getStringLength());
-		long[] dims = edit.usesOneDimension() ? new long[] { edit.getInputRowSize() }
-				: new long[] { edit.getInputRowSize(), edit.getColumnInputTypes().length };
+		// the dataSet starts empty and grows while writing if the number of input rows is not known in advance
+		boolean unknownRowSize = edit.getInputRowSize() == ColumnNodeEdit.UNKNOWN_ROW_SIZE;
+		// rows can only be appended later if the dataSet is extendible
+		boolean extendible = unknownRowSize || edit.getEditOverwritePolicy() == EditOverwritePolicy.APPEND;
+		long rowSize = unknownRowSize ? 0 : edit.getInputRowSize();
+		long[] dims = edit.usesOneDimension() ? new long[] { rowSize }
+				: new long[] { rowSize, edit.getColumnInputTypes().length };
 		
-		return createDataSet(edit.getName(), dims, edit.getCompressionLevel(), edit.getChunkRowSize(), dataType);
+		return createDataSet(edit.getName(), dims, edit.getCompressionLevel(), edit.getFilters(), edit.getChunkDimensions(), extendible, dataType);
 	}
 
 	/**
@@ -651,6 +848,12 @@ public class Hdf5Group extends Hdf5TreeElement {
 		}
 	}
 
+	@Override
+	protected void setElementId(long elementId) {
+		super.setElementId(elementId);
+		m_objectNames = null;
+	}
+	
 	@Override
 	public boolean open() throws IOException, IllegalStateException {
 		if (isFile()) {
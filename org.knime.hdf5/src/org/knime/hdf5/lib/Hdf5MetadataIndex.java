@@ -0,0 +1,260 @@
+package org.knime.hdf5.lib;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+
+/**
+ * Persistent index of the metadata of large hdf files such that the
+ * metadata does not need to be scanned again every time the file is
+ * opened (e.g. in the configure of a node or when opening its dialog). The
+ * index is stored in a cache directory in the temporary directory of KNIME
+ * (which is specific to the user) or next to the file and is only used
+ * while the size and the modification time of the file are unchanged. It is
+ * deleted when a thread requests write access for the file.
+ *
+ * @see Hdf5ObjectInfo#scan(Hdf5Group)
+ */
+public final class Hdf5MetadataIndex {
+
+	/**
+	 * The minimum number of objects in a file such that its metadata is
+	 * indexed by default.
+	 */
+	public static final int DEFAULT_MIN_OBJECT_COUNT = 1000;
+
+	private static final int MAGIC_NUMBER = 0x4B483549;
+
+	private static final int VERSION = 1;
+
+	private static final String INDEX_FILE_EXTENSION = ".h5index";
+
+	/**
+	 * The indices which have been loaded or saved in this process mapped by
+	 * the canonical paths of their files.
+	 */
+	private static final Map<String, SoftReference<LoadedIndex>> LOADED_INDICES = new ConcurrentHashMap<>();
+
+	private static volatile boolean enabled = true;
+
+	private static volatile File directory = new File(KNIMEConstants.getKNIMETempDir(), "hdf5_index");
+
+	private static volatile int minObjectCount = DEFAULT_MIN_OBJECT_COUNT;
+
+	private Hdf5MetadataIndex() {
+	}
+
+	/**
+	 * The metadata of a file with the size and modification time of the file
+	 * when it was scanned.
+	 */
+	private static class LoadedIndex {
+
+		private final long m_length;
+
+		private final long m_lastModified;
+
+		private final Hdf5ObjectInfo m_root;
+
+		private LoadedIndex(long length, long lastModified, Hdf5ObjectInfo root) {
+			m_length = length;
+			m_lastModified = lastModified;
+			m_root = root;
+		}
+
+		private boolean isUpToDate(File file) {
+			return file.length() == m_length && file.lastModified() == m_lastModified;
+		}
+	}
+
+	/**
+	 * @return if the metadata of large files is indexed
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * @param enable if the metadata of large files should be indexed
+	 */
+	public static void setEnabled(boolean enable) {
+		enabled = enable;
+	}
+
+	/**
+	 * @return the cache directory of the indices or {@code null} if the
+	 * 	indices are stored next to the files
+	 */
+	public static File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * @param indexDirectory the cache directory of the indices (e.g. in the
+	 * 	workspace) or {@code null} to store the indices next to the files
+	 */
+	public static void setDirectory(File indexDirectory) {
+		directory = indexDirectory;
+	}
+
+	/**
+	 * @return the minimum number of objects in a file such that its metadata
+	 * 	is indexed
+	 */
+	public static int getMinObjectCount() {
+		return minObjectCount;
+	}
+
+	/**
+	 * @param objectCount the minimum number of objects in a file such that
+	 * 	its metadata is indexed
+	 */
+	public static void setMinObjectCount(int objectCount) {
+		minObjectCount = objectCount;
+	}
+
+	/**
+	 * Loads the metadata of the file from its index. A corrupt index is
+	 * deleted.
+	 *
+	 * @param file the file
+	 * @return the metadata of the file or {@code null} if no index exists
+	 * 	which is up to date
+	 */
+	static Hdf5ObjectInfo load(Hdf5File file) {
+		if (!enabled) {
+			return null;
+		}
+
+		File diskFile = new File(file.getFilePath());
+		SoftReference<LoadedIndex> ref = LOADED_INDICES.get(file.getCanonicalPath());
+		LoadedIndex index = ref != null ? ref.get() : null;
+		if (index != null && index.isUpToDate(diskFile)) {
+			return index.m_root;
+		}
+
+		File indexFile = getIndexFile(file);
+		if (!indexFile.isFile()) {
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new GZIPInputStream(new FileInputStream(indexFile))))) {
+			if (in.readInt() != MAGIC_NUMBER || in.readInt() != VERSION
+					|| !in.readUTF().equals(file.getCanonicalPath())) {
+				return null;
+			}
+
+			index = new LoadedIndex(in.readLong(), in.readLong(), null);
+			if (!index.isUpToDate(diskFile)) {
+				return null;
+			}
+
+			index = new LoadedIndex(index.m_length, index.m_lastModified, Hdf5ObjectInfo.readFrom(in));
+			LOADED_INDICES.put(file.getCanonicalPath(), new SoftReference<>(index));
+
+			return index.m_root;
+
+		} catch (IOException | RuntimeException iore) {
+			NodeLogger.getLogger(Hdf5MetadataIndex.class).debug("Metadata index \"" + indexFile.getPath()
+					+ "\" could not be loaded: " + iore.getMessage(), iore);
+			if (!indexFile.delete()) {
+				NodeLogger.getLogger(Hdf5MetadataIndex.class).debug("Metadata index \""
+						+ indexFile.getPath() + "\" could not be deleted");
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Saves the metadata of the file in its index if the file is large
+	 * enough.
+	 *
+	 * @param file the file
+	 * @param root the metadata of the file
+	 * @param objectCount the number of objects in the file
+	 */
+	static void save(Hdf5File file, Hdf5ObjectInfo root, int objectCount) {
+		if (!enabled || objectCount < minObjectCount) {
+			return;
+		}
+
+		File diskFile = new File(file.getFilePath());
+		LoadedIndex index = new LoadedIndex(diskFile.length(), diskFile.lastModified(), root);
+		LOADED_INDICES.put(file.getCanonicalPath(), new SoftReference<>(index));
+
+		File indexFile = getIndexFile(file);
+		// the temporary file is unique such that concurrent saves do not interfere
+		File tempFile = new File(indexFile.getPath() + "." + UUID.randomUUID() + ".tmp");
+		try {
+			File parent = indexFile.getParentFile();
+			if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+				throw new IOException("Directory \"" + parent.getPath() + "\" could not be created");
+			}
+
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+					new GZIPOutputStream(new FileOutputStream(tempFile))))) {
+				out.writeInt(MAGIC_NUMBER);
+				out.writeInt(VERSION);
+				out.writeUTF(file.getCanonicalPath());
+				out.writeLong(index.m_length);
+				out.writeLong(index.m_lastModified);
+				root.writeTo(out);
+			}
+			Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+		} catch (IOException | SecurityException iose) {
+			NodeLogger.getLogger(Hdf5MetadataIndex.class).debug("Metadata index \"" + indexFile.getPath()
+					+ "\" could not be saved: " + iose.getMessage(), iose);
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Deletes the index of the file, e.g. since the file is about to be
+	 * changed.
+	 *
+	 * @param file the file
+	 */
+	static void invalidate(Hdf5File file) {
+		if (LOADED_INDICES.remove(file.getCanonicalPath()) != null || enabled) {
+			File indexFile = getIndexFile(file);
+			if (indexFile.exists() && !indexFile.delete()) {
+				NodeLogger.getLogger(Hdf5MetadataIndex.class).debug("Metadata index \""
+						+ indexFile.getPath() + "\" could not be deleted");
+			}
+		}
+	}
+
+	/**
+	 * @param file the file
+	 * @return the index file next to the file or in the cache directory
+	 */
+	private static File getIndexFile(Hdf5File file) {
+		File indexDirectory = directory;
+		if (indexDirectory == null) {
+			File diskFile = new File(file.getFilePath());
+			return new File(diskFile.getParentFile(), "." + diskFile.getName() + INDEX_FILE_EXTENSION);
+		}
+
+		String key = UUID.nameUUIDFromBytes(file.getCanonicalPath().getBytes(StandardCharsets.UTF_8)).toString();
+		return new File(indexDirectory, key + INDEX_FILE_EXTENSION);
+	}
+}
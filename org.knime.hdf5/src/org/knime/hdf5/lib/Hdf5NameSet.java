@@ -0,0 +1,157 @@
+package org.knime.hdf5.lib;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of the names of the children of one parent which constructs unique
+ * names for new children like {@linkplain Hdf5TreeElement#getUniqueName(Collection, String)}.
+ * <br>
+ * <br>
+ * The set counts how often each name is used such that a name stays used
+ * until it has been removed as often as it has been added. Next to the
+ * names, it keeps the next suffix per base name before which all suffixes
+ * are used such that constructing a unique name does not need to check the
+ * suffixes from {@code 1} again.
+ */
+public class Hdf5NameSet {
+
+	private final Map<String, Integer> m_nameCounts = new HashMap<>();
+
+	/**
+	 * The map from the base names to the next suffix {@code n} such that
+	 * all names {@code base(j)} with {@code 1 <= j < n} are used.
+	 */
+	private final Map<String, Integer> m_nextSuffixes = new HashMap<>();
+
+	/**
+	 * Creates an empty name set.
+	 */
+	public Hdf5NameSet() {
+	}
+
+	/**
+	 * Creates a name set which contains all {@code names}.
+	 *
+	 * @param names the used names
+	 */
+	public Hdf5NameSet(Collection<String> names) {
+		for (String name : names) {
+			add(name);
+		}
+	}
+
+	/**
+	 * @param name the name to check
+	 * @return if {@code name} is used
+	 */
+	public synchronized boolean contains(String name) {
+		return m_nameCounts.containsKey(name);
+	}
+
+	/**
+	 * Marks {@code name} as used (once more).
+	 *
+	 * @param name the used name
+	 */
+	public synchronized void add(String name) {
+		m_nameCounts.merge(name, 1, Integer::sum);
+	}
+
+	/**
+	 * Removes one use of {@code name}. If it is not used anymore afterwards,
+	 * it will be available again for unique names.
+	 *
+	 * @param name the name which is not used anymore (once)
+	 */
+	public synchronized void remove(String name) {
+		Integer count = m_nameCounts.get(name);
+		if (count != null) {
+			if (count > 1) {
+				m_nameCounts.put(name, count - 1);
+
+			} else {
+				m_nameCounts.remove(name);
+				int suffixStart = getSuffixStart(name);
+				if (suffixStart != -1) {
+					try {
+						String baseName = name.substring(0, suffixStart);
+						int suffix = Integer.parseInt(name.substring(suffixStart + 1, name.length() - 1));
+						Integer nextSuffix = m_nextSuffixes.get(baseName);
+						if (nextSuffix != null && suffix < nextSuffix) {
+							m_nextSuffixes.put(baseName, suffix);
+						}
+					} catch (NumberFormatException nfe) {
+						// the suffix is too large to be any next suffix
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get a name that is not used in this set. The name is constructed out of
+	 * {@code name} like {@linkplain Hdf5TreeElement#getUniqueName(Collection, String)}
+	 * does.
+	 * <br>
+	 * <br>
+	 * <b>Note:</b> The constructed name will not be added to this set.
+	 *
+	 * @param name the new name
+	 * @return a name that is constructed out of {@code name} that is not used
+	 */
+	public synchronized String getUniqueName(String name) {
+		if (!m_nameCounts.containsKey(name)) {
+			return name;
+		}
+
+		String baseName = name;
+		int startSuffix = 1;
+		int suffixStart = getSuffixStart(name);
+		if (suffixStart != -1) {
+			try {
+				startSuffix = Integer.parseInt(name.substring(suffixStart + 1, name.length() - 1));
+				baseName = name.substring(0, suffixStart);
+			} catch (NumberFormatException nfe) {
+				// use the whole name as base name if the suffix is too large
+			}
+		}
+
+		Integer nextSuffix = m_nextSuffixes.get(baseName);
+		int next = nextSuffix != null ? nextSuffix : 1;
+		int suffix = Math.max(startSuffix, next);
+		String newName = baseName + "(" + suffix + ")";
+		while (m_nameCounts.containsKey(newName)) {
+			suffix++;
+			newName = baseName + "(" + suffix + ")";
+		}
+
+		// all suffixes before the found one are known to be used only if the search started at the next suffix
+		if (startSuffix <= next) {
+			m_nextSuffixes.put(baseName, suffix);
+		}
+
+		return newName;
+	}
+
+	/**
+	 * @param name the name to check
+	 * @return the index of the opening bracket if {@code name} ends with a
+	 * 	suffix {@code (i)} for a positive integer {@code i} without leading
+	 * 	zeros, otherwise {@code -1}
+	 */
+	private static int getSuffixStart(String name) {
+		int end = name.length() - 1;
+		if (end < 2 || name.charAt(end) != ')') {
+			return -1;
+		}
+
+		int start = end - 1;
+		while (start >= 0 && name.charAt(start) >= '0' && name.charAt(start) <= '9') {
+			start--;
+		}
+
+		return start >= 0 && start < end - 1 && name.charAt(start) == '(' && name.charAt(start + 1) != '0' ? start : -1;
+	}
+}
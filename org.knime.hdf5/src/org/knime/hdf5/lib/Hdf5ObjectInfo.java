@@ -0,0 +1,745 @@
+package org.knime.hdf5.lib;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.activation.UnsupportedDataTypeException;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.hdf5.lib.types.Hdf5DataType;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.Endian;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
+
+import hdf.hdf5lib.H5;
+import hdf.hdf5lib.HDF5Constants;
+import hdf.hdf5lib.callbacks.H5L_iterate_cb;
+import hdf.hdf5lib.callbacks.H5L_iterate_t;
+import hdf.hdf5lib.callbacks.H5O_iterate_cb;
+import hdf.hdf5lib.callbacks.H5O_iterate_t;
+import hdf.hdf5lib.exceptions.HDF5LibraryException;
+import hdf.hdf5lib.structs.H5L_info_t;
+import hdf.hdf5lib.structs.H5O_info_t;
+
+/**
+ * The metadata of an hdf object and its descendants which is loaded in one
+ * pass through the file using {@code H5Ovisit} without instantiating the
+ * {@linkplain Hdf5Group}s and {@linkplain Hdf5DataSet}s. The children of a
+ * group are its links, so objects which are linked multiple times are
+ * listed under each link, but their metadata is only loaded once. Soft
+ * and external links are listed as objects of an unknown type. The
+ * metadata of large files is persisted in the {@linkplain Hdf5MetadataIndex}
+ * such that it does not need to be scanned again.
+ *
+ * @see Hdf5ObjectInfo#scan(Hdf5Group)
+ */
+public class Hdf5ObjectInfo {
+
+	/**
+	 * The maximum number of dimensions of a dataSet in the hdf library.
+	 */
+	private static final int MAX_RANK = 32;
+	
+	/**
+	 * The maximum depth of the infos which are read from an index such that
+	 * a corrupt index cannot overflow the stack.
+	 */
+	private static final int MAX_INDEX_DEPTH = 1024;
+
+	private final String m_path;
+
+	private final String m_name;
+
+	private final int m_objectType;
+
+	private final long m_attributeCount;
+
+	private Hdf5DataType m_dataType;
+
+	private long[] m_dimensions;
+	
+	private long[] m_chunkDimensions;
+	
+	private int m_compressionLevel;
+	
+	private Hdf5Filter[] m_filters = new Hdf5Filter[0];
+
+	private final Map<String, Hdf5DataType> m_attributes = new LinkedHashMap<>();
+
+	private final List<Hdf5ObjectInfo> m_children = new ArrayList<>();
+	
+	/**
+	 * The children mapped by their names such that the infos of descendants
+	 * can be found without searching through all children of large groups.
+	 */
+	private final Map<String, Hdf5ObjectInfo> m_childrenByName = new HashMap<>();
+	
+	/**
+	 * The address of the object in the file or -1 if it is unknown (e.g.
+	 * for soft links or if the metadata has been loaded from the index).
+	 */
+	private long m_address = -1;
+
+	private Hdf5ObjectInfo(String path, int objectType, long attributeCount) {
+		m_path = path;
+		m_name = path.substring(path.lastIndexOf('/') + 1);
+		m_objectType = objectType;
+		m_attributeCount = attributeCount;
+	}
+
+	/**
+	 * The data for {@code H5Ovisit} which collects the object infos of all
+	 * visited objects mapped by their addresses.
+	 */
+	private static class VisitData implements H5O_iterate_t {
+
+		private final Map<Long, H5O_info_t> m_objects = new HashMap<>();
+		
+		private H5O_info_t m_root;
+	}
+
+	/**
+	 * The data for {@code H5Literate} which collects the links of a group in
+	 * the order of their names.
+	 */
+	private static class LinkData implements H5L_iterate_t {
+
+		private final List<String> m_names = new ArrayList<>();
+
+		private final List<H5L_info_t> m_infos = new ArrayList<>();
+	}
+
+	/**
+	 * Collects the paths, object types, data types, dimensions, storage
+	 * properties and attribute types of the group and all its descendants.
+	 * The metadata is taken from the index of the file if it is up to date.
+	 *
+	 * @param group the group (or file) to start from
+	 * @return the info of the group with the infos of its descendants
+	 * @throws IOException if the group is not open or an error occurred in
+	 * 	the hdf library
+	 */
+	public static Hdf5ObjectInfo scan(Hdf5Group group) throws IOException {
+		return scan(group, true);
+	}
+	
+	/**
+	 * @param group the group (or file) to start from
+	 * @param lockOpen if the group should be locked such that it cannot be
+	 * 	closed during the scan
+	 * @return the info of the group with the infos of its descendants
+	 * @throws IOException if the group is not open or an error occurred in
+	 * 	the hdf library
+	 * @see Hdf5ObjectInfo#scan(Hdf5Group)
+	 */
+	static Hdf5ObjectInfo scan(Hdf5Group group, boolean lockOpen) throws IOException {
+		try {
+			if (lockOpen) {
+				group.lockReadOpen();
+			}
+			group.checkOpen();
+
+			Hdf5File file = getFile(group);
+			boolean indexable = file != null && file.getAccess() == Hdf5File.READ_ONLY_ACCESS;
+			Hdf5ObjectInfo groupInfo = indexable ? findIndexed(group) : null;
+			if (groupInfo != null) {
+				return groupInfo;
+			}
+
+			long groupId = group.getElementId();
+			String pathPrefix = group.getPathFromFileWithName(true);
+
+			// the objects which are reachable by hard links are visited once
+			VisitData visitData = new VisitData();
+			H5O_iterate_cb callback = (locationId, name, info, data) -> {
+				VisitData visit = (VisitData) data;
+				visit.m_objects.putIfAbsent(info.addr, info);
+				if (name.equals(".")) {
+					visit.m_root = info;
+				}
+				return 0;
+			};
+			H5.H5Ovisit(groupId, HDF5Constants.H5_INDEX_NAME, HDF5Constants.H5_ITER_INC, callback, visitData);
+			if (visitData.m_root == null) {
+				return null;
+			}
+			
+			// the children of the groups are their links
+			Hdf5ObjectInfo root = new Hdf5ObjectInfo(".", visitData.m_root.type, visitData.m_root.num_attrs);
+			root.m_address = visitData.m_root.addr;
+			List<Hdf5ObjectInfo> infos = new ArrayList<>();
+			infos.add(root);
+			Set<Long> ancestors = new HashSet<>();
+			ancestors.add(root.m_address);
+			root.addChildren(groupId, visitData.m_objects, ancestors, infos);
+
+			// the metadata of an object which is linked multiple times is only loaded once
+			Map<Long, Hdf5ObjectInfo> loadedInfos = new HashMap<>();
+			for (Hdf5ObjectInfo info : infos) {
+				if (info.m_address >= 0) {
+					Hdf5ObjectInfo loadedInfo = loadedInfos.putIfAbsent(info.m_address, info);
+					if (loadedInfo == null) {
+						info.loadMetadata(groupId, pathPrefix);
+					} else {
+						info.copyMetadataFrom(loadedInfo);
+					}
+				}
+			}
+			
+			if (indexable && group.isFile()) {
+				Hdf5MetadataIndex.save(file, root, infos.size());
+			}
+
+			return root;
+
+		} catch (HDF5LibraryException | NullPointerException hlnpe) {
+			throw new IOException("Metadata of \"" + group.getPathFromFileWithName()
+					+ "\" could not be loaded: " + hlnpe.getMessage(), hlnpe);
+
+		} finally {
+			if (lockOpen) {
+				group.unlockReadOpen();
+			}
+		}
+	}
+
+	/**
+	 * Adds the infos of the links of this group as its children and the
+	 * links of the child groups as their children. Links which are no hard
+	 * links or which point to a group which contains the link are added as
+	 * objects of an unknown type.
+	 * 
+	 * @param groupId the id of the group where the scan started
+	 * @param objects the visited objects mapped by their addresses
+	 * @param ancestors the addresses of this group and its ancestors
+	 * @param infos the list to which the infos of the children are added
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 */
+	private void addChildren(long groupId, Map<Long, H5O_info_t> objects, Set<Long> ancestors,
+			List<Hdf5ObjectInfo> infos) throws HDF5LibraryException {
+		LinkData linkData = new LinkData();
+		H5L_iterate_cb callback = (locationId, name, info, data) -> {
+			((LinkData) data).m_names.add(name);
+			((LinkData) data).m_infos.add(info);
+			return 0;
+		};
+		H5.H5Literate_by_name(groupId, m_path, HDF5Constants.H5_INDEX_NAME, HDF5Constants.H5_ITER_INC,
+				0, callback, linkData, HDF5Constants.H5P_DEFAULT);
+		
+		for (int i = 0; i < linkData.m_names.size(); i++) {
+			String name = linkData.m_names.get(i);
+			H5L_info_t linkInfo = linkData.m_infos.get(i);
+			String path = m_path.equals(".") ? name : m_path + "/" + name;
+			
+			H5O_info_t object = linkInfo.type == HDF5Constants.H5L_TYPE_HARD ? objects.get(linkInfo.address_val_size) : null;
+			Hdf5ObjectInfo child = null;
+			if (object == null || ancestors.contains(object.addr)) {
+				child = new Hdf5ObjectInfo(path, HDF5Constants.H5O_TYPE_UNKNOWN, 0);
+			} else {
+				child = new Hdf5ObjectInfo(path, object.type, object.num_attrs);
+				child.m_address = object.addr;
+			}
+			addChild(child);
+			infos.add(child);
+			
+			if (child.isGroup()) {
+				ancestors.add(child.m_address);
+				child.addChildren(groupId, objects, ancestors, infos);
+				ancestors.remove(child.m_address);
+			}
+		}
+	}
+	
+	/**
+	 * @param child the info of the new child of this group
+	 */
+	private void addChild(Hdf5ObjectInfo child) {
+		m_children.add(child);
+		m_childrenByName.put(child.m_name, child);
+	}
+	
+	/**
+	 * Takes over the metadata of another link to the same object.
+	 * 
+	 * @param info the info whose metadata has already been loaded
+	 */
+	private void copyMetadataFrom(Hdf5ObjectInfo info) {
+		m_dataType = info.m_dataType;
+		m_dimensions = info.m_dimensions;
+		m_chunkDimensions = info.m_chunkDimensions;
+		m_compressionLevel = info.m_compressionLevel;
+		m_filters = info.m_filters;
+		m_attributes.putAll(info.m_attributes);
+	}
+
+	/**
+	 * @param treeElement the treeElement
+	 * @return the metadata of the treeElement from the index of its file or
+	 * 	{@code null} if the file is not opened read-only or there is no index
+	 * 	of the file which is up to date
+	 * @see Hdf5MetadataIndex#load(Hdf5File)
+	 */
+	static Hdf5ObjectInfo findIndexed(Hdf5TreeElement treeElement) {
+		Hdf5File file = getFile(treeElement);
+		if (file == null || file.getAccess() != Hdf5File.READ_ONLY_ACCESS) {
+			return null;
+		}
+		
+		Hdf5ObjectInfo fileInfo = Hdf5MetadataIndex.load(file);
+		return fileInfo != null ? fileInfo.findDescendant(treeElement.getPathFromFileWithName()) : null;
+	}
+
+	/**
+	 * @param treeElement the treeElement
+	 * @return the file of the treeElement or {@code null} if it is not in
+	 * 	a file anymore
+	 */
+	private static Hdf5File getFile(Hdf5TreeElement treeElement) {
+		Hdf5TreeElement element = treeElement;
+		while (element != null && !element.isFile()) {
+			element = element.getParent();
+		}
+		
+		return (Hdf5File) element;
+	}
+	
+	/**
+	 * @param pathFromFile the path of the descendant relative to this
+	 * 	object (empty for this object itself)
+	 * @return the info of the descendant or {@code null} if it does not exist
+	 */
+	private Hdf5ObjectInfo findDescendant(String pathFromFile) {
+		Hdf5ObjectInfo info = this;
+		if (!pathFromFile.isEmpty()) {
+			for (String name : pathFromFile.split("/")) {
+				info = info.m_childrenByName.get(name);
+				if (info == null) {
+					return null;
+				}
+			}
+		}
+		
+		return info;
+	}
+	
+	/**
+	 * Loads the data type and dimensions (if this is a dataSet) and the data
+	 * types of the attributes.
+	 *
+	 * @param groupId the id of the group where the scan started
+	 * @param pathPrefix the path of that group from the file
+	 */
+	private void loadMetadata(long groupId, String pathPrefix) {
+		String fullPath = m_path.equals(".") ? pathPrefix : pathPrefix + m_path;
+
+		if (isDataSet()) {
+			long dataSetId = -1;
+			long dataspaceId = -1;
+			try {
+				dataSetId = H5.H5Dopen(groupId, m_path, HDF5Constants.H5P_DEFAULT);
+				dataspaceId = H5.H5Dget_space(dataSetId);
+				int ndims = H5.H5Sget_simple_extent_ndims(dataspaceId);
+				m_dimensions = new long[ndims];
+				H5.H5Sget_simple_extent_dims(dataspaceId, m_dimensions, null);
+				loadStorage(dataSetId, fullPath);
+				m_dataType = Hdf5DataType.openDataType(dataSetId);
+
+			} catch (UnsupportedDataTypeException udte) {
+				NodeLogger.getLogger(getClass()).warn("DataSet \"" + fullPath
+						+ "\" could not be loaded: " + udte.getMessage());
+
+			} catch (HDF5LibraryException | IOException | IllegalArgumentException | NullPointerException hlioiaenpe) {
+				NodeLogger.getLogger(getClass()).error("DataSet \"" + fullPath
+						+ "\" could not be loaded: " + hlioiaenpe.getMessage(), hlioiaenpe);
+
+			} finally {
+				closeQuietly(dataspaceId, dataSetId, fullPath);
+			}
+		}
+
+		for (long i = 0; i < m_attributeCount; i++) {
+			String name = null;
+			long attributeId = -1;
+			try {
+				name = H5.H5Aget_name_by_idx(groupId, m_path, HDF5Constants.H5_INDEX_NAME,
+						HDF5Constants.H5_ITER_INC, i, HDF5Constants.H5P_DEFAULT);
+				attributeId = H5.H5Aopen_by_idx(groupId, m_path, HDF5Constants.H5_INDEX_NAME,
+						HDF5Constants.H5_ITER_INC, i, HDF5Constants.H5P_DEFAULT, HDF5Constants.H5P_DEFAULT);
+				m_attributes.put(name, Hdf5DataType.openDataType(attributeId));
+
+			} catch (UnsupportedDataTypeException udte) {
+				// unsupported attributes are kept with a null data type
+				m_attributes.put(name, null);
+				NodeLogger.getLogger(getClass()).warn("Attribute \"" + fullPath + "/" + name
+						+ "\" could not be loaded: " + udte.getMessage());
+
+			} catch (HDF5LibraryException | IOException | IllegalArgumentException | NullPointerException hlioiaenpe) {
+				NodeLogger.getLogger(getClass()).error("Attribute " + i + " of \"" + fullPath
+						+ "\" could not be loaded: " + hlioiaenpe.getMessage(), hlioiaenpe);
+
+			} finally {
+				try {
+					if (attributeId >= 0) {
+						H5.H5Aclose(attributeId);
+					}
+				} catch (HDF5LibraryException hle) {
+					NodeLogger.getLogger(getClass()).error("Attribute \"" + name + "\" of \""
+							+ fullPath + "\" could not be closed");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Loads the chunk dimensions, the compression level and the filters of
+	 * this dataSet.
+	 * 
+	 * @param dataSetId the id of the open dataSet
+	 * @param fullPath the path of the dataSet from the file
+	 * @throws HDF5LibraryException if an error occurred in the hdf library
+	 */
+	private void loadStorage(long dataSetId, String fullPath) throws HDF5LibraryException {
+		long propertyListId = H5.H5Dget_create_plist(dataSetId);
+		try {
+			if (H5.H5Pget_layout(propertyListId) == HDF5Constants.H5D_CHUNKED) {
+				List<Hdf5Filter> filters = new ArrayList<>();
+				int numberOfFilters = H5.H5Pget_nfilters(propertyListId);
+				for (int i = 0; i < numberOfFilters; i++) {
+					int[] values = new int[8];
+		            int filterId = H5.H5Pget_filter(propertyListId, i, new int[1], new long[] { values.length }, values, 256, new String[1], new int[1]);
+		            if (filterId == HDF5Constants.H5Z_FILTER_DEFLATE) {
+			            m_compressionLevel = values[0];
+			            
+		            } else if (Hdf5Filter.get(filterId) != null) {
+		            	filters.add(Hdf5Filter.get(filterId));
+		            	
+		            } else {
+		            	NodeLogger.getLogger(getClass()).debug("DataSet \"" + fullPath + "\" uses the unknown filter " + filterId);
+		            }
+				}
+				m_filters = filters.toArray(new Hdf5Filter[filters.size()]);
+				
+				if (m_dimensions.length > 0) {
+					m_chunkDimensions = new long[m_dimensions.length];
+					H5.H5Pget_chunk(propertyListId, m_chunkDimensions.length, m_chunkDimensions);
+				}
+			}
+		} finally {
+			H5.H5Pclose(propertyListId);
+		}
+	}
+
+	private void closeQuietly(long dataspaceId, long dataSetId, String fullPath) {
+		try {
+			if (dataspaceId >= 0) {
+				H5.H5Sclose(dataspaceId);
+			}
+			if (dataSetId >= 0) {
+				H5.H5Dclose(dataSetId);
+			}
+		} catch (HDF5LibraryException hle) {
+			NodeLogger.getLogger(getClass()).error("DataSet \"" + fullPath + "\" could not be closed");
+		}
+	}
+
+	/**
+	 * @return the path of this object relative to the group where the scan
+	 * 	started or to the file if the metadata has been loaded from the
+	 * 	index ("." for that group or file itself)
+	 */
+	public String getPath() {
+		return m_path;
+	}
+
+	public String getName() {
+		return m_name;
+	}
+
+	public boolean isGroup() {
+		return m_objectType == HDF5Constants.H5O_TYPE_GROUP;
+	}
+
+	public boolean isDataSet() {
+		return m_objectType == HDF5Constants.H5O_TYPE_DATASET;
+	}
+
+	/**
+	 * @return the data type of this dataSet or {@code null} if this is no
+	 * 	dataSet or its data type is not supported
+	 */
+	public Hdf5DataType getDataType() {
+		return m_dataType;
+	}
+
+	/**
+	 * @return the dimensions of this dataSet or {@code null} if this is no
+	 * 	dataSet or they could not be loaded
+	 */
+	public long[] getDimensions() {
+		return m_dimensions != null ? m_dimensions.clone() : null;
+	}
+
+	/**
+	 * @return the sizes of the chunks of this dataSet or {@code null} if
+	 * 	this is no dataSet or it is not stored in chunks
+	 */
+	public long[] getChunkDimensions() {
+		return m_chunkDimensions != null ? m_chunkDimensions.clone() : null;
+	}
+	
+	/**
+	 * @return the level of the deflate compression of this dataSet
+	 * 	(0 if not compressed)
+	 */
+	public int getCompressionLevel() {
+		return m_compressionLevel;
+	}
+	
+	/**
+	 * @return the filters (except the deflate compression) of this dataSet
+	 */
+	public Hdf5Filter[] getFilters() {
+		return m_filters.clone();
+	}
+	
+	/**
+	 * @return the attribute names of this object mapped to their data types
+	 * 	({@code null} for unsupported data types) in the order of the names
+	 */
+	public Map<String, Hdf5DataType> getAttributes() {
+		return Collections.unmodifiableMap(m_attributes);
+	}
+
+	/**
+	 * @return the infos of the children of this group in the order of their
+	 * 	names (empty if this is no group)
+	 */
+	public List<Hdf5ObjectInfo> getChildren() {
+		return Collections.unmodifiableList(m_children);
+	}
+
+	/**
+	 * Collects the data types of all descendant dataSets with supported data
+	 * types. The dataSets of a group come before the dataSets of its child
+	 * groups.
+	 *
+	 * @param pathPrefix the path from the file of this group with an end slash
+	 * @param paths the map in which the paths of the dataSets are put
+	 */
+	void collectDataSetsInfo(String pathPrefix, Map<String, Hdf5DataType> paths) {
+		for (Hdf5ObjectInfo child : m_children) {
+			if (child.isDataSet() && child.m_dataType != null) {
+				paths.put(pathPrefix + child.m_name, child.m_dataType);
+			}
+		}
+		for (Hdf5ObjectInfo child : m_children) {
+			if (child.isGroup()) {
+				child.collectDataSetsInfo(pathPrefix + child.m_name + "/", paths);
+			}
+		}
+	}
+
+	/**
+	 * Collects the data types of all attributes of this object and its
+	 * descendants with supported data types. The attributes of an object
+	 * come before the attributes of its child dataSets which come before
+	 * the attributes of its child groups.
+	 *
+	 * @param pathPrefix the path from the file of this object with an end
+	 * 	slash (empty for the file)
+	 * @param paths the map in which the paths of the attributes are put
+	 */
+	void collectAttributesInfo(String pathPrefix, Map<String, Hdf5DataType> paths) {
+		for (Map.Entry<String, Hdf5DataType> attribute : m_attributes.entrySet()) {
+			if (attribute.getValue() != null) {
+				paths.put(pathPrefix + attribute.getKey().replaceAll("/", "\\\\/"), attribute.getValue());
+			}
+		}
+		for (Hdf5ObjectInfo child : m_children) {
+			if (child.isDataSet() && child.m_dataType != null) {
+				child.collectAttributesInfo(pathPrefix + child.m_name + "/", paths);
+			}
+		}
+		for (Hdf5ObjectInfo child : m_children) {
+			if (child.isGroup()) {
+				child.collectAttributesInfo(pathPrefix + child.m_name + "/", paths);
+			}
+		}
+	}
+
+	/**
+	 * Writes this info and the infos of all descendants to the stream.
+	 * 
+	 * @param out the output stream
+	 * @throws IOException if the stream could not be written
+	 * @see Hdf5ObjectInfo#readFrom(DataInputStream)
+	 */
+	void writeTo(DataOutputStream out) throws IOException {
+		out.writeUTF(m_path);
+		out.writeInt(m_objectType);
+		out.writeLong(m_attributeCount);
+		writeDataType(out, m_dataType);
+		writeLongs(out, m_dimensions);
+		writeLongs(out, m_chunkDimensions);
+		out.writeInt(m_compressionLevel);
+		out.writeInt(m_filters.length);
+		for (Hdf5Filter filter : m_filters) {
+			out.writeUTF(filter.getName());
+		}
+		
+		out.writeInt(m_attributes.size());
+		for (Map.Entry<String, Hdf5DataType> attribute : m_attributes.entrySet()) {
+			out.writeUTF(attribute.getKey());
+			writeDataType(out, attribute.getValue());
+		}
+		
+		out.writeInt(m_children.size());
+		for (Hdf5ObjectInfo child : m_children) {
+			child.writeTo(out);
+		}
+	}
+	
+	/**
+	 * Reads an info and the infos of all its descendants from the stream.
+	 * 
+	 * @param in the input stream
+	 * @return the info
+	 * @throws IOException if the stream could not be read or is corrupt
+	 * @see Hdf5ObjectInfo#writeTo(DataOutputStream)
+	 */
+	static Hdf5ObjectInfo readFrom(DataInputStream in) throws IOException {
+		return readFrom(in, 0);
+	}
+	
+	/**
+	 * @param in the input stream
+	 * @param depth the depth of the info below the info of the file
+	 * @return the info
+	 * @throws IOException if the stream could not be read or is corrupt
+	 * @see Hdf5ObjectInfo#readFrom(DataInputStream)
+	 */
+	private static Hdf5ObjectInfo readFrom(DataInputStream in, int depth) throws IOException {
+		if (depth > MAX_INDEX_DEPTH) {
+			throw new IOException("Metadata index is nested too deeply");
+		}
+		
+		Hdf5ObjectInfo info = new Hdf5ObjectInfo(in.readUTF(), in.readInt(), readCount(in.readLong()));
+		info.m_dataType = readDataType(in, true);
+		info.m_dimensions = readLongs(in);
+		info.m_chunkDimensions = readLongs(in);
+		info.m_compressionLevel = in.readInt();
+		int filterCount = (int) readCount(in.readInt());
+		if (filterCount > Hdf5Filter.values().length) {
+			throw new IOException("Invalid number of filters in metadata index: " + filterCount);
+		}
+		info.m_filters = new Hdf5Filter[filterCount];
+		for (int i = 0; i < info.m_filters.length; i++) {
+			String name = in.readUTF();
+			info.m_filters[i] = Hdf5Filter.get(name);
+			if (info.m_filters[i] == null) {
+				throw new IOException("Unknown filter \"" + name + "\"");
+			}
+		}
+		
+		long attributeCount = readCount(in.readInt());
+		for (long i = 0; i < attributeCount; i++) {
+			info.m_attributes.put(in.readUTF(), readDataType(in, false));
+		}
+		
+		long childCount = readCount(in.readInt());
+		for (long i = 0; i < childCount; i++) {
+			info.addChild(readFrom(in, depth + 1));
+		}
+		
+		return info;
+	}
+	
+	/**
+	 * @param count the count which has been read from an index
+	 * @return the count
+	 * @throws IOException if the count is negative, i.e. the index is corrupt
+	 */
+	private static long readCount(long count) throws IOException {
+		if (count < 0) {
+			throw new IOException("Invalid count in metadata index: " + count);
+		}
+		
+		return count;
+	}
+	
+	private static void writeDataType(DataOutputStream out, Hdf5DataType dataType) throws IOException {
+		out.writeBoolean(dataType != null);
+		if (dataType != null) {
+			Hdf5HdfDataType hdfType = dataType.getHdfType();
+			out.writeInt(hdfType.getType().getTypeId());
+			out.writeUTF(hdfType.getEndian().name());
+			out.writeBoolean(dataType.isVlen());
+			out.writeLong(hdfType.getStringLength());
+		}
+	}
+	
+	private static Hdf5DataType readDataType(DataInputStream in, boolean fromDS) throws IOException {
+		if (!in.readBoolean()) {
+			return null;
+		}
+		
+		HdfDataType type = HdfDataType.get(in.readInt());
+		if (type == null) {
+			throw new IOException("Unknown data type in metadata index");
+		}
+		
+		try {
+			Endian endian = Endian.valueOf(in.readUTF());
+			boolean vlen = in.readBoolean();
+			long stringLength = in.readLong();
+			
+			return Hdf5DataType.createDataType(Hdf5HdfDataType.getInstance(type, endian),
+					Hdf5KnimeDataType.getKnimeDataType(type, fromDS), vlen, fromDS, stringLength);
+			
+		} catch (IllegalArgumentException iae) {
+			throw new IOException("Unknown data type in metadata index: " + iae.getMessage(), iae);
+		}
+	}
+	
+	private static void writeLongs(DataOutputStream out, long[] values) throws IOException {
+		out.writeInt(values != null ? values.length : -1);
+		if (values != null) {
+			for (long value : values) {
+				out.writeLong(value);
+			}
+		}
+	}
+	
+	private static long[] readLongs(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+			
+		} else if (length > MAX_RANK) {
+			throw new IOException("Invalid number of dimensions in metadata index: " + length);
+		}
+		
+		long[] values = new long[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readLong();
+		}
+		
+		return values;
+	}
+
+	@Override
+	public String toString() {
+		return "{ path=" + m_path + ",objectType=" + m_objectType + ",dataType=" + m_dataType
+				+ ",attributes=" + m_attributes.size() + ",children=" + m_children.size() + " }";
+	}
+}
@@ -0,0 +1,429 @@
+package org.knime.hdf5.lib;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import javax.activation.UnsupportedDataTypeException;
+
+import org.knime.core.data.DataRow;
+import org.knime.hdf5.lib.types.Hdf5ArrayConverter;
+import org.knime.hdf5.lib.types.Hdf5DataType;
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+import org.knime.hdf5.nodes.writer.edit.EditDataType.Rounding;
+
+import hdf.hdf5lib.exceptions.HDF5DataspaceInterfaceException;
+
+/**
+ * Buffers the rows which should be written to a dataSet and writes them
+ * block by block such that only one call of the hdf library is needed for
+ * many rows. The values of the rows are converted to the hdf type of the
+ * dataSet when they are added and stored in an array of primitive values
+ * (or Strings) which is directly given to the hdf library.
+ * <br>
+ * <br>
+ * The values of columns which are copied from other dataSets are read
+ * block by block when the buffer is written. This way, whole dataSets can
+ * also be copied block by block (see {@linkplain Hdf5RowBuffer#copyRows(long)}).
+ */
+public class Hdf5RowBuffer {
+
+	/**
+	 * The number of bytes of the values which are buffered by default.
+	 */
+	public static final long DEFAULT_BUFFER_BYTE_SIZE = 1L << 20;
+
+	private final Hdf5DataSet<?> m_dataSet;
+
+	private final int[] m_dataRowColumnIndices;
+
+	/**
+	 * The distinct dataSets from which columns are copied.
+	 */
+	private final Hdf5DataSet<?>[] m_sourceDataSets;
+
+	/**
+	 * The ascending indices of the columns to read of each source dataSet.
+	 */
+	private final long[][] m_sourceColumnIndices;
+
+	/**
+	 * For each column of the dataSet, the index of its source dataSet or -1
+	 * if the values come from the knime rows.
+	 */
+	private final int[] m_sourceIndices;
+
+	/**
+	 * For each column of the dataSet, the position of its column within the
+	 * columns read from its source dataSet.
+	 */
+	private final int[] m_sourcePositions;
+
+	/**
+	 * For each column of the dataSet, the number of following columns
+	 * (including itself) which are consecutive columns of the same source
+	 * dataSet or 0 if the column is part of the previous run.
+	 */
+	private final int[] m_runLengths;
+
+	private final Object m_standardValue;
+
+	private final Rounding m_rounding;
+
+	private final int m_columnCount;
+
+	private final int m_bufferRowSize;
+
+	/**
+	 * The primitive array (or String array) of the buffered values in the
+	 * hdf type of the dataSet.
+	 */
+	private final Object m_buffer;
+
+	/**
+	 * The index of the row in the dataSet where the first buffered row will
+	 * be written.
+	 */
+	private long m_fromRowIndex;
+
+	/**
+	 * The number of rows which were written to the dataSet so far (which is
+	 * also the index of the row to copy from the {@code dataSets} for the
+	 * first buffered row).
+	 */
+	private long m_rowsWritten = 0;
+
+	private int m_rowCount = 0;
+
+	/**
+	 * @param dataSet the dataSet to write the rows to
+	 * @param fromRowIndex the index of the row in {@code dataSet} where the
+	 * 	first row should be written
+	 * @param dataRowColumnIndices the indices of the columns in the knime rows
+	 * 	those values should be written in the respective columns of the dataSet
+	 * 	or -1 if a dataSet of {@code dataSets} should be used
+	 * @param dataSets the dataSets that should be used to write in the respective
+	 * 	columns of the dataSet
+	 * @param dataSetColumnIndices the indices of the columns in the {@code dataSets}
+	 * 	those values should be written in the respective columns of the dataSet
+	 * @param standardValue the standard value for missing values in the knime rows
+	 * @param rounding the rounding for a cast from float to int
+	 * @param bufferRowSize the number of rows which are written at once
+	 * @throws UnsupportedDataTypeException if the type of the dataSet is not supported
+	 * @see Hdf5RowBuffer#getDefaultBufferRowSize(Hdf5DataSet, long)
+	 */
+	public Hdf5RowBuffer(Hdf5DataSet<?> dataSet, long fromRowIndex, int[] dataRowColumnIndices, Hdf5DataSet<?>[] dataSets,
+			long[] dataSetColumnIndices, Object standardValue, Rounding rounding, int bufferRowSize) throws UnsupportedDataTypeException {
+		m_dataSet = dataSet;
+		m_fromRowIndex = fromRowIndex;
+		m_dataRowColumnIndices = dataRowColumnIndices;
+		m_standardValue = standardValue;
+		m_rounding = rounding;
+		m_columnCount = (int) dataSet.numberOfColumns();
+		m_bufferRowSize = Math.max(bufferRowSize, 1);
+
+		// group the copied columns by their source dataSet such that each of them is read only once per block
+		List<Hdf5DataSet<?>> sourceDataSets = new ArrayList<>();
+		List<TreeSet<Long>> sourceColumnIndices = new ArrayList<>();
+		m_sourceIndices = new int[m_columnCount];
+		m_sourcePositions = new int[m_columnCount];
+		int dataSetIndex = 0;
+		for (int i = 0; i < m_columnCount; i++) {
+			m_sourceIndices[i] = -1;
+			if (dataRowColumnIndices[i] < 0) {
+				int sourceIndex = 0;
+				while (sourceIndex < sourceDataSets.size() && sourceDataSets.get(sourceIndex) != dataSets[dataSetIndex]) {
+					sourceIndex++;
+				}
+				if (sourceIndex == sourceDataSets.size()) {
+					sourceDataSets.add(dataSets[dataSetIndex]);
+					sourceColumnIndices.add(new TreeSet<>());
+				}
+				sourceColumnIndices.get(sourceIndex).add(dataSetColumnIndices[dataSetIndex]);
+				m_sourceIndices[i] = sourceIndex;
+				dataSetIndex++;
+			}
+		}
+
+		m_sourceDataSets = sourceDataSets.toArray(new Hdf5DataSet<?>[sourceDataSets.size()]);
+		m_sourceColumnIndices = new long[m_sourceDataSets.length][];
+		for (int i = 0; i < m_sourceDataSets.length; i++) {
+			m_sourceColumnIndices[i] = sourceColumnIndices.get(i).stream().mapToLong(Long::longValue).toArray();
+		}
+		
+		dataSetIndex = 0;
+		for (int i = 0; i < m_columnCount; i++) {
+			if (m_sourceIndices[i] >= 0) {
+				m_sourcePositions[i] = Arrays.binarySearch(m_sourceColumnIndices[m_sourceIndices[i]], dataSetColumnIndices[dataSetIndex]);
+				dataSetIndex++;
+			}
+		}
+		
+		// find the runs of columns which can be copied at once for each row
+		m_runLengths = new int[m_columnCount];
+		for (int i = m_columnCount - 1; i >= 0; i--) {
+			if (m_sourceIndices[i] >= 0) {
+				m_runLengths[i] = i + 1 < m_columnCount && m_sourceIndices[i + 1] == m_sourceIndices[i]
+						&& m_sourcePositions[i + 1] == m_sourcePositions[i] + 1 ? m_runLengths[i + 1] + 1 : 1;
+			}
+		}
+		for (int i = m_columnCount - 1; i > 0; i--) {
+			if (m_sourceIndices[i] >= 0 && m_sourceIndices[i - 1] == m_sourceIndices[i]
+					&& m_sourcePositions[i - 1] + 1 == m_sourcePositions[i]) {
+				m_runLengths[i] = 0;
+			}
+		}
+
+		HdfDataType hdfType = dataSet.getType().getHdfType().getType();
+		int length = m_bufferRowSize * m_columnCount;
+		m_buffer = hdfType == HdfDataType.STRING ? new String[length] : Hdf5ArrayConverter.createArray(hdfType, length);
+	}
+
+	/**
+	 * Returns the number of rows which fits best to buffer for the dataSet.
+	 * This is a multiple of the chunk row size with about
+	 * {@linkplain Hdf5RowBuffer#DEFAULT_BUFFER_BYTE_SIZE} bytes which is not
+	 * larger than the number of rows left in a dataSet which is not extendible.
+	 *
+	 * @param dataSet the dataSet to write the rows to
+	 * @param fromRowIndex the index of the row in {@code dataSet} where the
+	 * 	first row should be written
+	 * @return the number of rows which should be written at once
+	 */
+	public static int getDefaultBufferRowSize(Hdf5DataSet<?> dataSet, long fromRowIndex) {
+		long valueByteSize = dataSet.getElementByteSize();
+		long columnCount = Math.max(dataSet.numberOfColumns(), 1);
+
+		long rowSize = Math.max(DEFAULT_BUFFER_BYTE_SIZE / Math.max(valueByteSize * columnCount, 1), 1);
+		long chunkRowSize = Math.max(dataSet.getChunkRowSize(), 1);
+		rowSize = (rowSize + chunkRowSize - 1) / chunkRowSize * chunkRowSize;
+
+		if (!dataSet.isExtendible()) {
+			rowSize = Math.min(rowSize, Math.max(dataSet.numberOfRows() - fromRowIndex, 1));
+		}
+
+		return (int) Math.min(rowSize, Integer.MAX_VALUE / columnCount);
+	}
+
+	/**
+	 * @return the number of rows which are written at once
+	 */
+	public int getBufferRowSize() {
+		return m_bufferRowSize;
+	}
+
+	/**
+	 * Adds the values of the knime row to the buffer and writes the buffer
+	 * if it is full.
+	 *
+	 * @param inputDataRow the knime row with the values to be written
+	 * @return if the buffer was written successfully (or did not need to be
+	 * 	written)
+	 * @throws IOException if any dataSet is not open or an internal error occurred
+	 * @throws HDF5DataspaceInterfaceException if the rows are out of range of
+	 * 	a dataSet
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public boolean addRow(DataRow inputDataRow) throws IOException, HDF5DataspaceInterfaceException {
+		Hdf5DataType type = m_dataSet.getType();
+		Class knimeClass = type.getKnimeClass();
+		Class outputClass = type.getHdfClass();
+		int fromIndex = m_rowCount * m_columnCount;
+
+		for (int i = 0; i < m_columnCount; i++) {
+			if (m_dataRowColumnIndices[i] >= 0) {
+				Object value = type.getKnimeType().getValueFromDataCell(inputDataRow.getCell(m_dataRowColumnIndices[i]));
+				value = value == null ? m_standardValue : value;
+				setValue(fromIndex + i, type.knimeToHdf(knimeClass, knimeClass.cast(value), outputClass, m_rounding));
+			}
+		}
+
+		m_rowCount++;
+
+		return m_rowCount < m_bufferRowSize || flush();
+	}
+
+	/**
+	 * Adds rows whose values are all copied from the {@code dataSets} and
+	 * writes the buffer whenever it is full. This should only be used if
+	 * no column of the dataSet gets its values from the knime rows.
+	 *
+	 * @param rowCount the number of rows to add
+	 * @return if the buffer was written successfully (or did not need to be
+	 * 	written)
+	 * @throws IOException if any dataSet is not open or an internal error occurred
+	 * @throws HDF5DataspaceInterfaceException if the rows are out of range of
+	 * 	a dataSet
+	 */
+	public boolean copyRows(long rowCount) throws IOException, HDF5DataspaceInterfaceException {
+		boolean success = true;
+		while (rowCount > 0) {
+			int rowsToAdd = (int) Math.min(rowCount, m_bufferRowSize - m_rowCount);
+			m_rowCount += rowsToAdd;
+			rowCount -= rowsToAdd;
+			if (m_rowCount == m_bufferRowSize) {
+				success &= flush();
+			}
+		}
+		
+		return success;
+	}
+
+	/**
+	 * Writes the buffered rows to the dataSet. An extendible dataSet gets
+	 * extended if the rows do not fit into it.
+	 *
+	 * @return if the rows were written successfully
+	 * @throws IOException if any dataSet is not open or an internal error occurred
+	 * @throws HDF5DataspaceInterfaceException if the rows are out of range of
+	 * 	a dataSet
+	 */
+	public boolean flush() throws IOException, HDF5DataspaceInterfaceException {
+		if (m_rowCount == 0) {
+			return true;
+		}
+
+		copyColumnsToBuffer();
+
+		long toRowIndex = m_fromRowIndex + m_rowCount;
+		if (toRowIndex > m_dataSet.numberOfRows() && m_dataSet.isExtendible()) {
+			// grow geometrically with the rows written to avoid changing the extent for every block
+			m_dataSet.appendRows(Math.max(toRowIndex - m_dataSet.numberOfRows(), Math.max(m_dataSet.getChunkRowSize(), m_rowsWritten)));
+		}
+
+		long[] dims = m_dataSet.getDimensions();
+		long[] offset = new long[dims.length];
+		long[] count = dims.clone();
+		if (dims.length > 0) {
+			offset[0] = m_fromRowIndex;
+			count[0] = m_rowCount;
+		}
+
+		int length = m_rowCount * m_columnCount;
+		boolean success = m_buffer instanceof String[]
+				? m_dataSet.writeHdf(length < ((String[]) m_buffer).length ? Arrays.copyOf((String[]) m_buffer, length) : (String[]) m_buffer, offset, count)
+				: m_dataSet.writePrimitive(m_buffer, length, m_dataSet.getType().getConstants()[1], offset, count);
+
+		m_fromRowIndex = toRowIndex;
+		m_rowsWritten += m_rowCount;
+		m_rowCount = 0;
+
+		return success;
+	}
+
+	/**
+	 * Reads the values of the buffered rows from the {@code dataSets} and
+	 * puts them into the respective columns of the buffer. All needed
+	 * columns of a source dataSet are read with one call of the hdf library.
+	 * Columns of the same hdf type are copied without any conversion (and
+	 * read directly into the buffer if the dataSet is an unchanged copy of
+	 * the source dataSet), other numbers are converted as whole arrays and
+	 * other Strings value by value.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void copyColumnsToBuffer() throws IOException, HDF5DataspaceInterfaceException {
+		Hdf5DataType outputType = m_dataSet.getType();
+		HdfDataType outputHdfType = outputType.getHdfType().getType();
+		Class outputClass = outputType.getHdfClass();
+
+		for (int i = 0; i < m_sourceDataSets.length; i++) {
+			Hdf5DataSet<?> dataSet = m_sourceDataSets[i];
+			long[] dims = dataSet.getDimensions();
+			long[] offset = new long[dims.length];
+			long[] count = dims.clone();
+			long[] columnIndices = null;
+			int sourceColumnCount = m_sourceColumnIndices[i].length;
+			if (dims.length > 0) {
+				offset[0] = m_rowsWritten;
+				count[0] = m_rowCount;
+				if (sourceColumnCount < dataSet.numberOfColumns()) {
+					columnIndices = m_sourceColumnIndices[i];
+				}
+			}
+			// a scalar dataSet only has one value for all rows
+			int rowStride = dims.length > 0 ? sourceColumnCount : 0;
+			int length = dims.length > 0 ? m_rowCount * sourceColumnCount : 1;
+
+			Hdf5DataType inputType = dataSet.getType();
+			HdfDataType inputHdfType = inputType.getHdfType().getType();
+			boolean sameType = inputHdfType == outputHdfType;
+			boolean wholeRows = rowStride == m_columnCount && m_runLengths[0] == m_columnCount;
+			
+			Object values = null;
+			if (sameType && wholeRows && outputHdfType.isNumber()) {
+				// the rows of the source dataSet are exactly the rows of this dataSet
+				dataSet.readPrimitive(m_buffer, length, inputType.getConstants()[1], offset, count, null, columnIndices);
+				continue;
+				
+			} else if (inputHdfType.isNumber() && outputHdfType.isNumber()) {
+				values = Hdf5ArrayConverter.createArray(inputHdfType, length);
+				dataSet.readPrimitive(values, length, inputType.getConstants()[1], offset, count, null, columnIndices);
+				if (!sameType) {
+					values = Hdf5ArrayConverter.getConverter(inputHdfType, outputHdfType, m_rounding).convert(values, length);
+				}
+			} else {
+				values = dataSet.readHdf(offset, count, null, columnIndices);
+			}
+			
+			if (sameType || outputHdfType.isNumber() && inputHdfType.isNumber()) {
+				if (wholeRows) {
+					System.arraycopy(values, 0, m_buffer, 0, length);
+					
+				} else {
+					for (int j = 0; j < m_columnCount; j++) {
+						if (m_sourceIndices[j] == i && m_runLengths[j] > 0) {
+							for (int r = 0; r < m_rowCount; r++) {
+								System.arraycopy(values, r * rowStride + m_sourcePositions[j], m_buffer, r * m_columnCount + j, m_runLengths[j]);
+							}
+						}
+					}
+				}
+			} else {
+				Object[] hdfValues = (Object[]) values;
+				Class inputClass = inputType.getHdfClass();
+				for (int j = 0; j < m_columnCount; j++) {
+					if (m_sourceIndices[j] == i) {
+						for (int r = 0; r < m_rowCount; r++) {
+							Object value = hdfValues[r * rowStride + m_sourcePositions[j]];
+							setValue(r * m_columnCount + j, inputType.hdfToHdf(inputClass, inputClass.cast(value), outputClass, outputType, m_rounding));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private void setValue(int index, Object value) throws UnsupportedDataTypeException {
+		switch (m_dataSet.getType().getHdfType().getType()) {
+		case INT8:
+		case UINT8:
+			((byte[]) m_buffer)[index] = (Byte) value;
+			break;
+		case INT16:
+		case UINT16:
+			((short[]) m_buffer)[index] = (Short) value;
+			break;
+		case INT32:
+		case UINT32:
+			((int[]) m_buffer)[index] = (Integer) value;
+			break;
+		case INT64:
+		case UINT64:
+			((long[]) m_buffer)[index] = (Long) value;
+			break;
+		case FLOAT32:
+			((float[]) m_buffer)[index] = (Float) value;
+			break;
+		case FLOAT64:
+			((double[]) m_buffer)[index] = (Double) value;
+			break;
+		case STRING:
+			((String[]) m_buffer)[index] = (String) value;
+			break;
+		default:
+			throw new UnsupportedDataTypeException("Unknown hdfDataType");
+		}
+	}
+}
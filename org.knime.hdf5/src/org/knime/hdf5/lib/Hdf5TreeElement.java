@@ -3,6 +3,7 @@ package org.knime.hdf5.lib;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -48,6 +49,14 @@ abstract public class Hdf5TreeElement {
 	private long m_elementId = -1;
 	
 	private String m_pathFromFile = "";
+	
+	/**
+	 * The names of the child attributes which are loaded when the first unique
+	 * attribute name is needed and maintained on creating, renaming and
+	 * deleting attributes afterwards (or {@code null} if they have not been
+	 * loaded since this treeElement was opened).
+	 */
+	private volatile Hdf5NameSet m_attributeNames;
 
 	/**
 	 * Manages the access to the opening and closing process of this treeElement
@@ -112,31 +121,17 @@ abstract public class Hdf5TreeElement {
 	 * <br>
 	 * <br>
 	 * <b>Note:</b> The constructed name will not be added to the input list.
+	 * To construct several names for the same parent, use an
+	 * {@linkplain Hdf5NameSet} which is maintained alongside the children
+	 * instead of copying all names for every call.
 	 * 
-	 * @param usedNames list of names that are already used
+	 * @param usedNames names that are already used
 	 * @param name the new name for the list {@code usedNames}
 	 * @return a name that is constructed out of {@code name} that is not
 	 * 	contained in {@code usedNames}
 	 */
-	public static String getUniqueName(List<String> usedNames, String name) {
-		String newName = name;
-		
-		if (usedNames.contains(newName)) {
-			String oldName = name;
-			int i = 1;
-			
-			if (oldName.matches(".*\\([1-9][0-9]*\\)")) {
-				i = Integer.parseInt(oldName.substring(oldName.lastIndexOf("(") + 1, oldName.lastIndexOf(")")));
-				oldName = oldName.substring(0, oldName.lastIndexOf("("));
-			}
-			
-			while (usedNames.contains(newName)) {
-				newName = oldName + "(" + i + ")";
-				i++;
-			}
-		}
-		
-		return newName;
+	public static String getUniqueName(Collection<String> usedNames, String name) {
+		return usedNames.contains(name) ? new Hdf5NameSet(usedNames).getUniqueName(name) : name;
 	}
 	
 	public String getName() {
@@ -169,6 +164,7 @@ abstract public class Hdf5TreeElement {
 
 	protected void setElementId(long elementId) {
 		m_elementId = elementId;
+		m_attributeNames = null;
 	}
 
 	protected boolean isOpen() {
@@ -213,6 +209,19 @@ abstract public class Hdf5TreeElement {
 		return this instanceof Hdf5Group;
 	}
 	
+	/**
+	 * @return the file which contains this treeElement or {@code null} if
+	 * 	it is not part of a file anymore
+	 */
+	Hdf5File getFile() {
+		Hdf5TreeElement element = this;
+		while (element != null && !element.isFile()) {
+			element = element.getParent();
+		}
+		
+		return (Hdf5File) element;
+	}
+	
 	/**
 	 * @return if this is an instance of {@linkplain Hdf5File}
 	 */
@@ -309,7 +318,7 @@ abstract public class Hdf5TreeElement {
 			throw new IllegalArgumentException("Prefix for backup cannot contain '/'");
 		}
 		
-		return m_parent.copyObject(this, getUniqueName(Arrays.asList(m_parent.loadObjectNames()), prefix + m_name));
+		return m_parent.copyObject(this, m_parent.getUniqueObjectName(prefix + m_name));
 	}
 	
 	/**
@@ -618,6 +627,7 @@ abstract public class Hdf5TreeElement {
 			success = H5.H5Arename(m_elementId, oldName, newName) >= 0;
 			if (success) {
 				removeAttribute(attribute);
+				updateAttributeNames(oldName, newName);
 			}
 		} catch (HDF5LibraryException | IOException | NullPointerException hlionpe) {
 			throw new IOException("Attribute in \"" + getPathFromFileWithName(true)
@@ -644,6 +654,7 @@ abstract public class Hdf5TreeElement {
 			success = !attribute.isOpen() ? H5.H5Adelete(m_elementId, name) >= 0 : false;
 			if (success) {
 				removeAttribute(attribute);
+				updateAttributeNames(name, null);
 			}
 		} catch (HDF5LibraryException | IOException | NullPointerException hlionpe) {
 			throw new IOException("Attribute \"" + getPathFromFileWithName(true) + name
@@ -670,6 +681,41 @@ abstract public class Hdf5TreeElement {
 		}
 	}
 	
+	/**
+	 * @param name the name for a new child attribute
+	 * @return a name constructed out of {@code name} which no child attribute has
+	 * @throws IOException if the names of the child attributes could not be loaded
+	 * @see Hdf5NameSet#getUniqueName(String)
+	 */
+	String getUniqueAttributeName(String name) throws IOException {
+		Hdf5NameSet attributeNames = m_attributeNames;
+		if (attributeNames == null) {
+			attributeNames = new Hdf5NameSet(Arrays.asList(loadAttributeNames()));
+			m_attributeNames = attributeNames;
+		}
+		
+		return attributeNames.getUniqueName(name);
+	}
+	
+	/**
+	 * Updates the names of the child attributes if they have already been loaded.
+	 * 
+	 * @param removedName the name of the attribute which does not exist
+	 * 	anymore (or {@code null} if none)
+	 * @param addedName the name of the new attribute (or {@code null} if none)
+	 */
+	void updateAttributeNames(String removedName, String addedName) {
+		Hdf5NameSet attributeNames = m_attributeNames;
+		if (attributeNames != null) {
+			if (removedName != null) {
+				attributeNames.remove(removedName);
+			}
+			if (addedName != null) {
+				attributeNames.add(addedName);
+			}
+		}
+	}
+	
 	/**
 	 * @return an array of all names of child attributes
 	 * @throws IOException if an error occurred in the hdf library
@@ -712,7 +758,11 @@ abstract public class Hdf5TreeElement {
 		 * TODO cannot use checkOpen() and m_openLock here since there might be deadlocks then
 		 * (tested on 4 readers and 4 writers executed in parallel) 
 		 */
-		if (isOpen()) {
+		if (isOpen() && isGroup()) {
+			// load the metadata of all descendants in one pass
+			Hdf5ObjectInfo.scan((Hdf5Group) this, false).collectAttributesInfo(getPathFromFileWithName(true), paths);
+			
+		} else if (isOpen()) {
 			String path = getPathFromFileWithName(true);
 			
 			for (String name : loadAttributeNames()) {
@@ -731,24 +781,6 @@ abstract public class Hdf5TreeElement {
 							+ "\" could not be loaded: " + ionpe.getMessage(), ionpe);
 				}
 			}
-			
-			if (isGroup()) {
-				for (String name : ((Hdf5Group) this).loadDataSetNames()) {
-					try {
-						Hdf5DataSet<?> dataSet = ((Hdf5Group) this).getDataSet(name);
-						paths.putAll(dataSet.getAllAttributesInfo());
-						
-					} catch (UnsupportedDataTypeException udte) {
-						NodeLogger.getLogger(getClass()).warn("DataSet \"" + path + name
-								+ "\" could not be loaded: " + udte.getMessage(), udte);
-					}
-				}
-			
-				for (String name : ((Hdf5Group) this).loadGroupNames()) {
-					Hdf5Group group = ((Hdf5Group) this).getGroup(name);
-					paths.putAll(group.getAllAttributesInfo());
-				}
-			}
 		} else {
 			throw new IllegalStateException("\"" + getPathFromFileWithName() + "\" is not open");
 		}
@@ -0,0 +1,427 @@
+package org.knime.hdf5.lib.types;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.activation.UnsupportedDataTypeException;
+
+import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
+import org.knime.hdf5.nodes.writer.edit.EditDataType.Rounding;
+
+/**
+ * Converter for whole arrays of numbers from one {@linkplain HdfDataType}
+ * to another one. The kernels for the conversion are chosen once per
+ * combination of input type, output type and rounding such that the
+ * conversion itself only consists of simple loops over primitive arrays
+ * without any class checks, case distinctions or boxing per value. The
+ * buffers between the kernels are kept per thread such that a conversion
+ * does not allocate any memory.
+ * <br>
+ * <br>
+ * The arrays need to be in the memory layout of the respective hdf type,
+ * i.e. {@code byte[]} for {@code INT8} and {@code UINT8}, {@code short[]}
+ * for {@code INT16} and {@code UINT16}, {@code int[]} for {@code INT32} and
+ * {@code UINT32}, {@code long[]} for {@code INT64} and {@code UINT64},
+ * {@code float[]} for {@code FLOAT32} and {@code double[]} for {@code FLOAT64}.
+ * <br>
+ * <br>
+ * Unsigned values are interpreted by their bit pattern, i.e. a value which
+ * is negative as a signed value is widened by adding {@code 2^8},
+ * {@code 2^16}, {@code 2^32} or {@code 2^64} for {@code UINT8},
+ * {@code UINT16}, {@code UINT32} or {@code UINT64} and all other values
+ * stay as they are. Narrowing to a smaller int type keeps the lower bits.
+ * Single values follow the same semantics because
+ * {@linkplain Hdf5DataType#hdfToHdf(Class, Object, Class, Hdf5DataType, Rounding)}
+ * converts numbers through this class.
+ *
+ * @see Hdf5ArrayConverter#createArray(HdfDataType, int)
+ */
+public final class Hdf5ArrayConverter {
+
+	/**
+	 * the number of values which are converted at once through the buffers
+	 */
+	private static final int BLOCK_SIZE = 4096;
+
+	/**
+	 * map such that only one {@code Hdf5ArrayConverter} exists per combination
+	 * of input type, output type and rounding
+	 */
+	private static final Map<String, Hdf5ArrayConverter> CONVERTERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Kernel which converts {@code length} values from the {@code source}
+	 * array (starting at {@code sourceOffset}) to the {@code target} array
+	 * (starting at {@code targetOffset}).
+	 */
+	@FunctionalInterface
+	private static interface Kernel {
+		void apply(Object source, int sourceOffset, Object target, int targetOffset, int length);
+	}
+
+	private final HdfDataType m_inputType;
+
+	private final HdfDataType m_outputType;
+
+	/**
+	 * {@code true} if the values can just be copied because the memory
+	 * layouts of input and output type are the same
+	 */
+	private final boolean m_copyOnly;
+
+	/**
+	 * loads the input values into a {@code long[]} or {@code double[]} buffer
+	 */
+	private final Kernel m_loadKernel;
+
+	/**
+	 * converts the {@code long[]} buffer to the {@code double[]} buffer or the
+	 * other way round (or is {@code null} if no conversion is needed)
+	 */
+	private final Kernel m_transformKernel;
+
+	/**
+	 * stores the values of the {@code long[]} or {@code double[]} buffer into
+	 * the output array
+	 */
+	private final Kernel m_storeKernel;
+
+	/**
+	 * the load and store buffers of the current thread (or {@code null} if the
+	 * values are just copied)
+	 */
+	private final ThreadLocal<Object[]> m_buffers;
+
+	private Hdf5ArrayConverter(HdfDataType inputType, HdfDataType outputType, Rounding rounding) {
+		m_inputType = inputType;
+		m_outputType = outputType;
+		m_copyOnly = inputType.getSize() == outputType.getSize() && inputType.isFloat() == outputType.isFloat();
+		m_loadKernel = createLoadKernel(inputType);
+		m_storeKernel = createStoreKernel(outputType);
+
+		if (inputType.isFloat() && !outputType.isFloat()) {
+			m_transformKernel = createRoundingKernel(rounding);
+
+		} else if (!inputType.isFloat() && outputType.isFloat()) {
+			m_transformKernel = createLongToDoubleKernel(inputType == HdfDataType.UINT64);
+
+		} else {
+			m_transformKernel = null;
+		}
+
+		m_buffers = m_copyOnly ? null : ThreadLocal.withInitial(this::createBuffers);
+	}
+
+	/**
+	 * Returns the converter for the input and output type. Creates a new
+	 * instance if none exists for this combination or returns the already
+	 * existing instance.
+	 *
+	 * @param inputType the hdf type of the input values
+	 * @param outputType the hdf type of the output values
+	 * @param rounding the rounding for a cast from float to int
+	 * @return the converter
+	 * @throws UnsupportedDataTypeException if the input or output type is no number
+	 */
+	public static Hdf5ArrayConverter getConverter(HdfDataType inputType, HdfDataType outputType, Rounding rounding) throws UnsupportedDataTypeException {
+		if (!inputType.isNumber() || !outputType.isNumber()) {
+			throw new UnsupportedDataTypeException("Cannot convert arrays from " + inputType + " to " + outputType);
+		}
+
+		// the rounding is only relevant for a cast from float to int
+		Rounding usedRounding = inputType.isFloat() && !outputType.isFloat() ? rounding : Rounding.DOWN;
+		String key = inputType + "->" + outputType + ":" + usedRounding;
+
+		Hdf5ArrayConverter converter = CONVERTERS.get(key);
+		if (converter == null) {
+			converter = new Hdf5ArrayConverter(inputType, outputType, usedRounding);
+			Hdf5ArrayConverter existingConverter = CONVERTERS.putIfAbsent(key, converter);
+			converter = existingConverter != null ? existingConverter : converter;
+		}
+
+		return converter;
+	}
+
+	/**
+	 * Creates the array of primitive values for the memory layout of the
+	 * hdf type.
+	 *
+	 * @param type the hdf type
+	 * @param length the length of the array
+	 * @return the new array
+	 * @throws UnsupportedDataTypeException if the hdf type is no number
+	 */
+	public static Object createArray(HdfDataType type, int length) throws UnsupportedDataTypeException {
+		switch (type) {
+		case INT8:
+		case UINT8:
+			return new byte[length];
+		case INT16:
+		case UINT16:
+			return new short[length];
+		case INT32:
+		case UINT32:
+			return new int[length];
+		case INT64:
+		case UINT64:
+			return new long[length];
+		case FLOAT32:
+			return new float[length];
+		case FLOAT64:
+			return new double[length];
+		default:
+			throw new UnsupportedDataTypeException("Cannot create primitive array of this dataType");
+		}
+	}
+
+	public HdfDataType getInputType() {
+		return m_inputType;
+	}
+
+	public HdfDataType getOutputType() {
+		return m_outputType;
+	}
+
+	/**
+	 * @param length the length of the array
+	 * @return a new array for the input values of this converter
+	 * @throws UnsupportedDataTypeException if the input type is no number
+	 */
+	public Object createInputArray(int length) throws UnsupportedDataTypeException {
+		return createArray(m_inputType, length);
+	}
+
+	/**
+	 * @param length the length of the array
+	 * @return a new array for the output values of this converter
+	 * @throws UnsupportedDataTypeException if the output type is no number
+	 */
+	public Object createOutputArray(int length) throws UnsupportedDataTypeException {
+		return createArray(m_outputType, length);
+	}
+
+	/**
+	 * Converts {@code length} values of the {@code input} array (starting at
+	 * {@code inputOffset}) and writes them to the {@code output} array
+	 * (starting at {@code outputOffset}).
+	 *
+	 * @param input the array with the values of the input type
+	 * @param inputOffset the index of the first value to convert
+	 * @param output the array for the values of the output type
+	 * @param outputOffset the index for the first converted value
+	 * @param length the number of values to convert
+	 * @throws ClassCastException if the arrays do not fit to the input
+	 * 	and output type
+	 * @throws ArrayIndexOutOfBoundsException if the arrays are too small
+	 */
+	public void convert(Object input, int inputOffset, Object output, int outputOffset, int length)
+			throws ClassCastException, ArrayIndexOutOfBoundsException {
+		if (m_copyOnly) {
+			System.arraycopy(input, inputOffset, output, outputOffset, length);
+			return;
+		}
+
+		Object[] buffers = m_buffers.get();
+		Object loadBuffer = buffers[0];
+		Object storeBuffer = buffers[1];
+
+		for (int offset = 0; offset < length; offset += BLOCK_SIZE) {
+			int blockLength = Math.min(BLOCK_SIZE, length - offset);
+			m_loadKernel.apply(input, inputOffset + offset, loadBuffer, 0, blockLength);
+			if (m_transformKernel != null) {
+				m_transformKernel.apply(loadBuffer, 0, storeBuffer, 0, blockLength);
+			}
+			m_storeKernel.apply(storeBuffer, 0, output, outputOffset + offset, blockLength);
+		}
+	}
+
+	/**
+	 * @return the load buffer and the store buffer for one thread (which are
+	 * 	the same if no transform kernel is needed)
+	 */
+	private Object[] createBuffers() {
+		Object loadBuffer = m_inputType.isFloat() ? new double[BLOCK_SIZE] : new long[BLOCK_SIZE];
+		Object storeBuffer = m_transformKernel == null ? loadBuffer
+				: m_outputType.isFloat() ? new double[BLOCK_SIZE] : new long[BLOCK_SIZE];
+		return new Object[] { loadBuffer, storeBuffer };
+	}
+
+	/**
+	 * Converts all values of the {@code input} array.
+	 *
+	 * @param input the array with the values of the input type
+	 * @param length the number of values to convert
+	 * @return the new array with the values of the output type
+	 * @throws UnsupportedDataTypeException if the output type is no number
+	 * @see Hdf5ArrayConverter#convert(Object, int, Object, int, int)
+	 */
+	public Object convert(Object input, int length) throws UnsupportedDataTypeException {
+		Object output = createOutputArray(length);
+		convert(input, 0, output, 0, length);
+		return output;
+	}
+
+	/**
+	 * @param inputType the hdf type of the input values
+	 * @return the kernel which widens the input values to a {@code long[]}
+	 * 	(for ints) or {@code double[]} (for floats) buffer
+	 */
+	private static Kernel createLoadKernel(HdfDataType inputType) {
+		switch (inputType) {
+		case INT8:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				byte[] in = (byte[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i];
+				}
+			};
+		case UINT8:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				byte[] in = (byte[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i] & 0xFFL;
+				}
+			};
+		case INT16:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				short[] in = (short[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i];
+				}
+			};
+		case UINT16:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				short[] in = (short[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i] & 0xFFFFL;
+				}
+			};
+		case INT32:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				int[] in = (int[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i];
+				}
+			};
+		case UINT32:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				int[] in = (int[]) source;
+				long[] out = (long[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i] & 0xFFFFFFFFL;
+				}
+			};
+		case FLOAT32:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				float[] in = (float[]) source;
+				double[] out = (double[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = in[sourceOffset + i];
+				}
+			};
+		default:
+			// INT64, UINT64 and FLOAT64 already have the layout of the buffer
+			return System::arraycopy;
+		}
+	}
+
+	/**
+	 * @param outputType the hdf type of the output values
+	 * @return the kernel which narrows the values of the {@code long[]}
+	 * 	(for ints) or {@code double[]} (for floats) buffer to the output type
+	 */
+	private static Kernel createStoreKernel(HdfDataType outputType) {
+		switch (outputType) {
+		case INT8:
+		case UINT8:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				long[] in = (long[]) source;
+				byte[] out = (byte[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = (byte) in[sourceOffset + i];
+				}
+			};
+		case INT16:
+		case UINT16:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				long[] in = (long[]) source;
+				short[] out = (short[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = (short) in[sourceOffset + i];
+				}
+			};
+		case INT32:
+		case UINT32:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				long[] in = (long[]) source;
+				int[] out = (int[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = (int) in[sourceOffset + i];
+				}
+			};
+		case FLOAT32:
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				double[] in = (double[]) source;
+				float[] out = (float[]) target;
+				for (int i = 0; i < length; i++) {
+					out[targetOffset + i] = (float) in[sourceOffset + i];
+				}
+			};
+		default:
+			// INT64, UINT64 and FLOAT64 already have the layout of the buffer
+			return System::arraycopy;
+		}
+	}
+
+	/**
+	 * @param rounding the rounding for a cast from float to int
+	 * @return the kernel which rounds the {@code double[]} buffer into the
+	 * 	{@code long[]} buffer
+	 */
+	private static Kernel createRoundingKernel(Rounding rounding) {
+		// the rounding itself is delegated such that it is the same as for single values
+		return (source, sourceOffset, target, targetOffset, length) -> {
+			double[] in = (double[]) source;
+			long[] out = (long[]) target;
+			for (int i = 0; i < length; i++) {
+				out[targetOffset + i] = rounding.round(in[sourceOffset + i]);
+			}
+		};
+	}
+
+	/**
+	 * @param unsigned64 if the input type is {@code UINT64}
+	 * @return the kernel which converts the {@code long[]} buffer into the
+	 * 	{@code double[]} buffer
+	 */
+	private static Kernel createLongToDoubleKernel(boolean unsigned64) {
+		if (unsigned64) {
+			return (source, sourceOffset, target, targetOffset, length) -> {
+				long[] in = (long[]) source;
+				double[] out = (double[]) target;
+				for (int i = 0; i < length; i++) {
+					long value = in[sourceOffset + i];
+					out[targetOffset + i] = value + (value < 0 ? Hdf5DataType.POW_2_64 : 0.0);
+				}
+			};
+		}
+
+		return (source, sourceOffset, target, targetOffset, length) -> {
+			long[] in = (long[]) source;
+			double[] out = (double[]) target;
+			for (int i = 0; i < length; i++) {
+				out[targetOffset + i] = in[sourceOffset + i];
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "{ inputType=" + m_inputType + ",outputType=" + m_outputType + " }";
+	}
+}
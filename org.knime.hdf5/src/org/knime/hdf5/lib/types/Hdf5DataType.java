@@ -1,6 +1,7 @@
 package org.knime.hdf5.lib.types;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 
 import javax.activation.UnsupportedDataTypeException;
 
@@ -383,7 +384,9 @@ public class Hdf5DataType {
 	}
 	
 	/**
-	 * Converts a value from between 2 hdf data types.
+	 * Converts a value from between 2 hdf data types. Numbers are converted
+	 * with the {@linkplain Hdf5ArrayConverter} such that single values and
+	 * whole arrays are converted the same way.
 	 * 
 	 * @param inputClass the class of the hdf type (use {@linkplain #getHdfClass()})
 	 * @param inputValue the input value
@@ -392,6 +395,7 @@ public class Hdf5DataType {
 	 * @param rounding the rounding from float to int
 	 * @return the output value
 	 * @throws UnsupportedDataTypeException if the input parameters contradict each other
+	 * @see Hdf5ArrayConverter
 	 */
 	public <T, S> S hdfToHdf(Class<T> inputClass, T inputValue, Class<S> outputClass, Hdf5DataType outputType, Rounding rounding) throws UnsupportedDataTypeException {
 		if (inputClass == inputValue.getClass() && inputClass == getHdfClass() && outputClass == outputType.getHdfClass()) {
@@ -406,41 +410,12 @@ public class Hdf5DataType {
 			HdfDataType inputHdfType = getHdfType().getType();
 			HdfDataType outputHdfType = outputType.getHdfType().getType();
 			if (inputHdfType.isNumber()) {
-				long inputValueLong = inputHdfType.isFloat() ? rounding.round(((Number) inputValue).doubleValue()) : ((Number) inputValue).longValue();
-				switch (inputHdfType) {
-				case UINT8:
-					inputValueLong += POW_2_8;
-					break;
-				case UINT16:
-					inputValueLong += POW_2_16;
-					break;
-				case UINT32:
-					inputValueLong += POW_2_32;
-					break;
-				default:
-					break;
-				}
+				// convert the single value like a whole array such that both have the same semantics
+				Object input = Hdf5ArrayConverter.createArray(inputHdfType, 1);
+				Array.set(input, 0, inputValue);
+				Object output = Hdf5ArrayConverter.getConverter(inputHdfType, outputHdfType, rounding).convert(input, 1);
+				return outputClass.cast(Array.get(output, 0));
 				
-				if (outputHdfType == HdfDataType.INT8 || outputHdfType == HdfDataType.UINT8) {
-					return outputClass.cast((byte) inputValueLong);
-					
-				} else if (outputHdfType == HdfDataType.INT16 || outputHdfType == HdfDataType.UINT16) {
-					return outputClass.cast((short) inputValueLong);
-					
-				} else if (outputHdfType == HdfDataType.INT32 || outputHdfType == HdfDataType.UINT32) {
-					return outputClass.cast((int) inputValueLong);
-					
-				} else if (outputHdfType == HdfDataType.INT64 || outputHdfType == HdfDataType.UINT64) {
-					return outputClass.cast(inputValueLong);
-					
-				} else if (outputHdfType == HdfDataType.FLOAT32) {
-					return outputClass.cast(inputHdfType.isFloat() ? ((Number) inputValue).floatValue()
-							: ((float) inputValueLong + (inputHdfType == HdfDataType.UINT64 ? POW_2_64 : 0)));
-				
-				} else if (outputHdfType == HdfDataType.FLOAT64) {
-					return outputClass.cast(inputHdfType.isFloat() ? ((Number) inputValue).doubleValue()
-							: ((double) inputValueLong + (inputHdfType == HdfDataType.UINT64 ? POW_2_64 : 0)));
-				}
 			} else {
 				double inputValueDouble = Double.parseDouble((String) inputValue);
 				switch (outputHdfType) {
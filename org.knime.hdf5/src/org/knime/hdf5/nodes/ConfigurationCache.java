@@ -0,0 +1,113 @@
+package org.knime.hdf5.nodes;
+
+import java.io.File;
+import java.util.Objects;
+
+import org.knime.core.node.NodeSettings;
+
+/**
+ * Cache of a node for a result which is computed from an hdf file and the
+ * settings of the node (e.g. the spec of the output table) such that the
+ * file does not need to be opened and scanned again in every configure. The
+ * result is only used as long as the file has the same size and modification
+ * time and the settings are the same.
+ *
+ * @param <T> the type of the result
+ */
+public class ConfigurationCache<T> {
+
+	private Key m_key;
+
+	private T m_value;
+
+	/**
+	 * The identity and state of the file and the settings from which a
+	 * result is computed.
+	 */
+	public static final class Key {
+
+		private final String m_filePath;
+
+		private final long m_length;
+
+		private final long m_lastModified;
+
+		private final String m_settings;
+
+		private final int m_hashCode;
+
+		private Key(String filePath, long length, long lastModified, String settings) {
+			m_filePath = filePath;
+			m_length = length;
+			m_lastModified = lastModified;
+			m_settings = settings;
+			m_hashCode = Objects.hash(filePath, length, lastModified, settings);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return m_hashCode == other.m_hashCode && m_length == other.m_length
+					&& m_lastModified == other.m_lastModified && m_filePath.equals(other.m_filePath)
+					&& m_settings.equals(other.m_settings);
+		}
+
+		@Override
+		public int hashCode() {
+			return m_hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return "{ filePath=" + m_filePath + ",length=" + m_length + ",lastModified=" + m_lastModified + " }";
+		}
+	}
+
+	/**
+	 * Creates the key for the current state of the file. The key needs to be
+	 * created before the result is computed such that a change of the file
+	 * during the computation does not get unnoticed.
+	 *
+	 * @param filePath the path of the file (the file does not need to exist)
+	 * @param settings the settings which the result depends on
+	 * @return the key
+	 */
+	public static Key createKey(String filePath, NodeSettings settings) {
+		File file = new File(filePath);
+		return new Key(file.getAbsolutePath(), file.length(), file.lastModified(), settings.toString());
+	}
+
+	/**
+	 * @param key the key of the current file and settings
+	 * @return the cached result or {@code null} if the result is not cached
+	 * 	for this key
+	 */
+	public synchronized T get(Key key) {
+		return key.equals(m_key) ? m_value : null;
+	}
+
+	/**
+	 * Caches the result for the key instead of the previous result.
+	 *
+	 * @param key the key which has been created before computing the result
+	 * @param value the result
+	 */
+	public synchronized void put(Key key, T value) {
+		m_key = key;
+		m_value = value;
+	}
+
+	/**
+	 * Removes the cached result.
+	 */
+	public synchronized void clear() {
+		m_key = null;
+		m_value = null;
+	}
+}
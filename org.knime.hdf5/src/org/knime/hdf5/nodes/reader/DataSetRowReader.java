@@ -0,0 +1,290 @@
+package org.knime.hdf5.nodes.reader;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.ThreadPool;
+import org.knime.hdf5.lib.Hdf5DataSet;
+
+/**
+ * Reads the rows of several dataSets block by block and joins them to
+ * knime rows. If the dataSets should be read in parallel, every dataSet
+ * is read by a worker of the knime thread pool while the rows of the
+ * previous blocks get joined. At most {@linkplain DataSetRowReader#BLOCKS_AHEAD} blocks are
+ * read ahead to limit the memory used.
+ * <br>
+ * <br>
+ * The file of the dataSets needs to be opened (by the thread which creates
+ * this reader) during the whole time this reader is used. The worker
+ * threads do not open the file themselves such that they do not compete
+ * for the lock of the file with the thread owning it. Since the hdf
+ * library only allows one call at a time, the workers mainly parallelize
+ * the conversion of the values read to knime cells.
+ */
+class DataSetRowReader implements AutoCloseable {
+
+	/**
+	 * The maximum number of blocks which are read in advance.
+	 */
+	private static final int BLOCKS_AHEAD = 2;
+
+	private final Hdf5DataSet<?>[] m_dataSets;
+
+	/**
+	 * The indices of the columns to read for each dataSet ({@code null} for
+	 * all columns).
+	 */
+	private final long[][] m_columnIndices;
+
+	/**
+	 * The index of the first column of each dataSet within the joined rows.
+	 */
+	private final int[] m_fromColumnIndices;
+
+	/**
+	 * The number of cells of the joined rows.
+	 */
+	private final int m_columnCount;
+
+	private final RowSelection m_rowSelection;
+
+	private final long m_blockRowSize;
+
+	/**
+	 * The sub pool of the knime thread pool for the workers or {@code null}
+	 * if the dataSets are read sequentially.
+	 */
+	private final ThreadPool m_workerPool;
+
+	/**
+	 * The blocks which are already submitted to the workers.
+	 */
+	private final Deque<PendingBlock> m_pendingBlocks = new ArrayDeque<>();
+
+	/**
+	 * The position (within the row selection) of the first row of the next
+	 * block to submit.
+	 */
+	private long m_nextBlockPosition = 0;
+
+	/**
+	 * @param dataSets the dataSets to read from
+	 * @param columnIndices the ascending indices of the columns to read for
+	 * 	each dataSet ({@code null} for all columns of the dataSet)
+	 * @param rowSelection the selection of the rows to read
+	 * @param blockRowSize the number of rows which are read at once
+	 * @param parallel if the dataSets should be read in parallel
+	 */
+	DataSetRowReader(Hdf5DataSet<?>[] dataSets, long[][] columnIndices, RowSelection rowSelection, long blockRowSize, boolean parallel) {
+		m_dataSets = dataSets;
+		m_columnIndices = columnIndices;
+		m_fromColumnIndices = new int[dataSets.length];
+		int columnCount = 0;
+		for (int i = 0; i < dataSets.length; i++) {
+			m_fromColumnIndices[i] = columnCount;
+			columnCount += columnIndices[i] != null ? columnIndices[i].length : (int) dataSets[i].numberOfColumns();
+		}
+		m_columnCount = columnCount;
+		m_rowSelection = rowSelection;
+		m_blockRowSize = blockRowSize;
+
+		// the sub pool respects the limit of threads of the pool of this node
+		int threadCount = Math.min(dataSets.length, Runtime.getRuntime().availableProcessors());
+		ThreadPool parentPool = ThreadPool.currentPool() != null ? ThreadPool.currentPool() : KNIMEConstants.GLOBAL_THREAD_POOL;
+		m_workerPool = parallel && threadCount > 1 ? parentPool.createSubPool(threadCount) : null;
+	}
+
+	/**
+	 * @return if there are more rows to read
+	 */
+	boolean hasNextBlock() {
+		return !m_pendingBlocks.isEmpty() || m_nextBlockPosition < m_rowSelection.size();
+	}
+
+	/**
+	 * @return the position (within the row selection) of the first row of
+	 * 	the next block
+	 */
+	long getNextBlockPosition() {
+		return m_nextBlockPosition - m_pendingBlocks.size() * m_blockRowSize;
+	}
+
+	/**
+	 * Reads the next block of rows of all dataSets and joins them to knime rows.
+	 *
+	 * @return the rows of the next block (rows without any cells are skipped)
+	 * @throws IOException if a dataSet could not be read
+	 */
+	List<DataRow> nextBlock() throws IOException {
+		long fromPosition = getNextBlockPosition();
+		DataCell[][] rows = null;
+
+		if (m_workerPool != null) {
+			while (m_pendingBlocks.size() <= BLOCKS_AHEAD && m_nextBlockPosition < m_rowSelection.size()) {
+				m_pendingBlocks.add(submitBlock(m_nextBlockPosition));
+				m_nextBlockPosition += m_blockRowSize;
+			}
+
+			PendingBlock block = m_pendingBlocks.poll();
+			for (Future<?> future : block.m_futures) {
+				waitFor(future);
+			}
+			rows = block.m_rows;
+
+		} else {
+			rows = new DataCell[getRowsInBlock(fromPosition)][m_columnCount];
+			long[] rowIndices = getRowIndices(fromPosition, rows.length);
+			for (int i = 0; i < m_dataSets.length; i++) {
+				readCells(m_dataSets[i], m_columnIndices[i], fromPosition, rowIndices, rows, m_fromColumnIndices[i]);
+			}
+			m_nextBlockPosition += m_blockRowSize;
+		}
+
+		List<DataRow> joinedRows = new ArrayList<>(rows.length);
+		if (m_columnCount > 0) {
+			for (int r = 0; r < rows.length; r++) {
+				joinedRows.add(new DefaultRow("Row" + m_rowSelection.getRowIndex(fromPosition + r), rows[r]));
+			}
+		}
+
+		return joinedRows;
+	}
+
+	private int getRowsInBlock(long fromPosition) {
+		return (int) Math.min(m_blockRowSize, m_rowSelection.size() - fromPosition);
+	}
+	
+	/**
+	 * @param fromPosition the position of the first row of the block
+	 * @param rowCount the number of rows of the block
+	 * @return the indices of the rows of the block in the dataSets or
+	 * 	{@code null} if the rows are consecutive
+	 */
+	private long[] getRowIndices(long fromPosition, int rowCount) {
+		return m_rowSelection.isContiguous() ? null : m_rowSelection.getRowIndices(fromPosition, rowCount);
+	}
+
+	/**
+	 * Submits the reading of the block to the workers. Every worker fills
+	 * its own columns of the rows such that they do not interfere.
+	 *
+	 * @param fromPosition the position of the first row of the block
+	 * @return the block whose rows get filled by the workers
+	 */
+	private PendingBlock submitBlock(long fromPosition) {
+		DataCell[][] rows = new DataCell[getRowsInBlock(fromPosition)][m_columnCount];
+		long[] rowIndices = getRowIndices(fromPosition, rows.length);
+		List<Future<?>> futures = new ArrayList<>(m_dataSets.length);
+		for (int i = 0; i < m_dataSets.length; i++) {
+			Hdf5DataSet<?> dataSet = m_dataSets[i];
+			long[] columnIndices = m_columnIndices[i];
+			int fromColumnIndex = m_fromColumnIndices[i];
+			futures.add(m_workerPool.enqueue((Callable<Void>) () -> {
+				readCells(dataSet, columnIndices, fromPosition, rowIndices, rows, fromColumnIndex);
+				return null;
+			}));
+		}
+
+		return new PendingBlock(rows, futures);
+	}
+
+	/**
+	 * Reads the cells of the block from the dataSet. Only the selected rows
+	 * and columns are read from the file.
+	 */
+	private void readCells(Hdf5DataSet<?> dataSet, long[] columnIndices, long fromPosition, long[] rowIndices, DataCell[][] rows,
+			int fromColumnIndex) throws IOException {
+		try {
+			if (rowIndices == null) {
+				dataSet.readCells(m_rowSelection.getRowIndex(fromPosition), columnIndices, rows, fromColumnIndex);
+			} else {
+				dataSet.readCells(rowIndices, columnIndices, rows, fromColumnIndex);
+			}
+
+		} catch (IOException ioe) {
+			throw ioe;
+
+		} catch (Exception e) {
+			throw new IOException("Could not read rows of dataSet \"" + dataSet.getPathFromFileWithName()
+					+ "\": " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Waits for the worker. If this thread belongs to the knime thread pool,
+	 * it does not count for the limit of threads while waiting such that the
+	 * workers can run.
+	 */
+	private static void waitFor(Future<?> future) throws IOException {
+		try {
+			ThreadPool currentPool = ThreadPool.currentPool();
+			if (currentPool != null) {
+				currentPool.runInvisible(future::get);
+			} else {
+				future.get();
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Reading of dataSets interrupted", ie);
+
+		} catch (ExecutionException ee) {
+			Throwable cause = ee.getCause();
+			// runInvisible wraps the exception of the future again
+			if (cause instanceof ExecutionException) {
+				cause = cause.getCause();
+			}
+			if (cause instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Reading of dataSets interrupted", cause);
+			}
+			throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+		}
+	}
+
+	/**
+	 * Cancels the workers which have not started yet and waits until the
+	 * others are finished such that the file can be closed afterwards.
+	 */
+	@Override
+	public void close() {
+		for (PendingBlock block : m_pendingBlocks) {
+			for (Future<?> future : block.m_futures) {
+				if (!future.cancel(false)) {
+					try {
+						waitFor(future);
+					} catch (CancellationException | IOException cioe) {
+						NodeLogger.getLogger(getClass()).debug("Worker for reading a dataSet failed: " + cioe.getMessage(), cioe);
+					}
+				}
+			}
+		}
+		m_pendingBlocks.clear();
+	}
+
+	/**
+	 * A block of rows which gets filled by the workers.
+	 */
+	private static class PendingBlock {
+
+		private final DataCell[][] m_rows;
+
+		private final List<Future<?>> m_futures;
+
+		private PendingBlock(DataCell[][] rows, List<Future<?>> futures) {
+			m_rows = rows;
+			m_futures = futures;
+		}
+	}
+}
@@ -1,12 +1,15 @@
 package org.knime.hdf5.nodes.reader;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
-import javax.swing.BorderFactory;
 import javax.swing.JFileChooser;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.node.FlowVariableModel;
 import org.knime.core.node.InvalidSettingsException;
@@ -18,7 +21,11 @@ import org.knime.core.node.defaultnodesettings.DefaultNodeSettingsPane;
 import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
 import org.knime.core.node.defaultnodesettings.DialogComponentFileChooser;
 import org.knime.core.node.defaultnodesettings.DialogComponentLabel;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelLong;
+import org.knime.core.node.defaultnodesettings.SettingsModelLongBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
 import org.knime.core.node.util.filter.column.DataColumnSpecFilterPanel;
@@ -32,29 +39,111 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 
 	private final DataColumnSpecFilterPanel m_dataSetFilterPanel;
 
+	private final DataColumnSpecFilterPanel m_columnFilterPanel;
+
 	private final DataColumnSpecFilterPanel m_attributeFilterPanel;
+	
+	/**
+	 * The spec of all dataSets of the file (the column names are the paths
+	 * of the dataSets).
+	 */
+	private DataTableSpec m_dataSetSpec = new DataTableSpec();
+	
+	/**
+	 * The column specs of each dataSet of the file which are only created
+	 * once per file such that a change of the selected dataSets does not
+	 * need to scan the file again.
+	 */
+	private Map<String, List<DataColumnSpec>> m_columnSpecsOfDataSets = Collections.emptyMap();
 
 	private SettingsModelString m_filePathSettings;
 
 	private SettingsModelBoolean m_failIfRowSizeDiffersSettings;
 
+	private SettingsModelIntegerBounded m_blockRowSizeSettings;
+
+	private SettingsModelBoolean m_readInParallelSettings;
+
+	private SettingsModelLongBounded m_rowOffsetSettings;
+
+	private SettingsModelLongBounded m_rowCountSettings;
+
+	private SettingsModelLongBounded m_rowStrideSettings;
+
+	private SettingsModelLongBounded m_sampleSizeSettings;
+
+	private SettingsModelLong m_sampleSeedSettings;
+
 	public HDF5ReaderNodeDialog() {
 		createFileChooser();
 
 		m_failIfRowSizeDiffersSettings = SettingsFactory.createFailIfRowSizeDiffersSettings();
 		DialogComponentBoolean failIfRowSizeDiffers = new DialogComponentBoolean(m_failIfRowSizeDiffersSettings,
 				"Fail if row size differs");
-		failIfRowSizeDiffers.getComponentPanel()
-				.setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), "Advanced settings:"));
+		
+		m_blockRowSizeSettings = SettingsFactory.createBlockRowSizeSettings();
+		DialogComponentNumber blockRowSize = new DialogComponentNumber(m_blockRowSizeSettings,
+				"Rows to read at once", 100);
+		
+		m_readInParallelSettings = SettingsFactory.createReadInParallelSettings();
+		DialogComponentBoolean readInParallel = new DialogComponentBoolean(m_readInParallelSettings,
+				"Read dataSets in parallel");
+		
+		createNewGroup("Advanced settings:");
 		addDialogComponent(failIfRowSizeDiffers);
+		addDialogComponent(blockRowSize);
+		addDialogComponent(readInParallel);
+		closeCurrentGroup();
+		
+		createRowSelection();
 		
 		m_dataSetFilterPanel = new DataColumnSpecFilterPanel();
 		addTab("Data Sets", m_dataSetFilterPanel);
 
+		m_columnFilterPanel = new DataColumnSpecFilterPanel();
+		addTab("Columns", m_columnFilterPanel);
+		m_dataSetFilterPanel.addChangeListener(new ChangeListener() {
+			
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				updateColumnConfig(null);
+			}
+		});
+
 		m_attributeFilterPanel = new DataColumnSpecFilterPanel();
 		addTab("Attributes", m_attributeFilterPanel);
 	}
 
+	private void createRowSelection() {
+		m_rowOffsetSettings = SettingsFactory.createRowOffsetSettings();
+		DialogComponentNumber rowOffset = new DialogComponentNumber(m_rowOffsetSettings,
+				"Index of first row", 1);
+		
+		m_rowCountSettings = SettingsFactory.createRowCountSettings();
+		DialogComponentNumber rowCount = new DialogComponentNumber(m_rowCountSettings,
+				"Number of rows (-1 for all)", 1);
+		
+		m_rowStrideSettings = SettingsFactory.createRowStrideSettings();
+		DialogComponentNumber rowStride = new DialogComponentNumber(m_rowStrideSettings,
+				"Read every k-th row", 1);
+		
+		m_sampleSizeSettings = SettingsFactory.createSampleSizeSettings();
+		DialogComponentNumber sampleSize = new DialogComponentNumber(m_sampleSizeSettings,
+				"Random sample size (0 for no sample)", 1);
+		
+		m_sampleSeedSettings = SettingsFactory.createSampleSeedSettings();
+		DialogComponentNumber sampleSeed = new DialogComponentNumber(m_sampleSeedSettings,
+				"Random seed", 1);
+		
+		createNewGroup("Row selection:");
+		addDialogComponent(rowOffset);
+		addDialogComponent(rowCount);
+		addDialogComponent(rowStride);
+		addDialogComponent(sampleSize);
+		addDialogComponent(sampleSeed);
+		closeCurrentGroup();
+	}
+
 	private void createFileChooser() {
 		m_filePathSettings = SettingsFactory.createFilePathSettings();
 		FlowVariableModel filePathFvm = super.createFlowVariableModel(m_filePathSettings);
@@ -102,7 +191,7 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 	}
 
 	private boolean updateConfigs(final NodeSettingsRO settings) {
-		return updateDataSetConfig(settings) | updateAttributeConfig(settings);
+		return updateDataSetConfig(settings) | updateColumnConfig(settings) | updateAttributeConfig(settings);
 	}
 
 	/**
@@ -121,16 +210,21 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 		}
 		
 		DataTableSpec spec = null;
+		Map<String, List<DataColumnSpec>> columnSpecsOfDataSets = null;
 		try {
 			Hdf5File file = Hdf5File.openFile(HDF5ReaderNodeModel.getFilePathFromUrlPath(m_filePathSettings.getStringValue(), true), Hdf5File.READ_ONLY_ACCESS);
 			try {
 				spec = file.createSpecOfDataSets();
+				columnSpecsOfDataSets = HDF5ReaderNodeModel.createColumnSpecsOfDataSets(file, spec.getColumnNames());
 			} finally {
 				file.close();
 			}
 		} catch (IOException | InvalidSettingsException ioise) {
 			spec = new DataTableSpec();
+			columnSpecsOfDataSets = Collections.emptyMap();
 		}
+		m_dataSetSpec = spec;
+		m_columnSpecsOfDataSets = columnSpecsOfDataSets;
 		
 		config.loadConfigurationInDialog(settings, spec);
 		m_dataSetFilterPanel.loadConfiguration(config, spec);
@@ -138,6 +232,35 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 		return spec.getNumColumns() != 0;
 	}
 
+	/**
+	 * Updates the configuration for the columns of the selected hdf dataSets.
+	 * The columns are taken from the column specs which have been created in
+	 * the last {@linkplain #updateDataSetConfig(NodeSettingsRO)}.
+	 * 
+	 * @param settings the node settings to read from
+	 * @return if the specs are not empty
+	 */
+	private boolean updateColumnConfig(NodeSettingsRO settings) {
+		DataColumnSpecFilterConfiguration config = SettingsFactory.createColumnFilterConfiguration();
+		if (settings == null || !settings.containsKey(config.getConfigRootName())) {
+			NodeSettings tempSettings = new NodeSettings("temp");
+			m_columnFilterPanel.saveConfiguration(config);
+			config.saveConfiguration(tempSettings);
+			settings = tempSettings;
+		}
+		
+		DataColumnSpecFilterConfiguration dataSetConfig = SettingsFactory.createDataSetFilterConfiguration();
+		m_dataSetFilterPanel.saveConfiguration(dataSetConfig);
+		
+		String[] dataSetPaths = dataSetConfig.applyTo(m_dataSetSpec).getIncludes();
+		DataTableSpec spec = HDF5ReaderNodeModel.createSpecOfColumns(m_columnSpecsOfDataSets, dataSetPaths);
+		
+		config.loadConfigurationInDialog(settings, spec);
+		m_columnFilterPanel.loadConfiguration(config, spec);
+		
+		return spec.getNumColumns() != 0;
+	}
+
 	/**
 	 * Updates the configuration for importing the hdf attributes.
 	 * 
@@ -172,7 +295,7 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 	}
 
 	/**
-	 * Updates the dataSet and attribute configs.
+	 * Updates the dataSet, column and attribute configs.
 	 * 
 	 * @param settings the node settings to read from
 	 * @param specs the input specs
@@ -183,7 +306,7 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 	}
 
 	/**
-	 * Save the settings of the dataSet and attribute configs.
+	 * Save the settings of the dataSet, column and attribute configs.
 	 */
 	@Override
 	public void saveAdditionalSettingsTo(final NodeSettingsWO settings) {
@@ -191,6 +314,10 @@ class HDF5ReaderNodeDialog extends DefaultNodeSettingsPane {
 		m_dataSetFilterPanel.saveConfiguration(dataSetConfig);
 		dataSetConfig.saveConfiguration(settings);
 
+		DataColumnSpecFilterConfiguration columnConfig = SettingsFactory.createColumnFilterConfiguration();
+		m_columnFilterPanel.saveConfiguration(columnConfig);
+		columnConfig.saveConfiguration(settings);
+
 		DataColumnSpecFilterConfiguration attributeConfig = SettingsFactory.createAttributeFilterConfiguration();
 		m_attributeFilterPanel.saveConfiguration(attributeConfig);
 		attributeConfig.saveConfiguration(settings);
@@ -7,18 +7,21 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 import javax.activation.UnsupportedDataTypeException;
 
-import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
-import org.knime.core.data.def.DefaultRow;
 import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -28,17 +31,30 @@ import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeCreationContext;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelLong;
+import org.knime.core.node.defaultnodesettings.SettingsModelLongBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
 import org.knime.core.util.FileUtil;
 import org.knime.hdf5.lib.Hdf5Attribute;
 import org.knime.hdf5.lib.Hdf5DataSet;
 import org.knime.hdf5.lib.Hdf5File;
+import org.knime.hdf5.lib.Hdf5FilePool;
 import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
+import org.knime.hdf5.nodes.ConfigurationCache;
 
 /**
  * The {@link NodeModel} for the hdf reader in order to
@@ -46,13 +62,42 @@ import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
  */
 public class HDF5ReaderNodeModel extends NodeModel {
 
+	/**
+	 * The maximum number of bytes of a block of rows which has been enlarged
+	 * to be aligned to the chunks of the dataSets.
+	 */
+	private static final long MAX_ALIGNED_BLOCK_BYTES = 64L << 20;
+	
+	/**
+	 * The number of bytes of one value to estimate the size of a block.
+	 */
+	private static final long ESTIMATED_VALUE_BYTES = 8;
+	
 	private SettingsModelString m_filePathSettings;
 
 	private SettingsModelBoolean m_failIfRowSizeDiffersSettings;
 
+	private SettingsModelIntegerBounded m_blockRowSizeSettings;
+
+	private SettingsModelBoolean m_readInParallelSettings;
+
+	private SettingsModelLongBounded m_rowOffsetSettings;
+
+	private SettingsModelLongBounded m_rowCountSettings;
+
+	private SettingsModelLongBounded m_rowStrideSettings;
+
+	private SettingsModelLongBounded m_sampleSizeSettings;
+
+	private SettingsModelLong m_sampleSeedSettings;
+
 	private DataColumnSpecFilterConfiguration m_dataSetFilterConfig;
 
+	private DataColumnSpecFilterConfiguration m_columnFilterConfig;
+
 	private DataColumnSpecFilterConfiguration m_attributeFilterConfig;
+	
+	private final ConfigurationCache<DataTableSpec> m_outSpecCache = new ConfigurationCache<>();
 
 	protected HDF5ReaderNodeModel() {
 		super(0, 1);
@@ -60,7 +105,15 @@ public class HDF5ReaderNodeModel extends NodeModel {
 		// init settings
 		m_filePathSettings = SettingsFactory.createFilePathSettings();
 		m_failIfRowSizeDiffersSettings = SettingsFactory.createFailIfRowSizeDiffersSettings();
+		m_blockRowSizeSettings = SettingsFactory.createBlockRowSizeSettings();
+		m_readInParallelSettings = SettingsFactory.createReadInParallelSettings();
+		m_rowOffsetSettings = SettingsFactory.createRowOffsetSettings();
+		m_rowCountSettings = SettingsFactory.createRowCountSettings();
+		m_rowStrideSettings = SettingsFactory.createRowStrideSettings();
+		m_sampleSizeSettings = SettingsFactory.createSampleSizeSettings();
+		m_sampleSeedSettings = SettingsFactory.createSampleSeedSettings();
 		m_dataSetFilterConfig = SettingsFactory.createDataSetFilterConfiguration();
+		m_columnFilterConfig = SettingsFactory.createColumnFilterConfiguration();
 		m_attributeFilterConfig = SettingsFactory.createAttributeFilterConfiguration();
 	}
 	
@@ -71,50 +124,129 @@ public class HDF5ReaderNodeModel extends NodeModel {
 
 	@Override
 	protected BufferedDataTable[] execute(BufferedDataTable[] inData, ExecutionContext exec) throws Exception {
-		checkForErrors(m_filePathSettings, m_failIfRowSizeDiffersSettings, m_dataSetFilterConfig);
+		BufferedDataContainer outContainer = exec.createDataContainer(getCheckedOutSpec(m_filePathSettings,
+				m_failIfRowSizeDiffersSettings, m_dataSetFilterConfig, m_columnFilterConfig));
+		BufferedDataTableRowOutput rowOutput = new BufferedDataTableRowOutput(outContainer);
+		readRows(rowOutput, exec);
+		
+		return new BufferedDataTable[] { rowOutput.getDataTable() };
+	}
+
+	/**
+	 * Streams the rows to the output while they are read such that they
+	 * do not need to be put into a table first.
+	 */
+	@Override
+	public StreamableOperator createStreamableOperator(PartitionInfo partitionInfo, PortObjectSpec[] inSpecs)
+			throws InvalidSettingsException {
+		return new StreamableOperator() {
+			
+			@Override
+			public void runFinal(PortInput[] inputs, PortOutput[] outputs, ExecutionContext exec) throws Exception {
+				readRows((RowOutput) outputs[0], exec);
+			}
+		};
+	}
+
+	/**
+	 * Reads the rows of the selected dataSets and pushes them to the output.
+	 * The output gets closed afterwards.
+	 * 
+	 * @param rowOutput the output for the rows
+	 * @param exec the execution context
+	 * @throws Exception if the file could not be read or the execution was
+	 * 	canceled
+	 */
+	private void readRows(RowOutput rowOutput, ExecutionContext exec) throws Exception {
+		getCheckedOutSpec(m_filePathSettings, m_failIfRowSizeDiffersSettings, m_dataSetFilterConfig, m_columnFilterConfig);
 		Hdf5File file = null;
-		BufferedDataContainer outContainer = null;
 
 		try {
 	        file = Hdf5File.openFile(getFilePathFromUrlPath(m_filePathSettings.getStringValue(), true), Hdf5File.READ_ONLY_ACCESS);
-			outContainer = exec.createDataContainer(createOutSpec());
 			
 			// find all the paths of the dataSets to import
 			String[] dataSetPaths = m_dataSetFilterConfig.applyTo(file.createSpecOfDataSets()).getIncludes();
 
-			// find the maximum number of rows within the dataSets
-			Hdf5DataSet<?>[] dataSets = new Hdf5DataSet<?>[dataSetPaths.length];
+			// find the maximum number of rows within the dataSets and the columns to read of them
+			Set<String> columnNames = new HashSet<>(Arrays.asList(m_columnFilterConfig.applyTo(
+					createSpecOfColumns(file, dataSetPaths)).getIncludes()));
+			List<Hdf5DataSet<?>> dataSetList = new ArrayList<>();
+			List<long[]> columnIndicesList = new ArrayList<>();
 			long maxRows = 0;
-			for (int i = 0; i < dataSetPaths.length; i++) {
-				dataSets[i] = file.getDataSetByPath(dataSetPaths[i]);
-
-				long rowCount = dataSets[i].numberOfRows();
-				maxRows = rowCount > maxRows ? rowCount : maxRows;
+			for (String dataSetPath : dataSetPaths) {
+				Hdf5DataSet<?> dataSet = file.getDataSetByPath(dataSetPath);
+				
+				try {
+					long[] columnIndices = getColumnIndices(dataSet, dataSetPath, columnNames);
+					if (columnIndices == null || columnIndices.length > 0) {
+						dataSetList.add(dataSet);
+						columnIndicesList.add(columnIndices);
+						
+						// only dataSets which contribute columns determine the number of rows
+						long rowCount = dataSet.numberOfRows();
+						maxRows = rowCount > maxRows ? rowCount : maxRows;
+					}
+				} catch (UnsupportedDataTypeException udte) {
+					// dataSets of unknown dataTypes are not part of the output
+				}
 			}
+			Hdf5DataSet<?>[] dataSets = dataSetList.toArray(new Hdf5DataSet<?>[dataSetList.size()]);
+			long[][] columnIndices = columnIndicesList.toArray(new long[columnIndicesList.size()][]);
 
-			// populate the outContainer with the values from the dataSets
-			for (long i = 0; i < maxRows; i++) {
-				exec.checkCanceled();
-				exec.setProgress((double) i / maxRows);
-
-				List<DataCell> row = new ArrayList<>();
-				for (Hdf5DataSet<?> dataSet : dataSets) {
-					dataSet.extendRow(row, i);
-				}
-				
-				if (!row.isEmpty()) {
-					outContainer.addRowToTable(new DefaultRow("Row" + i, row));
+			// populate the outContainer with the values from the dataSets (block by block)
+			long blockRowSize = getAlignedBlockRowSize(m_blockRowSizeSettings.getIntValue(), dataSets, columnIndices);
+			RowSelection rowSelection = new RowSelection(maxRows, m_rowOffsetSettings.getLongValue(),
+					m_rowCountSettings.getLongValue(), m_rowStrideSettings.getLongValue(),
+					m_sampleSizeSettings.getLongValue(), m_sampleSeedSettings.getLongValue());
+			try (DataSetRowReader rowReader = new DataSetRowReader(dataSets, columnIndices, rowSelection, blockRowSize,
+					m_readInParallelSettings.getBooleanValue())) {
+				while (rowReader.hasNextBlock()) {
+					exec.checkCanceled();
+					exec.setProgress((double) rowReader.getNextBlockPosition() / rowSelection.size());
+					
+					for (DataRow row : rowReader.nextBlock()) {
+						rowOutput.push(row);
+					}
 				}
 			}
 
 			pushFlowVariables(file);
 
 		} finally {
-			file.close();
-			outContainer.close();
+			if (file != null) {
+				file.close();
+			}
+			rowOutput.close();
+		}
+	}
+
+	/**
+	 * Rounds up the block size to a multiple of the largest chunk row size of
+	 * the dataSets such that a chunk does not need to be read more than once.
+	 * The configured block size is kept if the aligned block would need more
+	 * than {@value #MAX_ALIGNED_BLOCK_BYTES} bytes.
+	 * 
+	 * @param blockRowSize the number of rows to read at once
+	 * @param dataSets the dataSets to read from
+	 * @param columnIndices the indices of the columns to read of each dataSet
+	 * 	({@code null} for all columns)
+	 * @return the aligned number of rows to read at once
+	 */
+	private static long getAlignedBlockRowSize(long blockRowSize, Hdf5DataSet<?>[] dataSets, long[][] columnIndices) {
+		long chunkRowSize = 1;
+		long valuesPerRow = 0;
+		for (int i = 0; i < dataSets.length; i++) {
+			chunkRowSize = Math.max(chunkRowSize, dataSets[i].getChunkRowSize());
+			valuesPerRow += columnIndices[i] != null ? columnIndices[i].length : dataSets[i].numberOfColumns();
+		}
+		
+		long alignedBlockRowSize = (blockRowSize + chunkRowSize - 1) / chunkRowSize * chunkRowSize;
+		long maxAlignedBlockRowSize = MAX_ALIGNED_BLOCK_BYTES / Math.max(valuesPerRow * ESTIMATED_VALUE_BYTES, 1);
+		if (alignedBlockRowSize > blockRowSize && alignedBlockRowSize > maxAlignedBlockRowSize) {
+			alignedBlockRowSize = blockRowSize;
 		}
 		
-		return new BufferedDataTable[] { outContainer.getTable() };
+		return Math.min(alignedBlockRowSize, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -156,67 +288,212 @@ public class HDF5ReaderNodeModel extends NodeModel {
 	}
 
 	/**
+	 * Finds the indices of the columns of the dataSet which are included in
+	 * the output.
+	 * 
+	 * @param dataSet the dataSet
+	 * @param dataSetPath the path of the dataSet
+	 * @param columnNames the names of the columns included in the output
+	 * @return the ascending indices of the included columns or {@code null}
+	 * 	if all columns are included
+	 * @throws UnsupportedDataTypeException if the dataType of the dataSet is
+	 * 	unknown
+	 */
+	private static long[] getColumnIndices(Hdf5DataSet<?> dataSet, String dataSetPath, Set<String> columnNames)
+			throws UnsupportedDataTypeException {
+		List<DataColumnSpec> colSpecs = createColumnSpecs(dataSet, dataSetPath);
+		long[] columnIndices = new long[colSpecs.size()];
+		int columnCount = 0;
+		for (int i = 0; i < colSpecs.size(); i++) {
+			if (columnNames.contains(colSpecs.get(i).getName())) {
+				columnIndices[columnCount++] = i;
+			}
+		}
+		
+		return columnCount == columnIndices.length ? null : Arrays.copyOf(columnIndices, columnCount);
+	}
+	
+	/**
+	 * Checks the config for errors and returns the table spec for the output
+	 * table. Both are only computed again if the file or the settings have
+	 * changed since the last call.
+	 * 
+	 * @param filePathSettings the settings for the file path
+	 * @param failIfRowSizeDiffersSettings the settings for the checkBox if row sizes my differ
+	 * @param dataSetFilterConfig the config for the dataSet selection
+	 * @param columnFilterConfig the config for the column selection
 	 * @return the table spec for the output table of all selected dataSets
+	 * 	and columns
 	 * @throws InvalidSettingsException if the file or a dataSet does not exist
+	 * 	or if the row sizes are not equal and the settings do not allow that
+	 * @see #checkForErrors(SettingsModelString, SettingsModelBoolean, DataColumnSpecFilterConfiguration)
 	 */
-	private DataTableSpec createOutSpec() throws InvalidSettingsException {
-		List<DataColumnSpec> colSpecList = new ArrayList<>();
-        
+	private DataTableSpec getCheckedOutSpec(SettingsModelString filePathSettings,
+			SettingsModelBoolean failIfRowSizeDiffersSettings, DataColumnSpecFilterConfiguration dataSetFilterConfig,
+			DataColumnSpecFilterConfiguration columnFilterConfig) throws InvalidSettingsException {
+		NodeSettings settings = new NodeSettings("outSpec");
+		filePathSettings.saveSettingsTo(settings);
+		failIfRowSizeDiffersSettings.saveSettingsTo(settings);
+		dataSetFilterConfig.saveConfiguration(settings);
+		columnFilterConfig.saveConfiguration(settings);
+		ConfigurationCache.Key key = ConfigurationCache.createKey(
+				getFilePathFromUrlPath(filePathSettings.getStringValue(), true), settings);
+		
+		DataTableSpec spec = m_outSpecCache.get(key);
+		if (spec == null) {
+			checkForErrors(filePathSettings, failIfRowSizeDiffersSettings, dataSetFilterConfig);
+			spec = createOutSpec(filePathSettings, dataSetFilterConfig, columnFilterConfig);
+			m_outSpecCache.put(key, spec);
+		}
+		
+		return spec;
+	}
+	
+	/**
+	 * @param filePathSettings the settings for the file path
+	 * @param dataSetFilterConfig the config for the dataSet selection
+	 * @param columnFilterConfig the config for the column selection
+	 * @return the table spec for the output table of all selected dataSets
+	 * 	and columns
+	 * @throws InvalidSettingsException if the file or a dataSet does not exist
+	 */
+	private static DataTableSpec createOutSpec(SettingsModelString filePathSettings,
+			DataColumnSpecFilterConfiguration dataSetFilterConfig, DataColumnSpecFilterConfiguration columnFilterConfig)
+			throws InvalidSettingsException {
 		Hdf5File file = null;
 		try {
-			file = Hdf5File.openFile(getFilePathFromUrlPath(m_filePathSettings.getStringValue(), true), Hdf5File.READ_ONLY_ACCESS);
+			file = Hdf5File.openFile(getFilePathFromUrlPath(filePathSettings.getStringValue(), true), Hdf5File.READ_ONLY_ACCESS);
 		} catch (IOException ioe) {
 			throw new InvalidSettingsException(ioe.getMessage(), ioe);
 		}
 		
 		try {
-			String[] dataSetPaths = m_dataSetFilterConfig.applyTo(file.createSpecOfDataSets()).getIncludes();
-		
-			for (String dsPath : dataSetPaths) {
-				Hdf5DataSet<?> dataSet = null;
-				try {
-					dataSet = file.getDataSetByPath(dsPath);
-				} catch (IOException ioe) {
-					throw new InvalidSettingsException(ioe.getMessage(), ioe);
-				}
-				
-				Hdf5KnimeDataType dataType = dataSet.getType().getKnimeType();
-				
-				try {
-					DataType type = dataType.getColumnDataType();
-	
-					if (dataSet.getDimensions().length > 1) {
-						long[] colIndices = new long[dataSet.getDimensions().length - 1];
-						Arrays.fill(colIndices, 0);
-	
-						do {
-							colSpecList.add(new DataColumnSpecCreator(dsPath
-									+ Arrays.toString(colIndices), type).createSpec());
-						} while (dataSet.nextColumnIndices(colIndices));
-	
-					} else {
-						// add '[]' to the name of 1-dimensional and scalar dataSets to avoid name conflicts
-						colSpecList.add(new DataColumnSpecCreator(dsPath + "[]", type).createSpec());
-					}
-				} catch (UnsupportedDataTypeException udte) {
-					NodeLogger.getLogger(getClass()).warn("Unknown dataType of columns in \"" + dsPath + "\"");
+			String[] dataSetPaths = dataSetFilterConfig.applyTo(file.createSpecOfDataSets()).getIncludes();
+			DataTableSpec spec = createSpecOfColumns(file, dataSetPaths);
+			
+			// keep the order of the columns of the dataSets
+			Set<String> columnNames = new HashSet<>(Arrays.asList(columnFilterConfig.applyTo(spec).getIncludes()));
+			List<DataColumnSpec> colSpecList = new ArrayList<>();
+			for (DataColumnSpec colSpec : spec) {
+				if (columnNames.contains(colSpec.getName())) {
+					colSpecList.add(colSpec);
 				}
 			}
+			
+			return new DataTableSpec(colSpecList.toArray(new DataColumnSpec[] {}));
+			
 		} finally {
 			try {
 				file.close();
 			} catch (IOException ioe) {
-				NodeLogger.getLogger(getClass()).error(ioe.getMessage(), ioe);
+				NodeLogger.getLogger(HDF5ReaderNodeModel.class).error(ioe.getMessage(), ioe);
+			}
+		}
+	}
+	
+	/**
+	 * Creates the spec of all columns of the dataSets. The columns of a
+	 * multi-dimensional dataSet are named by the path of the dataSet and
+	 * the indices of the column.
+	 * 
+	 * @param file the file of the dataSets
+	 * @param dataSetPaths the paths of the dataSets
+	 * @return the table spec for all columns of the dataSets
+	 * @throws InvalidSettingsException if a dataSet does not exist
+	 */
+	static DataTableSpec createSpecOfColumns(Hdf5File file, String[] dataSetPaths) throws InvalidSettingsException {
+		return createSpecOfColumns(createColumnSpecsOfDataSets(file, dataSetPaths), dataSetPaths);
+	}
+	
+	/**
+	 * Creates the spec of all columns of the dataSets from the column specs
+	 * which have already been created for each dataSet such that the file
+	 * does not need to be scanned again.
+	 * 
+	 * @param columnSpecsOfDataSets the column specs of each dataSet path
+	 * @param dataSetPaths the paths of the dataSets
+	 * @return the table spec for all columns of the dataSets
+	 * @see #createColumnSpecsOfDataSets(Hdf5File, String[])
+	 */
+	static DataTableSpec createSpecOfColumns(Map<String, List<DataColumnSpec>> columnSpecsOfDataSets, String[] dataSetPaths) {
+		List<DataColumnSpec> colSpecList = new ArrayList<>();
+		
+		for (String dsPath : dataSetPaths) {
+			List<DataColumnSpec> columnSpecs = columnSpecsOfDataSets.get(dsPath);
+			if (columnSpecs != null) {
+				colSpecList.addAll(columnSpecs);
 			}
 		}
 
 		return new DataTableSpec(colSpecList.toArray(new DataColumnSpec[] {}));
 	}
+	
+	/**
+	 * Creates the specs of the columns of each dataSet. DataSets of unknown
+	 * dataTypes have no columns.
+	 * 
+	 * @param file the file of the dataSets
+	 * @param dataSetPaths the paths of the dataSets
+	 * @return the specs of the columns of each dataSet path in the order of
+	 * 	the paths
+	 * @throws InvalidSettingsException if a dataSet does not exist
+	 */
+	static Map<String, List<DataColumnSpec>> createColumnSpecsOfDataSets(Hdf5File file, String[] dataSetPaths)
+			throws InvalidSettingsException {
+		Map<String, List<DataColumnSpec>> columnSpecsOfDataSets = new LinkedHashMap<>();
+		
+		for (String dsPath : dataSetPaths) {
+			Hdf5DataSet<?> dataSet = null;
+			try {
+				dataSet = file.getDataSetByPath(dsPath);
+			} catch (IOException ioe) {
+				throw new InvalidSettingsException(ioe.getMessage(), ioe);
+			}
+			
+			try {
+				columnSpecsOfDataSets.put(dsPath, createColumnSpecs(dataSet, dsPath));
+				
+			} catch (UnsupportedDataTypeException udte) {
+				NodeLogger.getLogger(HDF5ReaderNodeModel.class).warn("Unknown dataType of columns in \"" + dsPath + "\"");
+				columnSpecsOfDataSets.put(dsPath, Collections.emptyList());
+			}
+		}
+
+		return columnSpecsOfDataSets;
+	}
+	
+	/**
+	 * @param dataSet the dataSet
+	 * @param dsPath the path of the dataSet
+	 * @return the specs of all columns of the dataSet
+	 * @throws UnsupportedDataTypeException if the dataType of the dataSet is
+	 * 	unknown
+	 */
+	private static List<DataColumnSpec> createColumnSpecs(Hdf5DataSet<?> dataSet, String dsPath) throws UnsupportedDataTypeException {
+		List<DataColumnSpec> colSpecList = new ArrayList<>();
+		DataType type = dataSet.getType().getKnimeType().getColumnDataType();
+		
+		if (dataSet.getDimensions().length > 1) {
+			long[] colIndices = new long[dataSet.getDimensions().length - 1];
+			Arrays.fill(colIndices, 0);
+
+			do {
+				colSpecList.add(new DataColumnSpecCreator(dsPath
+						+ Arrays.toString(colIndices), type).createSpec());
+			} while (dataSet.nextColumnIndices(colIndices));
+
+		} else {
+			// add '[]' to the name of 1-dimensional and scalar dataSets to avoid name conflicts
+			colSpecList.add(new DataColumnSpecCreator(dsPath + "[]", type).createSpec());
+		}
+		
+		return colSpecList;
+	}
 
 	@Override
 	protected DataTableSpec[] configure(DataTableSpec[] inSpecs) throws InvalidSettingsException {
-		checkForErrors(m_filePathSettings, m_failIfRowSizeDiffersSettings, m_dataSetFilterConfig);
-		return new DataTableSpec[] { createOutSpec() };
+		return new DataTableSpec[] { getCheckedOutSpec(m_filePathSettings, m_failIfRowSizeDiffersSettings,
+				m_dataSetFilterConfig, m_columnFilterConfig) };
 	}
 	
 	/**
@@ -326,7 +603,15 @@ public class HDF5ReaderNodeModel extends NodeModel {
 	protected void saveSettingsTo(NodeSettingsWO settings) {
 		m_filePathSettings.saveSettingsTo(settings);
 		m_failIfRowSizeDiffersSettings.saveSettingsTo(settings);
+		m_blockRowSizeSettings.saveSettingsTo(settings);
+		m_readInParallelSettings.saveSettingsTo(settings);
+		m_rowOffsetSettings.saveSettingsTo(settings);
+		m_rowCountSettings.saveSettingsTo(settings);
+		m_rowStrideSettings.saveSettingsTo(settings);
+		m_sampleSizeSettings.saveSettingsTo(settings);
+		m_sampleSeedSettings.saveSettingsTo(settings);
 		m_dataSetFilterConfig.saveConfiguration(settings);
+		m_columnFilterConfig.saveConfiguration(settings);
 		m_attributeFilterConfig.saveConfiguration(settings);
 	}
 
@@ -340,10 +625,55 @@ public class HDF5ReaderNodeModel extends NodeModel {
 		failIfRowSizeDiffersSettings.validateSettings(settings);
 		failIfRowSizeDiffersSettings.loadSettingsFrom(settings);
 		
+		// the block row size did not exist in older versions of this node
+		SettingsModelIntegerBounded blockRowSizeSettings = SettingsFactory.createBlockRowSizeSettings();
+		if (settings.containsKey(blockRowSizeSettings.getKey())) {
+			blockRowSizeSettings.validateSettings(settings);
+		}
+		
+		// the parallel reading did not exist in older versions of this node
+		SettingsModelBoolean readInParallelSettings = SettingsFactory.createReadInParallelSettings();
+		if (settings.containsKey(readInParallelSettings.getKey())) {
+			readInParallelSettings.validateSettings(settings);
+		}
+		
+		// the row selection did not exist in older versions of this node
+		SettingsModelLongBounded rowOffsetSettings = SettingsFactory.createRowOffsetSettings();
+		if (settings.containsKey(rowOffsetSettings.getKey())) {
+			rowOffsetSettings.validateSettings(settings);
+		}
+		
+		SettingsModelLongBounded rowCountSettings = SettingsFactory.createRowCountSettings();
+		if (settings.containsKey(rowCountSettings.getKey())) {
+			rowCountSettings.validateSettings(settings);
+		}
+		
+		SettingsModelLongBounded rowStrideSettings = SettingsFactory.createRowStrideSettings();
+		if (settings.containsKey(rowStrideSettings.getKey())) {
+			rowStrideSettings.validateSettings(settings);
+		}
+		
+		SettingsModelLongBounded sampleSizeSettings = SettingsFactory.createSampleSizeSettings();
+		if (settings.containsKey(sampleSizeSettings.getKey())) {
+			sampleSizeSettings.validateSettings(settings);
+		}
+		
+		SettingsModelLong sampleSeedSettings = SettingsFactory.createSampleSeedSettings();
+		if (settings.containsKey(sampleSeedSettings.getKey())) {
+			sampleSeedSettings.validateSettings(settings);
+		}
+		
 		DataColumnSpecFilterConfiguration dataSetFilterConfig = SettingsFactory.createDataSetFilterConfiguration();
 		dataSetFilterConfig.loadConfigurationInModel(settings);
 		
-		checkForErrors(filePathSettings, failIfRowSizeDiffersSettings, dataSetFilterConfig);
+		// the column filter did not exist in older versions of this node
+		DataColumnSpecFilterConfiguration columnFilterConfig = SettingsFactory.createColumnFilterConfiguration();
+		if (settings.containsKey(columnFilterConfig.getConfigRootName())) {
+			columnFilterConfig.loadConfigurationInModel(settings);
+		}
+		
+		// the spec is cached such that the following configure does not need to compute it again
+		getCheckedOutSpec(filePathSettings, failIfRowSizeDiffersSettings, dataSetFilterConfig, columnFilterConfig);
 		
 		DataColumnSpecFilterConfiguration attributeFilterConfig = SettingsFactory.createAttributeFilterConfiguration();
 		attributeFilterConfig.loadConfigurationInModel(settings);
@@ -355,9 +685,42 @@ public class HDF5ReaderNodeModel extends NodeModel {
 		
 		m_failIfRowSizeDiffersSettings.loadSettingsFrom(settings);
 		
+		if (settings.containsKey(m_blockRowSizeSettings.getKey())) {
+			m_blockRowSizeSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_readInParallelSettings.getKey())) {
+			m_readInParallelSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_rowOffsetSettings.getKey())) {
+			m_rowOffsetSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_rowCountSettings.getKey())) {
+			m_rowCountSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_rowStrideSettings.getKey())) {
+			m_rowStrideSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_sampleSizeSettings.getKey())) {
+			m_sampleSizeSettings.loadSettingsFrom(settings);
+		}
+		
+		if (settings.containsKey(m_sampleSeedSettings.getKey())) {
+			m_sampleSeedSettings.loadSettingsFrom(settings);
+		}
+		
 		DataColumnSpecFilterConfiguration dataSetFilterConfig = SettingsFactory.createDataSetFilterConfiguration();
 		dataSetFilterConfig.loadConfigurationInModel(settings);
 		m_dataSetFilterConfig = dataSetFilterConfig;
+		DataColumnSpecFilterConfiguration columnFilterConfig = SettingsFactory.createColumnFilterConfiguration();
+		if (settings.containsKey(columnFilterConfig.getConfigRootName())) {
+			columnFilterConfig.loadConfigurationInModel(settings);
+		}
+		m_columnFilterConfig = columnFilterConfig;
 		DataColumnSpecFilterConfiguration attributeFilterConfig = SettingsFactory.createAttributeFilterConfiguration();
 		attributeFilterConfig.loadConfigurationInModel(settings);
 		m_attributeFilterConfig = attributeFilterConfig;
@@ -365,5 +728,23 @@ public class HDF5ReaderNodeModel extends NodeModel {
 
 	@Override
 	protected void reset() {
+		closePooledFile();
+	}
+
+	@Override
+	protected void onDispose() {
+		closePooledFile();
+	}
+	
+	/**
+	 * Closes the file of this node if it is kept open in the
+	 * {@linkplain Hdf5FilePool}.
+	 */
+	private void closePooledFile() {
+		try {
+			Hdf5FilePool.invalidate(getFilePathFromUrlPath(m_filePathSettings.getStringValue(), false));
+		} catch (InvalidSettingsException ise) {
+			// the file cannot be pooled if its path is invalid
+		}
 	}
 }
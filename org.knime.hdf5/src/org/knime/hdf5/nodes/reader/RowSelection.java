@@ -0,0 +1,165 @@
+package org.knime.hdf5.nodes.reader;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The selection of the rows which should be read from the dataSets. The
+ * selection consists of a range of rows where only every k-th row is
+ * selected (the stride) and optionally a random sample of those rows.
+ * <br>
+ * <br>
+ * The selected rows are numbered by their position within the selection
+ * such that the indices of the rows in the dataSets can be given to the
+ * hdf library which then only reads the selected rows.
+ */
+class RowSelection {
+
+	/**
+	 * The maximum number of rows of a random sample, i.e. the maximum length
+	 * of an array.
+	 */
+	static final long MAX_SAMPLE_SIZE = Integer.MAX_VALUE - 8;
+
+	private final long m_fromRowIndex;
+
+	private final long m_rowStride;
+
+	/**
+	 * The ascending positions of the sampled rows within the range (with
+	 * stride) or {@code null} if no sample is drawn.
+	 */
+	private final long[] m_samplePositions;
+
+	private final long m_size;
+
+	/**
+	 * @param maxRows the number of rows of the largest dataSet
+	 * @param fromRowIndex the index of the first row of the range
+	 * @param rowCount the number of rows of the range (negative for all
+	 * 	rows from {@code fromRowIndex})
+	 * @param rowStride the distance between two selected rows in the range
+	 * @param sampleSize the number of rows to draw randomly from the
+	 * 	selected rows (0 for no sample)
+	 * @param sampleSeed the seed for drawing the random sample
+	 * @throws IllegalArgumentException if the sample size is larger than
+	 * 	{@linkplain RowSelection#MAX_SAMPLE_SIZE}
+	 */
+	RowSelection(long maxRows, long fromRowIndex, long rowCount, long rowStride, long sampleSize, long sampleSeed)
+			throws IllegalArgumentException {
+		if (sampleSize > MAX_SAMPLE_SIZE) {
+			throw new IllegalArgumentException("Sample size " + sampleSize + " is larger than the maximum of " + MAX_SAMPLE_SIZE);
+		}
+		m_fromRowIndex = Math.min(fromRowIndex, maxRows);
+		m_rowStride = Math.max(rowStride, 1);
+
+		long rangeRowCount = maxRows - m_fromRowIndex;
+		if (rowCount >= 0) {
+			rangeRowCount = Math.min(rowCount, rangeRowCount);
+		}
+		long rangeSize = (rangeRowCount + m_rowStride - 1) / m_rowStride;
+
+		if (sampleSize > 0 && sampleSize < rangeSize) {
+			m_samplePositions = drawSample(rangeSize, (int) sampleSize, sampleSeed);
+			m_size = m_samplePositions.length;
+		} else {
+			m_samplePositions = null;
+			m_size = rangeSize;
+		}
+	}
+
+	/**
+	 * Draws a random sample of distinct positions using Floyd's algorithm
+	 * which only needs as many random numbers as positions to draw. The
+	 * drawn positions are kept in a hash table of primitive values such that
+	 * they do not need to be boxed.
+	 *
+	 * @param rangeSize the number of positions to draw from
+	 * @param sampleSize the number of positions to draw
+	 * @param sampleSeed the seed for the random numbers
+	 * @return the ascending sampled positions
+	 */
+	private static long[] drawSample(long rangeSize, int sampleSize, long sampleSeed) {
+		Random random = new Random(sampleSeed);
+
+		// open addressing with linear probing where -1 marks an empty slot
+		long[] table = new long[(int) Math.min(2L * sampleSize + 1, MAX_SAMPLE_SIZE + 1)];
+		Arrays.fill(table, -1);
+
+		for (long i = rangeSize - sampleSize; i < rangeSize; i++) {
+			long position = (long) (random.nextDouble() * (i + 1));
+			if (!add(table, position)) {
+				add(table, i);
+			}
+		}
+
+		long[] samplePositions = new long[sampleSize];
+		int index = 0;
+		for (long position : table) {
+			if (position >= 0) {
+				samplePositions[index++] = position;
+			}
+		}
+		Arrays.sort(samplePositions);
+
+		return samplePositions;
+	}
+
+	/**
+	 * Adds the position to the hash table.
+	 *
+	 * @param table the hash table with -1 for empty slots
+	 * @param position the non-negative position
+	 * @return if the position has not been contained in the table
+	 */
+	private static boolean add(long[] table, long position) {
+		long hash = position * 0x9E3779B97F4A7C15L;
+		int slot = (int) Math.floorMod(hash ^ (hash >>> 32), (long) table.length);
+		while (table[slot] >= 0) {
+			if (table[slot] == position) {
+				return false;
+			}
+			slot = slot + 1 < table.length ? slot + 1 : 0;
+		}
+		table[slot] = position;
+
+		return true;
+	}
+
+	/**
+	 * @return the number of selected rows
+	 */
+	long size() {
+		return m_size;
+	}
+
+	/**
+	 * @return if the selected rows are consecutive rows
+	 */
+	boolean isContiguous() {
+		return m_rowStride == 1 && m_samplePositions == null;
+	}
+
+	/**
+	 * @param position the position of the row within the selection
+	 * @return the index of the row in the dataSets
+	 */
+	long getRowIndex(long position) {
+		long rangePosition = m_samplePositions != null ? m_samplePositions[(int) position] : position;
+		return m_fromRowIndex + rangePosition * m_rowStride;
+	}
+
+	/**
+	 * @param fromPosition the position of the first row within the selection
+	 * @param rowCount the number of rows
+	 * @return the ascending indices of the rows in the dataSets
+	 */
+	long[] getRowIndices(long fromPosition, int rowCount) {
+		long[] rowIndices = new long[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			rowIndices[i] = getRowIndex(fromPosition + i);
+		}
+
+		return rowIndices;
+	}
+}
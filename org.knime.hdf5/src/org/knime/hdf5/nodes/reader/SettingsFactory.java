@@ -1,6 +1,9 @@
 package org.knime.hdf5.nodes.reader;
 
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelLong;
+import org.knime.core.node.defaultnodesettings.SettingsModelLongBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
 
@@ -13,6 +16,8 @@ final class SettingsFactory {
 	
 	private static final String DATA_SET_FILTER_CONFIG_KEY = "dataSetFilter";
 
+	private static final String COLUMN_FILTER_CONFIG_KEY = "columnFilter";
+
 	private static final String ATTRIBUTE_FILTER_CONFIG_KEY = "attributeFilter";
 
 	private SettingsFactory() {
@@ -39,6 +44,78 @@ final class SettingsFactory {
 		return new SettingsModelBoolean("failIfRowSizeDiffers" + INPUT_CONFIG_KEY, true);
 	}
 
+	/**
+	 * Factory method for the source setting of the number of rows which are
+	 * read at once from each dataSet.
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelIntegerBounded createBlockRowSizeSettings() {
+		return new SettingsModelIntegerBounded("blockRowSize" + INPUT_CONFIG_KEY, 1000, 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Factory method for the source setting of the CheckBox "read dataSets
+	 * in parallel".
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelBoolean createReadInParallelSettings() {
+		return new SettingsModelBoolean("readInParallel" + INPUT_CONFIG_KEY, false);
+	}
+
+	/**
+	 * Factory method for the source setting of the index of the first row
+	 * to read.
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelLongBounded createRowOffsetSettings() {
+		return new SettingsModelLongBounded("rowOffset" + INPUT_CONFIG_KEY, 0, 0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Factory method for the source setting of the number of rows to read
+	 * (-1 for all rows).
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelLongBounded createRowCountSettings() {
+		return new SettingsModelLongBounded("rowCount" + INPUT_CONFIG_KEY, -1, -1, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Factory method for the source setting of the distance between two rows
+	 * to read.
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelLongBounded createRowStrideSettings() {
+		return new SettingsModelLongBounded("rowStride" + INPUT_CONFIG_KEY, 1, 1, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Factory method for the source setting of the number of rows to draw
+	 * randomly (0 for no sample). The sample size is bounded by
+	 * {@linkplain RowSelection#MAX_SAMPLE_SIZE} because the sample is kept
+	 * in an array.
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelLongBounded createSampleSizeSettings() {
+		return new SettingsModelLongBounded("sampleSize" + INPUT_CONFIG_KEY, 0, 0, RowSelection.MAX_SAMPLE_SIZE);
+	}
+
+	/**
+	 * Factory method for the source setting of the seed for drawing the
+	 * random sample.
+	 * 
+	 * @return source {@code SettingsModel}
+	 */
+	static SettingsModelLong createSampleSeedSettings() {
+		return new SettingsModelLong("sampleSeed" + INPUT_CONFIG_KEY, 0);
+	}
+
     /**
      * @return a new configuration to store the settings of the dataSet filter (also enables the type filter)
      */
@@ -46,6 +123,13 @@ final class SettingsFactory {
         return new DataColumnSpecFilterConfiguration(DATA_SET_FILTER_CONFIG_KEY);
     }
 
+    /**
+     * @return a new configuration to store the settings of the filter for the columns of the selected dataSets
+     */
+    static final DataColumnSpecFilterConfiguration createColumnFilterConfiguration() {
+        return new DataColumnSpecFilterConfiguration(COLUMN_FILTER_CONFIG_KEY);
+    }
+
     /** 
      * @return a new configuration to store the settings of the attribute filter (also enables the type filter)
      */
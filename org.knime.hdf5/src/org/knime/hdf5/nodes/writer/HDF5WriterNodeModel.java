@@ -15,14 +15,26 @@ import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeCreationContext;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.util.CheckUtils;
 import org.knime.core.util.FileUtil;
 import org.knime.hdf5.lib.Hdf5File;
+import org.knime.hdf5.lib.Hdf5FilePool;
+import org.knime.hdf5.nodes.ConfigurationCache;
+import org.knime.hdf5.nodes.writer.edit.ColumnNodeEdit;
 import org.knime.hdf5.nodes.writer.edit.EditOverwritePolicy;
 import org.knime.hdf5.nodes.writer.edit.FileNodeEdit;
 
@@ -40,6 +52,8 @@ public class HDF5WriterNodeModel extends NodeModel {
 	
 	private EditTreeConfiguration m_editTreeConfig;
 	
+	private final ConfigurationCache<Boolean> m_validationCache = new ConfigurationCache<>();
+	
 	protected HDF5WriterNodeModel() {
 		super(new PortType[] { BufferedDataTable.TYPE_OPTIONAL }, new PortType[] {});
 		m_filePathSettings = SettingsFactory.createFilePathSettings();
@@ -55,12 +69,55 @@ public class HDF5WriterNodeModel extends NodeModel {
 
 	@Override
 	protected BufferedDataTable[] execute(BufferedDataTable[] inData, ExecutionContext exec) throws Exception {
-		checkForErrors(m_editTreeConfig, inData[0], true);
+		if (inData[0] != null) {
+			writeRows(new DataTableRowInput(inData[0]), inData[0].size(), exec);
+		} else {
+			writeRows(null, ColumnNodeEdit.UNKNOWN_ROW_SIZE, exec);
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Writes the rows while they arrive such that they do not need to be
+	 * put into a table first. Since the number of rows is not known in
+	 * advance, the new dataSets grow with the rows written.
+	 */
+	@Override
+	public StreamableOperator createStreamableOperator(PartitionInfo partitionInfo, PortObjectSpec[] inSpecs)
+			throws InvalidSettingsException {
+		return new StreamableOperator() {
+			
+			@Override
+			public void runFinal(PortInput[] inputs, PortOutput[] outputs, ExecutionContext exec) throws Exception {
+				writeRows((RowInput) inputs[0], ColumnNodeEdit.UNKNOWN_ROW_SIZE, exec);
+			}
+		};
+	}
+	
+	@Override
+	public InputPortRole[] getInputPortRoles() {
+		return new InputPortRole[] { InputPortRole.NONDISTRIBUTED_STREAMABLE };
+	}
+	
+	/**
+	 * Validates the edits and executes them. The input rows are only read
+	 * once, their data is validated while writing them.
+	 * 
+	 * @param inputRows the rows of the knime input table (may be {@code null}
+	 * 	if no dataSets should be created)
+	 * @param inputRowCount the number of input rows or
+	 * 	{@linkplain ColumnNodeEdit#UNKNOWN_ROW_SIZE} if it is not known
+	 * @param exec the knime execution context
+	 * @throws Exception if the configuration is invalid or the execution failed
+	 */
+	private void writeRows(RowInput inputRows, long inputRowCount, ExecutionContext exec) throws Exception {
+		checkForErrors(m_editTreeConfig, inputRowCount, true);
 
 		boolean success = false;
 		FileNodeEdit fileEdit = m_editTreeConfig.getFileNodeEdit();
 		try {
-			success = fileEdit.doAction(inData[0], getAvailableFlowVariables(), m_saveColumnPropertiesSettings.getBooleanValue(), exec);
+			success = fileEdit.doAction(inputRows, getAvailableFlowVariables(), m_saveColumnPropertiesSettings.getBooleanValue(), exec);
 			
 		} finally {
 			NodeLogger.getLogger(getClass()).debug("Success: " + success);
@@ -92,16 +149,41 @@ public class HDF5WriterNodeModel extends NodeModel {
 				((Hdf5File) fileEdit.getHdfObject()).close();
 			}
 		}
-		
-		return null;
 	}
 	
 	@Override
 	protected DataTableSpec[] configure(DataTableSpec[] inSpecs) throws InvalidSettingsException {
-		checkForErrors(m_editTreeConfig);
+		checkForErrorsIfChanged(m_editTreeConfig);
 		return null;
     }
 	
+	/**
+	 * Checks for errors in the {@code editTreeConfig} like
+	 * {@linkplain HDF5WriterNodeModel#checkForErrors(EditTreeConfiguration)},
+	 * but only if the file or the config have changed since the last
+	 * successful check. The loaded tree of the file is changed by the
+	 * validation, so only the result of the check is cached.
+	 * 
+	 * @param editTreeConfig the config to be checked
+	 * @throws InvalidSettingsException if the config is not valid or could not
+	 * 	be checked
+	 */
+	private void checkForErrorsIfChanged(EditTreeConfiguration editTreeConfig) throws InvalidSettingsException {
+		FileNodeEdit fileEdit = editTreeConfig.getFileNodeEdit();
+		if (fileEdit == null) {
+			throw new InvalidSettingsException("No file selected");
+		}
+		
+		NodeSettings settings = new NodeSettings("validation");
+		editTreeConfig.saveConfiguration(settings);
+		ConfigurationCache.Key key = ConfigurationCache.createKey(fileEdit.getFilePath(), settings);
+		
+		if (m_validationCache.get(key) == null) {
+			checkForErrors(editTreeConfig);
+			m_validationCache.put(key, Boolean.TRUE);
+		}
+	}
+	
 	/**
 	 * Checks for errors in the {@code editTreeConfig} which is the case if
 	 * elements of its {@linkplain FileNodeEdit}s are invalid.
@@ -111,23 +193,25 @@ public class HDF5WriterNodeModel extends NodeModel {
 	 * 	be checked
 	 */
 	static void checkForErrors(EditTreeConfiguration editTreeConfig) throws InvalidSettingsException {
-		checkForErrors(editTreeConfig, null, false);
+		checkForErrors(editTreeConfig, ColumnNodeEdit.UNKNOWN_ROW_SIZE, false);
 	}
 	
 	/**
 	 * Checks for errors in the {@code editTreeConfig} which is the case if
 	 * elements of its {@linkplain FileNodeEdit}s are invalid.
-	 * If the table {@code inputTable} is not null, it will also be used to
-	 * validate the data types and row sizes of the dataSet edits that should
-	 * create new hdf dataSets.
+	 * If the number of rows {@code inputRowCount} is known, it will also be
+	 * used to validate the row sizes of the dataSet edits that should
+	 * create new hdf dataSets. The data types are validated while writing
+	 * the data.
 	 * 
 	 * @param editTreeConfig the config to be checked
-	 * @param inputTable the knime input table to use for validation
+	 * @param inputRowCount the number of rows of the knime input table to
+	 * 	use for validation (or {@linkplain ColumnNodeEdit#UNKNOWN_ROW_SIZE})
 	 * @throws InvalidSettingsException if the config is not valid or could not
 	 * 	be checked
 	 */
 	private static void checkForErrors(EditTreeConfiguration editTreeConfig,
-			BufferedDataTable inputTable, boolean lastValidationBeforeExecution) throws InvalidSettingsException {
+			long inputRowCount, boolean lastValidationBeforeExecution) throws InvalidSettingsException {
 		FileNodeEdit fileEdit = editTreeConfig.getFileNodeEdit();
 		if (fileEdit == null) {
 			throw new InvalidSettingsException("No file selected");
@@ -145,7 +229,7 @@ public class HDF5WriterNodeModel extends NodeModel {
 				oldFileEdit = new FileNodeEdit(fileEdit.getFilePath(), fileEdit.isOverwriteHdfFile());
 			}
 			
-			boolean valid = lastValidationBeforeExecution ? oldFileEdit.finalIntegrateAndValidate(fileEdit, inputTable) : oldFileEdit.integrateAndValidate(fileEdit);
+			boolean valid = lastValidationBeforeExecution ? oldFileEdit.finalIntegrateAndValidate(fileEdit, inputRowCount) : oldFileEdit.integrateAndValidate(fileEdit);
 			if (!valid) {
 				throw new InvalidSettingsException("The configuration for file \"" + oldFileEdit.getFilePath()
 						+ "\" is not valid:\n" + oldFileEdit.getInvalidCauseMessages(fileEdit));
@@ -234,7 +318,7 @@ public class HDF5WriterNodeModel extends NodeModel {
 		
 		EditTreeConfiguration editTreeConfig = SettingsFactory.createEditTreeConfiguration();
 		editTreeConfig.loadConfiguration(settings, null, policy);
-		checkForErrors(editTreeConfig);
+		checkForErrorsIfChanged(editTreeConfig);
 	}
 
 	@Override
@@ -250,6 +334,7 @@ public class HDF5WriterNodeModel extends NodeModel {
 
 	@Override
 	protected void reset() {
+		closePooledFile();
 		try {
 			m_editTreeConfig.updateConfiguration(m_filePathSettings.getStringValue(),
 					EditOverwritePolicy.get(m_fileOverwritePolicySettings.getStringValue()));
@@ -257,4 +342,21 @@ public class HDF5WriterNodeModel extends NodeModel {
 			NodeLogger.getLogger(getClass()).error("Reset failed: " + ioise.getMessage(), ioise);
 		}
 	}
+
+	@Override
+	protected void onDispose() {
+		closePooledFile();
+	}
+	
+	/**
+	 * Closes the file of this node if it is kept open in the
+	 * {@linkplain Hdf5FilePool}.
+	 */
+	private void closePooledFile() {
+		try {
+			Hdf5FilePool.invalidate(getFilePathFromUrlPath(m_filePathSettings.getStringValue(), false));
+		} catch (InvalidSettingsException ise) {
+			// the file cannot be pooled if its path is invalid
+		}
+	}
 }
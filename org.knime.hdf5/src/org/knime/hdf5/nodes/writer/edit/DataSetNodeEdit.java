@@ -2,6 +2,7 @@ package org.knime.hdf5.nodes.writer.edit;
 
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.FlowLayout;
 import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Transferable;
 import java.awt.event.ActionEvent;
@@ -12,6 +13,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
@@ -30,6 +33,7 @@ import javax.swing.JDialog;
 import javax.swing.JList;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
@@ -49,7 +53,9 @@ import org.knime.core.node.util.RadionButtonPanel;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.hdf5.lib.Hdf5Attribute;
 import org.knime.hdf5.lib.Hdf5DataSet;
+import org.knime.hdf5.lib.Hdf5Filter;
 import org.knime.hdf5.lib.Hdf5Group;
+import org.knime.hdf5.lib.Hdf5RowBuffer;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType.Endian;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
@@ -79,7 +85,26 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 	
 	private int m_compressionLevel;
 	
-	private long m_chunkRowSize = 1L;
+	/**
+	 * The size of the row chunks (0 or 1 if it is chosen automatically).
+	 */
+	private long m_chunkRowSize = 0L;
+	
+	/**
+	 * The size of the column chunks (0 if it is chosen automatically).
+	 */
+	private long m_chunkColumnSize = 0L;
+	
+	/**
+	 * The filters (except deflate) to apply to the chunks of the dataSet.
+	 */
+	private Hdf5Filter[] m_filters = new Hdf5Filter[0];
+	
+	/**
+	 * The number of rows of the existing dataSet before the rows of this
+	 * edit were appended to it (or -1 if the rows are not appended).
+	 */
+	private long m_rowsBeforeAppend = -1;
 	
 	private final List<ColumnNodeEdit> m_columnEdits = new ArrayList<>();
 
@@ -168,7 +193,9 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				Rounding.DOWN, m_inputType.isFloat(), false, (int) hdfType.getStringLength());
 		m_useOneDimension = m_inputNumberOfDimensions == 1;
 		m_compressionLevel = dataSet.getCompressionLevel();
-		m_chunkRowSize = (int) dataSet.getChunkRowSize();
+		m_chunkRowSize = dataSet.getChunkRowSize();
+		m_chunkColumnSize = getChunkColumnSize(dataSet);
+		m_filters = dataSet.getFilters();
 		setHdfObject(dataSet);
 	}
 	
@@ -315,6 +342,65 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		m_chunkRowSize = chunkRowSize;
 	}
 
+	/**
+	 * @return the size of the column chunks (0 if it is chosen automatically)
+	 * @see Hdf5DataSet#getChunkDimensions()
+	 */
+	public long getChunkColumnSize() {
+		return m_chunkColumnSize;
+	}
+
+	private void setChunkColumnSize(long chunkColumnSize) {
+		m_chunkColumnSize = chunkColumnSize;
+	}
+	
+	/**
+	 * @return the filters (except the deflate compression) to apply to the
+	 * 	chunks of the dataSet
+	 * @see Hdf5DataSet#getFilters()
+	 */
+	public Hdf5Filter[] getFilters() {
+		return m_filters.clone();
+	}
+
+	private void setFilters(Hdf5Filter[] filters) {
+		m_filters = filters.clone();
+	}
+	
+	/**
+	 * @return the sizes of the chunks for the dimensions of the dataSet
+	 * 	where 0 means that the size is chosen automatically or {@code null}
+	 * 	if no size is specified
+	 * @see Hdf5Group#createDataSet(String, long[], int, Hdf5Filter[], long[], boolean, Hdf5DataType)
+	 */
+	public long[] getChunkDimensions() {
+		// a row chunk size of 1 is the former value for no specified size
+		long chunkRowSize = m_chunkRowSize > 1 ? m_chunkRowSize : 0;
+		if (chunkRowSize == 0 && m_chunkColumnSize <= 0) {
+			return null;
+		}
+		
+		return m_useOneDimension ? new long[] { chunkRowSize } : new long[] { chunkRowSize, Math.max(m_chunkColumnSize, 0) };
+	}
+	
+	/**
+	 * @return the index of the first row in the hdf dataSet which is written
+	 * 	with the data of the knime input table (which is not 0 if the rows
+	 * 	are appended to an existing dataSet)
+	 * @see EditOverwritePolicy#APPEND
+	 */
+	long getFirstRowIndexToWrite() {
+		return Math.max(m_rowsBeforeAppend, 0);
+	}
+	
+	/**
+	 * @return if the rows of this edit are appended to an existing dataSet
+	 * @see EditOverwritePolicy#APPEND
+	 */
+	boolean isAppendingRows() {
+		return m_rowsBeforeAppend >= 0;
+	}
+
 	/**
 	 * @return the children of this edit which are column edits
 	 */
@@ -600,6 +686,25 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		m_columnEdits.addAll(newEdits);
 	}
 
+	private static long getChunkColumnSize(Hdf5DataSet<?> dataSet) {
+		long[] chunkDimensions = dataSet.getChunkDimensions();
+		return chunkDimensions != null && chunkDimensions.length > 1 ? chunkDimensions[1] : 0;
+	}
+
+	/**
+	 * The filters are compared as a set because the order of the filters of
+	 * the dataSet in the file may differ from the order of the filters which
+	 * are configured.
+	 * 
+	 * @param filters the filters
+	 * @return the set of the filters
+	 */
+	private static Set<Hdf5Filter> toFilterSet(Hdf5Filter[] filters) {
+		Set<Hdf5Filter> filterSet = EnumSet.noneOf(Hdf5Filter.class);
+		filterSet.addAll(Arrays.asList(filters));
+		return filterSet;
+	}
+
 	@Override
 	protected boolean havePropertiesChanged(Object hdfSource) {
 		boolean propertiesChanged = true;
@@ -613,6 +718,9 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 					|| copyDataSet.getDimensions().length != (m_useOneDimension ? 1 : 2)
 					|| copyDataSet.getCompressionLevel() != m_compressionLevel
 					|| copyDataSet.getChunkRowSize() != m_chunkRowSize
+					|| getChunkColumnSize(copyDataSet) != m_chunkColumnSize
+					|| !toFilterSet(copyDataSet.getFilters()).equals(toFilterSet(Arrays.stream(m_filters)
+							.filter(filter -> filter.isApplicable(m_editDataType.getOutputType())).toArray(Hdf5Filter[]::new)))
 					|| copyDataSet.numberOfColumns() != getColumnInputTypes().length;
 			
 			if (!propertiesChanged) {
@@ -641,6 +749,8 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 			m_useOneDimension = copyDataSetEdit.usesOneDimension();
 			m_compressionLevel = copyDataSetEdit.getCompressionLevel();
 			m_chunkRowSize = copyDataSetEdit.getChunkRowSize();
+			m_chunkColumnSize = copyDataSetEdit.getChunkColumnSize();
+			m_filters = copyDataSetEdit.getFilters();
 		}
 	}
 	
@@ -669,7 +779,7 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		long totalToDo = 0L;
 		
 		if (getEditAction() != EditAction.NO_ACTION && getEditAction() != EditAction.MODIFY_CHILDREN_ONLY && getEditState() != EditState.SUCCESS) {
-			totalToDo += 331L + (havePropertiesChanged(getEditAction() != EditAction.CREATE ? findCopySource() : null) ? m_inputRowSize * getProgressToDoPerRow() : 0L);
+			totalToDo += 331L + (havePropertiesChanged(getEditAction() != EditAction.CREATE ? findCopySource() : null) ? Math.max(m_inputRowSize, 0L) * getProgressToDoPerRow() : 0L);
 		}
 		
 		return totalToDo;
@@ -740,6 +850,8 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		settings.addInt(SettingsKey.OUTPUT_NUMBER_OF_DIMENSIONS.getKey(), m_useOneDimension ? 1 : 2);
 		settings.addInt(SettingsKey.COMPRESSION.getKey(), m_compressionLevel);
 		settings.addLong(SettingsKey.CHUNK_ROW_SIZE.getKey(), m_chunkRowSize);
+		settings.addLong(SettingsKey.CHUNK_COLUMN_SIZE.getKey(), m_chunkColumnSize);
+		settings.addStringArray(SettingsKey.FILTERS.getKey(), Arrays.stream(m_filters).map(Hdf5Filter::getName).toArray(String[]::new));
 		
 	    NodeSettingsWO columnSettings = settings.addNodeSettings(SettingsKey.COLUMNS.getKey());
 	    NodeSettingsWO attributeSettings = settings.addNodeSettings(SettingsKey.ATTRIBUTES.getKey());
@@ -772,6 +884,20 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		
 		setCompressionLevel(settings.getInt(SettingsKey.COMPRESSION.getKey()));
 		setChunkRowSize(settings.getLong(SettingsKey.CHUNK_ROW_SIZE.getKey()));
+		if (settings.containsKey(SettingsKey.CHUNK_COLUMN_SIZE.getKey())) {
+			setChunkColumnSize(settings.getLong(SettingsKey.CHUNK_COLUMN_SIZE.getKey()));
+		}
+		if (settings.containsKey(SettingsKey.FILTERS.getKey())) {
+			List<Hdf5Filter> filters = new ArrayList<>();
+			for (String filterName : settings.getStringArray(SettingsKey.FILTERS.getKey())) {
+				Hdf5Filter filter = Hdf5Filter.get(filterName);
+				if (filter == null) {
+					throw new InvalidSettingsException("Unknown filter: " + filterName);
+				}
+				filters.add(filter);
+			}
+			setFilters(filters.toArray(new Hdf5Filter[filters.size()]));
+		}
 		
 		NodeSettingsRO columnSettings = settings.getNodeSettings("columns");
 		Enumeration<NodeSettingsRO> columnEnum = columnSettings.children();
@@ -878,7 +1004,16 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 	protected void createAction(Map<String, FlowVariable> flowVariables, ExecutionContext exec, long totalProgressToDo) throws IOException {
 		try {
 			setHdfObject((Hdf5DataSet<?>) null);
-			setHdfObject(((Hdf5Group) getOpenedHdfSourceOfParent()).createDataSetFromEdit(this));
+			m_rowsBeforeAppend = -1;
+			Hdf5Group parent = (Hdf5Group) getOpenedHdfSourceOfParent();
+			if (getEditOverwritePolicy() == EditOverwritePolicy.APPEND && Arrays.asList(parent.loadDataSetNames()).contains(getName())) {
+				Hdf5DataSet<?> dataSet = parent.getDataSet(getName());
+				checkAppendable(dataSet);
+				m_rowsBeforeAppend = dataSet.numberOfRows();
+				setHdfObject(dataSet);
+			} else {
+				setHdfObject(parent.createDataSetFromEdit(this));
+			}
 			addProgress(331, exec, totalProgressToDo, true);
 			
 		} finally {
@@ -906,11 +1041,51 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 		}
 	}
 
+	/**
+	 * Checks if the rows of this edit can be appended to the existing
+	 * {@code dataSet}. This is the case if the number of rows of the
+	 * dataSet is unlimited and it has the same columns and data type
+	 * as the dataSet which would be created by this edit. All columns
+	 * need to come from the knime input table.
+	 * 
+	 * @param dataSet the existing dataSet
+	 * @throws IOException if the rows cannot be appended to the dataSet
+	 */
+	private void checkAppendable(Hdf5DataSet<?> dataSet) throws IOException {
+		String cause = null;
+		long[] dims = dataSet.getDimensions();
+		Hdf5HdfDataType hdfType = dataSet.getType().getHdfType();
+		
+		if (!dataSet.isExtendible()) {
+			cause = "its number of rows is limited";
+			
+		} else if (Arrays.stream(getNotDeletedColumnNodeEdits()).anyMatch(edit -> edit.getEditAction() != EditAction.CREATE)) {
+			cause = "some columns are copied from other dataSets";
+			
+		} else if (dims.length != (m_useOneDimension ? 1 : 2) || dims.length == 2 && dims[1] != getColumnInputTypes().length) {
+			cause = "it has other dimensions";
+			
+		} else if (hdfType.getType() != m_editDataType.getOutputType() || hdfType.getEndian() != m_editDataType.getEndian()
+				|| hdfType.getType() == HdfDataType.STRING && hdfType.getStringLength() < m_editDataType.getStringLength()) {
+			cause = "it has another data type";
+		}
+		
+		if (cause != null) {
+			throw new IOException("Rows cannot be appended to dataSet \"" + dataSet.getPathFromFileWithName() + "\" because " + cause);
+		}
+	}
+
 	@Override
 	protected void deleteAction() throws IOException {
 		try {
 			Hdf5DataSet<?> dataSet = (Hdf5DataSet<?>) getHdfObject();
-			if (((Hdf5Group) getOpenedHdfSourceOfParent()).deleteObject(dataSet.getName())) {
+			if (isAppendingRows()) {
+				// only remove the appended rows, the existing dataSet stays
+				dataSet.setNumberOfRows(m_rowsBeforeAppend);
+				m_rowsBeforeAppend = -1;
+				setHdfObject((Hdf5DataSet<?>) null);
+				
+			} else if (((Hdf5Group) getOpenedHdfSourceOfParent()).deleteObject(dataSet.getName())) {
 				setHdfObject((Hdf5DataSet<?>) null);
 			}
 		} finally {
@@ -967,10 +1142,17 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				columnIndices[i] = columnEdit.getInputColumnIndex();
 			}
 			
-			for (long i = 0; i < m_inputRowSize; i++) {
-				withoutFail &= dataSet.copyValuesToRow(i, dataSets, columnIndices, m_editDataType.getRounding());
-				addProgress(getProgressToDoPerRow(), exec, totalProgressToDo, false);
+			// copy the columns block by block instead of value by value
+			int[] dataRowColumnIndices = new int[columnEdits.length];
+			Arrays.fill(dataRowColumnIndices, -1);
+			Hdf5RowBuffer rowBuffer = new Hdf5RowBuffer(dataSet, 0, dataRowColumnIndices, dataSets, columnIndices,
+					null, m_editDataType.getRounding(), Hdf5RowBuffer.getDefaultBufferRowSize(dataSet, 0));
+			for (long i = 0; i < m_inputRowSize; i += rowBuffer.getBufferRowSize()) {
+				long rowCount = Math.min(rowBuffer.getBufferRowSize(), m_inputRowSize - i);
+				withoutFail &= rowBuffer.copyRows(rowCount);
+				addProgress(getProgressToDoPerRow() * rowCount, exec, totalProgressToDo, false);
 			}
+			withoutFail &= rowBuffer.flush();
 
 			if (getEditAction() == EditAction.MODIFY) {
 				Hdf5DataSet<?> oldDataSet = (Hdf5DataSet<?>) getHdfSource();
@@ -1044,7 +1226,9 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 			private final JCheckBox m_useOneDimensionField = new JCheckBox();
 			private final JCheckBox m_compressionCheckBox;
 			private final JSpinner m_compressionField = new JSpinner(new SpinnerNumberModel(9, 0, 9, 1));
-			private final JSpinner m_chunkField = new JSpinner(new SpinnerNumberModel((Long) 1L, (Long) 1L, (Long) Long.MAX_VALUE, (Long) 1L));
+			private final JSpinner m_chunkField = new JSpinner(new SpinnerNumberModel((Long) 0L, (Long) 0L, (Long) Long.MAX_VALUE, (Long) 1L));
+			private final JSpinner m_chunkColumnField = new JSpinner(new SpinnerNumberModel((Long) 0L, (Long) 0L, (Long) Long.MAX_VALUE, (Long) 1L));
+			private final Map<Hdf5Filter, JCheckBox> m_filterFields = new EnumMap<>(Hdf5Filter.class);
 			private final JList<ColumnNodeEdit> m_columnList = new JList<>(new DefaultListModel<>());
 	    	
 			private DataSetPropertiesDialog() {
@@ -1064,13 +1248,28 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 
 					@Override
 					public void stateChanged(ChangeEvent e) {
-						boolean selected = m_compressionCheckBox.isSelected();
-						m_compressionField.setEnabled(selected);
-						m_chunkField.setEnabled(selected);
+						m_compressionField.setEnabled(m_compressionCheckBox.isSelected());
+						updateSzipField();
 					}
 				});
-				m_chunkField.setEnabled(false);
-				addProperty("Chunk row size: ", m_chunkField);
+				m_compressionField.addChangeListener(new ChangeListener() {
+
+					@Override
+					public void stateChanged(ChangeEvent e) {
+						updateSzipField();
+					}
+				});
+				addProperty("Chunk row size (0 for automatic): ", m_chunkField);
+				addProperty("Chunk column size (0 for automatic): ", m_chunkColumnField);
+				
+				JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+				for (Hdf5Filter filter : Hdf5Filter.values()) {
+					JCheckBox filterField = new JCheckBox(filter.getName());
+					m_filterFields.put(filter, filterField);
+					filterPanel.add(filterField);
+				}
+				addProperty("Filters: ", filterPanel);
+				updateSzipField();
 				
 				DefaultListModel<ColumnNodeEdit> editModel = (DefaultListModel<ColumnNodeEdit>) m_columnList.getModel();
 				editModel.clear();
@@ -1230,8 +1429,14 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				m_compressionCheckBox.setSelected(useCompression);
 				if (useCompression) {
 					m_compressionField.setValue(edit.getCompressionLevel());
-					m_chunkField.setValue(edit.getChunkRowSize());
 				}
+				m_chunkField.setValue(edit.getChunkRowSize() > 1 ? edit.getChunkRowSize() : 0L);
+				m_chunkColumnField.setValue(edit.getChunkColumnSize());
+				List<Hdf5Filter> filters = Arrays.asList(edit.getFilters());
+				for (Hdf5Filter filter : Hdf5Filter.values()) {
+					m_filterFields.get(filter).setSelected(filters.contains(filter));
+				}
+				updateSzipField();
 				
 				DefaultListModel<ColumnNodeEdit> columnModel = (DefaultListModel<ColumnNodeEdit>) m_columnList.getModel();
 				columnModel.clear();
@@ -1242,6 +1447,21 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				}
 			}
 
+			/**
+			 * Disables the szip filter if a compression level above 0 is
+			 * chosen since szip cannot be combined with the deflate compression.
+			 */
+			private void updateSzipField() {
+				JCheckBox szipField = m_filterFields.get(Hdf5Filter.SZIP);
+				if (szipField != null) {
+					boolean szipPossible = !m_compressionField.isEnabled() || (Integer) m_compressionField.getValue() == 0;
+					szipField.setEnabled(szipPossible);
+					if (!szipPossible) {
+						szipField.setSelected(false);
+					}
+				}
+			}
+
 			@Override
 			protected void saveToEdit() {
 				DataSetNodeEdit edit = DataSetNodeEdit.this;
@@ -1253,7 +1473,9 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				
 				boolean useCompression = m_compressionField.isEnabled();
 				edit.setCompressionLevel(useCompression ? (Integer) m_compressionField.getValue() : 0);
-				edit.setChunkRowSize(useCompression ? (Long) m_chunkField.getValue() : 1);
+				edit.setChunkRowSize((Long) m_chunkField.getValue());
+				edit.setChunkColumnSize((Long) m_chunkColumnField.getValue());
+				edit.setFilters(Arrays.stream(Hdf5Filter.values()).filter(filter -> m_filterFields.get(filter).isSelected()).toArray(Hdf5Filter[]::new));
 				
 				reorderColumnEdits(Collections.list(((DefaultListModel<ColumnNodeEdit>) m_columnList.getModel()).elements()));
 				
@@ -1278,7 +1500,7 @@ public class DataSetNodeEdit extends TreeNodeEdit {
 				+ ",dimension" + (usesOneDimension() ? "=" + m_inputRowSize : 
 					"s=[" + m_inputRowSize + ", " + getNotDeletedColumnNodeEdits().length + "]")
 				+ ",inputType=" + m_inputType + ",editDataType=" + m_editDataType
-				+ ",compressionLevel=" + m_compressionLevel + ",chunkRowSize=" + m_chunkRowSize 
+				+ ",compressionLevel=" + m_compressionLevel + ",chunkRowSize=" + m_chunkRowSize + ",chunkColumnSize=" + m_chunkColumnSize + ",filters=" + Arrays.toString(m_filters)
 				+ ",dataSet=" + getHdfObject() + ",backup=" + getHdfBackup() + " }";
 	}
 }
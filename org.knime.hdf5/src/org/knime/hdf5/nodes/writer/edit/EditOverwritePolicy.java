@@ -5,6 +5,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.knime.hdf5.nodes.writer.edit.TreeNodeEdit.EditAction;
+
 /**
  * Enum that handles the overwrite policy for {@linkplain TreeNodeEdit}s.
  */
@@ -33,7 +35,14 @@ public enum EditOverwritePolicy {
     /**
      * Add all children of the new TreeNodeEdit to the old TreeNodeEdit.
      */
-    INTEGRATE("integrate");
+    INTEGRATE("integrate"),
+    
+    /**
+     * Append the rows of the new TreeNodeEdit to the old one (only for
+     * new dataSets). The new dataSet is created extendible such that
+     * rows can be appended to it later.
+     */
+    APPEND("append");
 	private static final Map<String, EditOverwritePolicy> LOOKUP = new HashMap<>();
 
 	static {
@@ -73,6 +82,9 @@ public enum EditOverwritePolicy {
 			if (edit instanceof GroupNodeEdit || edit instanceof DataSetNodeEdit) {
 				values.add(INTEGRATE);
 			}
+			if (edit instanceof DataSetNodeEdit && edit.getEditAction() == EditAction.CREATE) {
+				values.add(APPEND);
+			}
 		}
 		
 		return values.toArray(new EditOverwritePolicy[values.size()]);
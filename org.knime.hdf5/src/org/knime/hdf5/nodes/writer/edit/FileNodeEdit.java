@@ -15,19 +15,19 @@ import javax.swing.tree.TreePath;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.container.CloseableRowIterator;
-import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.hdf5.lib.Hdf5Attribute;
 import org.knime.hdf5.lib.Hdf5DataSet;
 import org.knime.hdf5.lib.Hdf5File;
 import org.knime.hdf5.lib.Hdf5Group;
+import org.knime.hdf5.lib.Hdf5RowBuffer;
 import org.knime.hdf5.lib.Hdf5TreeElement;
 import org.knime.hdf5.lib.types.Hdf5KnimeDataType;
 import org.knime.hdf5.nodes.writer.edit.TreeNodeEdit.EditAction;
@@ -502,7 +502,10 @@ public class FileNodeEdit extends GroupNodeEdit {
 	 * Then integrates {@code copyEdit} to this file edit specified by
 	 * {@linkplain FileNodeEdit#integrate(FileNodeEdit)}. Also updates
 	 * its copy sources and validates this edit, also considering
-	 * the data and row size of the {@code inputTable}.
+	 * the row size of the input table. The data of the input table is
+	 * validated while it is written in
+	 * {@linkplain FileNodeEdit#doAction(RowInput, Map, boolean, ExecutionContext)}
+	 * such that the input table only needs to be read once.
 	 * <br>
 	 * <br>
 	 * For more information
@@ -510,16 +513,18 @@ public class FileNodeEdit extends GroupNodeEdit {
 	 * {@linkplain FileNodeEdit#getInvalidCauseMessages(TreeNodeEdit)}.
 	 * 
 	 * @param copyEdit the file edit to be integrated
-	 * @param inputTable the knime data table that will be used to create
-	 * 	dataSets with help of the dataSet edits
+	 * @param inputRowCount the number of rows of the knime input table which
+	 * 	will be used to create dataSets with help of the dataSet edits (or
+	 * 	{@linkplain ColumnNodeEdit#UNKNOWN_ROW_SIZE} if it is not known
+	 * 	before the execution, e.g. in streaming mode)
 	 * @return if this file edit is valid
 	 * @see FileNodeEdit#getInvalidCauseMessages(TreeNodeEdit)
 	 */
-	public boolean finalIntegrateAndValidate(FileNodeEdit copyEdit, BufferedDataTable inputTable) {
+	public boolean finalIntegrateAndValidate(FileNodeEdit copyEdit, long inputRowCount) {
 		useOverwritePolicyForFile(copyEdit);
 		integrate(copyEdit);
 		updateCopySources();
-		doLastValidation(copyEdit, inputTable);
+		doLastValidation(copyEdit, inputRowCount);
 		return isValid() && copyEdit.isValid();
 	}
 	
@@ -545,35 +550,36 @@ public class FileNodeEdit extends GroupNodeEdit {
 	
 	/**
 	 * Validates this file edit externally and {@code copyEdit} internally with
-	 * help of the {@code inputTable}.
+	 * help of the {@code inputRowCount}.
 	 * 
 	 * @param copyEdit edit for internal validation
-	 * @param inputTable
+	 * @param inputRowCount the number of rows of the knime input table
 	 */
-	private void doLastValidation(FileNodeEdit copyEdit, BufferedDataTable inputTable) {
+	private void doLastValidation(FileNodeEdit copyEdit, long inputRowCount) {
 		// external validation
-		validate(null, false, true);
+		validate(ColumnNodeEdit.UNKNOWN_ROW_SIZE, false, true);
 		// internal validation
-		copyEdit.validate(inputTable, true, false);
+		copyEdit.validate(inputRowCount, true, false);
 	}
 
 	/**
 	 * Validates this file edit internally and externally.
 	 */
 	private void validate() {
-		validate(null, true, true);
+		validate(ColumnNodeEdit.UNKNOWN_ROW_SIZE, true, true);
 	}
 	
 	/**
 	 * Validates this edit internally and/or externally (based on if the validation
-	 * result depends on the respective hdf file). Also uses the {@code inputTable}
+	 * result depends on the respective hdf file). Also uses the {@code inputRowCount}
 	 * in an internal validation.
 	 * 
-	 * @param inputTable
+	 * @param inputRowCount the number of rows of the knime input table
+	 * 	(or {@linkplain ColumnNodeEdit#UNKNOWN_ROW_SIZE} if it is not known)
 	 * @param internalCheck if an internal check should be done
 	 * @param externalCheck if an external check should be done
 	 */
-	protected void validate(BufferedDataTable inputTable, boolean internalCheck, boolean externalCheck) {
+	protected void validate(long inputRowCount, boolean internalCheck, boolean externalCheck) {
 		Hdf5File file = null;
 		try {
 			file = (Hdf5File) getHdfObject();
@@ -582,8 +588,8 @@ public class FileNodeEdit extends GroupNodeEdit {
 			}
 			
 			validate(internalCheck, externalCheck);
-			if (internalCheck && inputTable != null) {
-				lastValidationOfColumnEdits(inputTable);
+			if (internalCheck && inputRowCount != ColumnNodeEdit.UNKNOWN_ROW_SIZE) {
+				lastValidationOfColumnEdits(inputRowCount);
 			}
 		} catch (Exception e) {
 			NodeLogger.getLogger(getClass()).error(e.getMessage(), e);
@@ -651,75 +657,97 @@ public class FileNodeEdit extends GroupNodeEdit {
 	}
 	
 	/**
-	 * Validate the column edits on the data and row size of the knime input
-	 * table.
+	 * Validate the column edits on the row size of the knime input table.
+	 * The data of the input table is validated while writing it in
+	 * {@linkplain FileNodeEdit#validateRow(DataRow, ColumnNodeEdit[], int[], EditDataType)}.
 	 * 
-	 * @param inputTable the knime input table
+	 * @param inputRowCount the number of rows of the knime input table
 	 */
-	private void lastValidationOfColumnEdits(BufferedDataTable inputTable) {
-		long inputRowCount = inputTable.size();
-		List<ColumnNodeEdit> validateEdits = new ArrayList<>();
+	private void lastValidationOfColumnEdits(long inputRowCount) {
 		for (TreeNodeEdit edit : getAllDecendants()) {
 			if (edit instanceof ColumnNodeEdit && edit.getEditAction() == EditAction.CREATE) {
 				ColumnNodeEdit columnEdit = (ColumnNodeEdit) edit;
-				validateEdits.add(columnEdit);
 				columnEdit.setInputRowSize(inputRowCount);
+				if (columnEdit.isValid()) {
+					InvalidCause cause = columnEdit.validateEditInternal();
+					if (cause != null) {
+						columnEdit.updateInvalidMap(cause);
+					}
+				}
 			}
 		}
-
-		DataTableSpec tableSpec = inputTable.getDataTableSpec();
-		CloseableRowIterator iter = inputTable.iterator();
-		while (iter.hasNext()) {
-			DataRow row = iter.next();
-			InvalidCause[] causes = new InvalidCause[validateEdits.size()];
-			for (int i = 0; i < validateEdits.size(); i++) {
-				ColumnNodeEdit edit = validateEdits.get(i);
-				EditDataType parentDataType = ((DataSetNodeEdit) edit.getParent()).getEditDataType();
-				Hdf5KnimeDataType knimeType = Hdf5KnimeDataType.getKnimeDataType(parentDataType.getOutputType(), true);
-				Object standardValue = parentDataType.getStandardValue();
-				int columnIndex = tableSpec.findColumnIndex(edit.getInputPathFromFileWithName());
-				
+	}
+	
+	/**
+	 * Validates the values of the new columns in the row before they are
+	 * written to the dataSet.
+	 * 
+	 * @param row the row of the knime input table
+	 * @param columnEdits the column edits of the dataSet
+	 * @param specIndices the indices of the columns in the knime input table
+	 * 	for the column edits (-1 if the column is copied from an hdf dataSet)
+	 * @param parentDataType the data type of the dataSet
+	 * @throws IOException if a value is invalid (the respective column edit
+	 * 	is then updated with the cause why it is invalid)
+	 */
+	private static void validateRow(DataRow row, ColumnNodeEdit[] columnEdits, int[] specIndices, EditDataType parentDataType) throws IOException {
+		Hdf5KnimeDataType knimeType = Hdf5KnimeDataType.getKnimeDataType(parentDataType.getOutputType(), true);
+		Object standardValue = parentDataType.getStandardValue();
+		
+		for (int i = 0; i < columnEdits.length; i++) {
+			if (specIndices[i] >= 0) {
+				ColumnNodeEdit edit = columnEdits[i];
+				InvalidCause cause = null;
 				try {
-					Object value = knimeType.getValueFromDataCell(row.getCell(columnIndex));
+					Object value = knimeType.getValueFromDataCell(row.getCell(specIndices[i]));
 					if (value == null) {
 						if (standardValue != null) {
 							value = standardValue;
 						} else {
-							causes[i] = InvalidCause.MISSING_VALUES;
+							cause = InvalidCause.MISSING_VALUES;
 						}
 					}
 					if (value != null) {
-						causes[i] = !parentDataType.getOutputType().areValuesConvertible(new Object[]{ value }, edit.getInputType(), parentDataType) ? InvalidCause.OUTPUT_DATA_TYPE : null;
+						cause = !parentDataType.getOutputType().areValuesConvertible(new Object[]{ value }, edit.getInputType(), parentDataType) ? InvalidCause.OUTPUT_DATA_TYPE : null;
 					}
 				} catch (UnsupportedDataTypeException udte) {
-					NodeLogger.getLogger(getClass()).error("Validation of dataType of new column \""
+					NodeLogger.getLogger(FileNodeEdit.class).error("Validation of dataType of new column \""
 							+ edit.getOutputPathFromFileWithName() +  "\" could not be checked: " + udte.getMessage(), udte);
 				}
-			}
-			for (int i = causes.length-1; i >= 0; i--) {
-				ColumnNodeEdit edit = validateEdits.get(i);
-				boolean valid = edit.isValid();
-				if (valid) {
-					InvalidCause cause = causes[i] != null ? causes[i] : edit.validateEditInternal();
-					if (cause != null) {
-						edit.updateInvalidMap(cause);
-						valid = false;
-					}
-				}
-				if (!valid) {
-					validateEdits.remove(i);
+				
+				if (cause != null) {
+					edit.updateInvalidMap(cause);
+					throw new IOException("Value in row \"" + row.getKey() + "\" is invalid for column \""
+							+ edit.getOutputPathFromFileWithName() + "\": " + cause.getMessage());
 				}
 			}
 		}
 	}
 	
+	/**
+	 * @param inputTable the rows of the knime input table
+	 * @return the next row or {@code null} if all rows are read
+	 * @throws IOException if the thread was interrupted while waiting for
+	 * 	the next row
+	 */
+	private static DataRow pollRow(RowInput inputTable) throws IOException {
+		try {
+			return inputTable.poll();
+			
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Reading of input rows interrupted", ie);
+		}
+	}
+	
 	/**
 	 * Executes the edit defined by {@linkplain EditAction} and the properties
 	 * of this edit. The edit actions of all descendants are also executed in
 	 * this method. It also independently from each other sets the success of
 	 * all executed edits.
 	 * 
-	 * @param inputTable the knime input table
+	 * @param inputTable the rows of the knime input table (which are only
+	 * 	read once such that they can also be streamed)
 	 * @param flowVariables the knime flow variables
 	 * @param saveColumnProperties if the column properties of the input table
 	 * 	should be stored as attributes in the respective dataSets in hdf
@@ -727,11 +755,12 @@ public class FileNodeEdit extends GroupNodeEdit {
 	 * @return if the execution of this edit and all descendants was successful
 	 * @throws CanceledExecutionException if the user cancelled the node while
 	 * 	executing this edit
-	 * @throws IOException if an error occurred
+	 * @throws IOException if an error occurred or some data of the input
+	 * 	table is invalid for the edits
 	 * @throws NullPointerException if {@code inputTable} is {@code null}
 	 * 	although dataSets need to be written with its data
 	 */
-	public boolean doAction(BufferedDataTable inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec) throws CanceledExecutionException, IOException, NullPointerException {
+	public boolean doAction(RowInput inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec) throws CanceledExecutionException, IOException, NullPointerException {
 		boolean preparationSuccess = false;
 		setEditState(EditState.IN_PROGRESS);
 		try {
@@ -805,8 +834,13 @@ public class FileNodeEdit extends GroupNodeEdit {
 	 * the regular action, but could not be written with the input data. So
 	 * in this method, the dataSets will be written with the data of
 	 * {@code inputTable}.
+	 * <br>
+	 * <br>
+	 * The rows are validated while they are written. If the number of rows
+	 * was not known before, the dataSets are extendible and grow with the
+	 * rows written.
 	 * 
-	 * @param inputTable the knime input table
+	 * @param inputTable the rows of the knime input table
 	 * @param saveColumnProperties if the column properties of the input table
 	 * 	should be stored as attributes in the respective dataSets in hdf
 	 * @param exec the knime execution context
@@ -820,7 +854,7 @@ public class FileNodeEdit extends GroupNodeEdit {
 	 * 	although dataSets need to be written with its data
 	 */
 	@SuppressWarnings("unchecked")
-	private boolean doPostponedDataSetActions(BufferedDataTable inputTable, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException, NullPointerException {
+	private boolean doPostponedDataSetActions(RowInput inputTable, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException, NullPointerException {
 		// find the dataSet edits which were created, but no data was written to
 		List<DataSetNodeEdit> dataSetEditList = new ArrayList<>();
 		for (TreeNodeEdit edit : getAllDecendants()) {
@@ -840,67 +874,83 @@ public class FileNodeEdit extends GroupNodeEdit {
 		}
 		
 		DataTableSpec tableSpec = inputTable.getDataTableSpec();
-		long inputRowCount = inputTable.size();
 
 		// define all needed variables when writing the rows to the dataSets
 		int[][] specIndices = new int[dataSetEdits.length][];
 		List<ColumnNodeEdit>[] copyColumnEditLists = (List<ColumnNodeEdit>[]) new ArrayList<?>[dataSetEdits.length];
+		ColumnNodeEdit[][] columnEdits = new ColumnNodeEdit[dataSetEdits.length][];
 		ColumnNodeEdit[][] copyColumnEdits = new ColumnNodeEdit[dataSetEdits.length][];
 		Hdf5DataSet<?>[][] copyDataSets = new Hdf5DataSet<?>[dataSetEdits.length][];
 		long[][] dataSetColumnIndices = new long[dataSetEdits.length][];
+		long[] firstRowIndices = new long[dataSetEdits.length];
 		Hdf5DataSet<Object>[] outputDataSets = (Hdf5DataSet<Object>[]) new Hdf5DataSet<?>[dataSetEdits.length];
+		Hdf5RowBuffer[] rowBuffers = new Hdf5RowBuffer[dataSetEdits.length];
 
-		// init all needed variables when writing the rows to the dataSets
+		// take over the created dataSets such that all of them are rolled back below if anything fails
 		for (int i = 0; i < dataSetEdits.length; i++) {
-			try {
-				ColumnNodeEdit[] columnEdits = dataSetEdits[i].getNotDeletedColumnNodeEdits();
-				specIndices[i] = new int[columnEdits.length];
-				copyColumnEditLists[i] = new ArrayList<>();
-				for (int j = 0; j < columnEdits.length; j++) {
-					ColumnNodeEdit edit = columnEdits[j];
-					if (edit.getEditAction() == EditAction.CREATE) {
-						specIndices[i][j] = tableSpec.findColumnIndex(edit.getName());
-						edit.setInputRowSize(inputRowCount);
-						
-					} else {
-						specIndices[i][j] = -1;
-						copyColumnEditLists[i].add(edit);
-					}
-				}
-				
-				copyColumnEdits[i] = copyColumnEditLists[i].toArray(new ColumnNodeEdit[copyColumnEditLists[i].size()]);
-				copyDataSets[i] = new Hdf5DataSet<?>[copyColumnEdits[i].length];
-				dataSetColumnIndices[i] = new long[copyColumnEdits[i].length];
-				for (int j = 0; j < copyColumnEdits[i].length; j++) {
-					copyDataSets[i][j] = (Hdf5DataSet<?>) copyColumnEdits[i][j].findCopySource();
-					dataSetColumnIndices[i][j] = copyColumnEdits[i][j].getInputColumnIndex();
-					copyDataSets[i][j].open();
-				}
-
-				outputDataSets[i] = (Hdf5DataSet<Object>) dataSetEdits[i].getHdfObject();
-				dataSetEdits[i].setHdfObject((Hdf5DataSet<Object>) null);
-				
-			} catch (Exception e) {
-				dataSetEdits[i].setEditState(EditState.FAIL);
-				throw e;
-			}
+			outputDataSets[i] = (Hdf5DataSet<Object>) dataSetEdits[i].getHdfObject();
+			firstRowIndices[i] = dataSetEdits[i].getFirstRowIndexToWrite();
+			dataSetEdits[i].setHdfObject((Hdf5DataSet<Object>) null);
 		}
 		
 		boolean success = false;
-		CloseableRowIterator iter = inputTable.iterator();
+		Exception failure = null;
 		try {
+			// init all needed variables when writing the rows to the dataSets
+			for (int i = 0; i < dataSetEdits.length; i++) {
+				try {
+					columnEdits[i] = dataSetEdits[i].getNotDeletedColumnNodeEdits();
+					specIndices[i] = new int[columnEdits[i].length];
+					copyColumnEditLists[i] = new ArrayList<>();
+					for (int j = 0; j < columnEdits[i].length; j++) {
+						ColumnNodeEdit edit = columnEdits[i][j];
+						if (edit.getEditAction() == EditAction.CREATE) {
+							specIndices[i][j] = tableSpec.findColumnIndex(edit.getName());
+							
+						} else {
+							specIndices[i][j] = -1;
+							copyColumnEditLists[i].add(edit);
+						}
+					}
+					
+					copyColumnEdits[i] = copyColumnEditLists[i].toArray(new ColumnNodeEdit[copyColumnEditLists[i].size()]);
+					copyDataSets[i] = new Hdf5DataSet<?>[copyColumnEdits[i].length];
+					dataSetColumnIndices[i] = new long[copyColumnEdits[i].length];
+					for (int j = 0; j < copyColumnEdits[i].length; j++) {
+						copyDataSets[i][j] = (Hdf5DataSet<?>) copyColumnEdits[i][j].findCopySource();
+						dataSetColumnIndices[i][j] = copyColumnEdits[i][j].getInputColumnIndex();
+						copyDataSets[i][j].open();
+					}
+
+					rowBuffers[i] = new Hdf5RowBuffer(outputDataSets[i], firstRowIndices[i], specIndices[i], copyDataSets[i], dataSetColumnIndices[i],
+							dataSetEdits[i].getEditDataType().getStandardValue(), dataSetEdits[i].getEditDataType().getRounding(),
+							Hdf5RowBuffer.getDefaultBufferRowSize(outputDataSets[i], firstRowIndices[i]));
+					
+				} catch (Exception e) {
+					dataSetEdits[i].setEditState(EditState.FAIL);
+					throw e;
+				}
+			}
+				
 			boolean withoutFail = true;
 			long rowIndex = 0;
-			while (iter.hasNext()) {
+			DataRow row;
+			while ((row = pollRow(inputTable)) != null) {
 				exec.checkCanceled();
-			
-				DataRow row = iter.next();
 				
 				for (int i = 0; i < dataSetEdits.length; i++) {
 					try {
-						withoutFail &= outputDataSets[i].copyValuesToRow(rowIndex, row, specIndices[i], copyDataSets[i], dataSetColumnIndices[i],
-								dataSetEdits[i].getEditDataType().getStandardValue(), dataSetEdits[i].getEditDataType().getRounding());
-						if (withoutFail) {
+						validateRow(row, columnEdits[i], specIndices[i], dataSetEdits[i].getEditDataType());
+						
+						if (!outputDataSets[i].isExtendible() && firstRowIndices[i] + rowIndex >= outputDataSets[i].numberOfRows()) {
+							dataSetEdits[i].updateInvalidMap(InvalidCause.ROW_COUNT);
+							throw new IOException("DataSet \"" + outputDataSets[i].getPathFromFileWithName() + "\" has less rows ("
+									+ outputDataSets[i].numberOfRows() + ") than the input table");
+						}
+						
+						// the rows are written block by block by the buffer (extendible dataSets get extended there)
+						withoutFail &= rowBuffers[i].addRow(row);
+						if (withoutFail && dataSetEdits[i].getInputRowSize() != ColumnNodeEdit.UNKNOWN_ROW_SIZE) {
 							addProgress(dataSetEdits[i].getProgressToDoPerRow(), exec, totalProgressToDo, false);
 						}
 					} catch (HDF5DataspaceInterfaceException hdie) {
@@ -915,16 +965,39 @@ public class FileNodeEdit extends GroupNodeEdit {
 				
 				rowIndex++;
 			}
+			
+			// write the rest of the buffered rows, set the final number of rows of the extendible dataSets and check the others
+			for (int i = 0; i < dataSetEdits.length; i++) {
+				try {
+					withoutFail &= rowBuffers[i].flush();
+					if (outputDataSets[i].isExtendible()) {
+						outputDataSets[i].setNumberOfRows(firstRowIndices[i] + rowIndex);
+						for (ColumnNodeEdit edit : columnEdits[i]) {
+							edit.setInputRowSize(rowIndex);
+						}
+					} else if (outputDataSets[i].numberOfRows() != rowIndex) {
+						dataSetEdits[i].updateInvalidMap(InvalidCause.ROW_COUNT);
+						throw new IOException("DataSet \"" + outputDataSets[i].getPathFromFileWithName() + "\" has more rows ("
+								+ outputDataSets[i].numberOfRows() + ") than the input table (" + rowIndex + ")");
+					}
+				} catch (HDF5DataspaceInterfaceException hdie) {
+					dataSetEdits[i].setEditState(EditState.FAIL);
+					throw new IOException("Fail for writing dataSet \"" + outputDataSets[i].getPathFromFileWithName() + "\": " + hdie.getMessage(), hdie);
+				
+				} catch (Exception e) {
+					dataSetEdits[i].setEditState(EditState.FAIL);
+					throw e;
+				}
+			}
 
 			if (withoutFail && saveColumnProperties) {
 				for (int i = 0; i < dataSetEdits.length; i++) {
-					ColumnNodeEdit[] columnEdits = dataSetEdits[i].getNotDeletedColumnNodeEdits();
-					String[] columnNames = new String[columnEdits.length];
-					String[] columnTypes = new String[columnEdits.length];
-					for (int j = 0; j < columnEdits.length; j++) {
+					String[] columnNames = new String[columnEdits[i].length];
+					String[] columnTypes = new String[columnEdits[i].length];
+					for (int j = 0; j < columnEdits[i].length; j++) {
 						exec.checkCanceled();
 						
-						ColumnNodeEdit edit = columnEdits[j];
+						ColumnNodeEdit edit = columnEdits[i][j];
 						if (edit.getEditAction() == EditAction.CREATE) {
 							DataColumnSpec spec = tableSpec.getColumnSpec(specIndices[i][j]);
 							columnNames[j] = spec.getName();
@@ -950,8 +1023,12 @@ public class FileNodeEdit extends GroupNodeEdit {
 			
 			success = withoutFail;
 			
+		} catch (Exception e) {
+			failure = e;
+			throw e;
+			
 		} finally {
-			iter.close();
+			inputTable.close();
 			
 			for (int i = 0; i < dataSetEdits.length; i++) {
 				if (success) {
@@ -966,7 +1043,23 @@ public class FileNodeEdit extends GroupNodeEdit {
 					dataSetEdits[i].setHdfObject(outputDataSets[i]);
 					
 				} else {
-					((Hdf5Group) dataSetEdits[i].getOpenedHdfSourceOfParent()).deleteObject(dataSetEdits[i].getName());
+					// roll back every dataSet on its own such that a failed rollback neither replaces the cause nor skips the other dataSets
+					try {
+						if (dataSetEdits[i].isAppendingRows()) {
+							// only remove the appended rows from the existing dataSet
+							outputDataSets[i].setNumberOfRows(firstRowIndices[i]);
+							
+						} else {
+							((Hdf5Group) dataSetEdits[i].getOpenedHdfSourceOfParent()).deleteObject(dataSetEdits[i].getName());
+						}
+					} catch (Exception e) {
+						if (failure != null) {
+							failure.addSuppressed(e);
+						} else {
+							NodeLogger.getLogger(getClass()).error("Rollback of dataSet \"" + dataSetEdits[i].getOutputPathFromFileWithName()
+									+ "\" failed: " + e.getMessage(), e);
+						}
+					}
 				}
 			}
 		}
@@ -2,7 +2,6 @@ package org.knime.hdf5.nodes.writer.edit;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +20,8 @@ import org.knime.core.node.workflow.FlowVariable;
 import org.knime.hdf5.lib.Hdf5Attribute;
 import org.knime.hdf5.lib.Hdf5DataSet;
 import org.knime.hdf5.lib.Hdf5Group;
+import org.knime.hdf5.lib.Hdf5ObjectInfo;
+import org.knime.hdf5.lib.types.Hdf5DataType;
 import org.knime.hdf5.lib.types.Hdf5HdfDataType.HdfDataType;
 
 /**
@@ -470,55 +471,83 @@ public class GroupNodeEdit extends TreeNodeEdit {
 	 * 	an error in the hdf library occurred
 	 */
 	void loadChildrenOfHdfObject() throws IOException {
+		loadChildrenOfHdfObject(Hdf5ObjectInfo.scan((Hdf5Group) getHdfObject()));
+	}
+	
+	/**
+	 * Adds the children/descendants of the hdf group as newly initialized
+	 * child edits to this edit using the metadata which has already been
+	 * scanned such that only the supported objects need to be opened.
+	 * 
+	 * @param groupInfo the scanned metadata of the hdf group of this edit
+	 * @throws IOException if the hdf group is not loaded or not open or
+	 * 	an error in the hdf library occurred
+	 */
+	private void loadChildrenOfHdfObject(Hdf5ObjectInfo groupInfo) throws IOException {
 		Hdf5Group group = (Hdf5Group) getHdfObject();
 		
     	try {
-    		List<String> otherObjectNames = new ArrayList<>(Arrays.asList(group.loadObjectNames()));
-    		
-    		for (String groupName : group.loadGroupNames()) {
-    			Hdf5Group child = group.getGroup(groupName);
-    			GroupNodeEdit childEdit = new GroupNodeEdit(this, child);
-    			childEdit.addEditToParentNodeIfPossible();
-    			childEdit.loadChildrenOfHdfObject();
-    			
-    			otherObjectNames.remove(groupName);
+    		for (Hdf5ObjectInfo childInfo : groupInfo.getChildren()) {
+    			if (childInfo.isGroup()) {
+	    			Hdf5Group child = group.getGroup(childInfo.getName());
+	    			GroupNodeEdit childEdit = new GroupNodeEdit(this, child);
+	    			childEdit.addEditToParentNodeIfPossible();
+	    			childEdit.loadChildrenOfHdfObject(childInfo);
+    			}
     		}
 
-    		for (String dataSetName : group.loadDataSetNames()) {
-    			DataSetNodeEdit childEdit = null;
-    			try {
-        			Hdf5DataSet<?> child = group.getDataSet(dataSetName);
-        			if (child.getDimensions().length == 0) {
-            			childEdit = new DataSetNodeEdit(this, child.getName(), "Scalar dataSet");
-            			childEdit.addEditToParentNodeIfPossible();
-            			
-        			} else if (child.getDimensions().length <= 2) {
-            			childEdit = new DataSetNodeEdit(this, child);
-            			childEdit.addEditToParentNodeIfPossible();
-            			childEdit.loadChildrenOfHdfObject();
-            			
-        			} else {
-            			childEdit = new DataSetNodeEdit(this, child.getName(), "More than 2 dimensions");
-            			childEdit.addEditToParentNodeIfPossible();
-        			}
-    			} catch (UnsupportedDataTypeException udte) {
-    				// for unsupported dataSets
-        			childEdit = new DataSetNodeEdit(this, dataSetName, "Unsupported data type");
-        			childEdit.addEditToParentNodeIfPossible();
+    		for (Hdf5ObjectInfo childInfo : groupInfo.getChildren()) {
+    			if (childInfo.isDataSet()) {
+	    			String dataSetName = childInfo.getName();
+	    			long[] dims = childInfo.getDimensions();
+	    			DataSetNodeEdit childEdit = null;
+	    			try {
+	    				if (childInfo.getDataType() == null || dims == null) {
+	    					// for unsupported dataSets
+		        			childEdit = new DataSetNodeEdit(this, dataSetName, "Unsupported data type");
+		        			childEdit.addEditToParentNodeIfPossible();
+	    					
+	    				} else if (dims.length == 0) {
+	            			childEdit = new DataSetNodeEdit(this, dataSetName, "Scalar dataSet");
+	            			childEdit.addEditToParentNodeIfPossible();
+	            			
+	        			} else if (dims.length <= 2) {
+	            			Hdf5DataSet<?> child = group.getDataSet(dataSetName);
+	            			childEdit = new DataSetNodeEdit(this, child);
+	            			childEdit.addEditToParentNodeIfPossible();
+	            			childEdit.loadChildrenOfHdfObject();
+	            			
+	        			} else {
+	            			childEdit = new DataSetNodeEdit(this, dataSetName, "More than 2 dimensions");
+	            			childEdit.addEditToParentNodeIfPossible();
+	        			}
+	    			} catch (UnsupportedDataTypeException udte) {
+	    				// for unsupported dataSets
+	        			childEdit = new DataSetNodeEdit(this, dataSetName, "Unsupported data type");
+	        			childEdit.addEditToParentNodeIfPossible();
+	    			}
     			}
-    			otherObjectNames.remove(dataSetName);
     		}
     		
-    		for (String otherObjectName : otherObjectNames) {
-    			UnsupportedObjectNodeEdit childEdit = new UnsupportedObjectNodeEdit(this, otherObjectName);
-    			childEdit.addEditToParentNodeIfPossible();
+    		for (Hdf5ObjectInfo childInfo : groupInfo.getChildren()) {
+    			if (!childInfo.isGroup() && !childInfo.isDataSet()) {
+	    			UnsupportedObjectNodeEdit childEdit = new UnsupportedObjectNodeEdit(this, childInfo.getName());
+	    			childEdit.addEditToParentNodeIfPossible();
+    			}
     		}
     		
-    		for (String attributeName : group.loadAttributeNames()) {
+    		for (Map.Entry<String, Hdf5DataType> attributeInfo : groupInfo.getAttributes().entrySet()) {
+    			String attributeName = attributeInfo.getKey();
     			AttributeNodeEdit childEdit = null;
     			try {
-        			Hdf5Attribute<?> child = group.getAttribute(attributeName);
-        			childEdit = new AttributeNodeEdit(this, child);
+    				if (attributeInfo.getValue() == null) {
+    					// for unsupported attributes
+            			childEdit = new AttributeNodeEdit(this, attributeName, "Unsupported data type");
+    					
+    				} else {
+	        			Hdf5Attribute<?> child = group.getAttribute(attributeName);
+	        			childEdit = new AttributeNodeEdit(this, child);
+    				}
         			childEdit.addEditToParentNodeIfPossible();
         			
     			} catch (UnsupportedDataTypeException udte) {
@@ -12,6 +12,7 @@ import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
@@ -37,18 +38,19 @@ import javax.swing.WindowConstants;
 import javax.swing.event.ChangeListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 
-import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.workflow.FlowVariable;
 import org.knime.hdf5.lib.Hdf5Attribute;
 import org.knime.hdf5.lib.Hdf5DataSet;
 import org.knime.hdf5.lib.Hdf5File;
 import org.knime.hdf5.lib.Hdf5Group;
+import org.knime.hdf5.lib.Hdf5NameSet;
 import org.knime.hdf5.lib.Hdf5TreeElement;
 
 /**
@@ -81,6 +83,8 @@ public abstract class TreeNodeEdit {
 		OUTPUT_NUMBER_OF_DIMENSIONS("outputNumberOfDimensions"),
 		COMPRESSION("compression"),
 		CHUNK_ROW_SIZE("chunkRowSize"),
+		CHUNK_COLUMN_SIZE("chunkColumnSize"),
+		FILTERS("filters"),
 		INPUT_ROW_SIZE("inputRowSize"),
 		INPUT_COLUMN_INDEX("inputColumnIndex"),
 		OUTPUT_COLUMN_INDEX("outputColumnIndex"),
@@ -266,6 +270,16 @@ public abstract class TreeNodeEdit {
 	 */
 	private Map<TreeNodeEdit, InvalidCause> m_invalidEdits = new HashMap<>();
 	
+	/**
+	 * The names of the children mapped by the class of edits to which a name
+	 * conflict is possible. The names for one class are collected when the
+	 * first unique name for that class is needed and maintained on adding,
+	 * removing and renaming children afterwards.
+	 * 
+	 * @see TreeNodeEdit#getNameConflictClass(Class)
+	 */
+	private final Map<Class<? extends TreeNodeEdit>, Hdf5NameSet> m_childNames = new HashMap<>();
+	
 	/**
 	 * The cause if the hdf object of this edit is not supported
 	 * (or {@code null} if it is supported).
@@ -299,18 +313,18 @@ public abstract class TreeNodeEdit {
 	 * a name conflict with any other child of {@code parent} depending on the
 	 * {@code editClass}.
 	 * <br>
-	 * See {@linkplain Hdf5TreeElement#getUniqueName(List, String)} for more
+	 * See {@linkplain Hdf5TreeElement#getUniqueName(Collection, String)} for more
 	 * details on the construction of the unique name.
 	 * 
 	 * @param parent the parent edit
 	 * @param editClass the class of the new child edit
 	 * @param name the name for the new child edit
 	 * @return the unique name for the new child edit
-	 * @see Hdf5TreeElement#getUniqueName(List, String)
+	 * @see Hdf5NameSet#getUniqueName(String)
 	 * @see TreeNodeEdit#getNamesOfChildrenWithNameConflictPossible(Class)
 	 */
 	public static String getUniqueName(TreeNodeEdit parent, Class<? extends TreeNodeEdit> editClass, String name) {
-		return Hdf5TreeElement.getUniqueName(parent.getNamesOfChildrenWithNameConflictPossible(editClass), name);
+		return parent.getNamesOfChildrenWithNameConflictPossible(editClass).getUniqueName(name);
 	}
 	
 	/**
@@ -383,6 +397,9 @@ public abstract class TreeNodeEdit {
 	 */
 	protected void setName(String name) {
 		if (!m_name.equals(name)) {
+			if (m_parent != null) {
+				m_parent.updateNamesOfChildren(this, m_name, name);
+			}
 			m_name = name;
 			for (TreeNodeEdit edit : getAllChildren()) {
 				edit.setOutputPathFromFile(getOutputPathFromFileWithName());
@@ -616,12 +633,16 @@ public abstract class TreeNodeEdit {
 	 */
 	protected void setParent(TreeNodeEdit parent) {
 		if (m_parent != parent) {
-			if (m_parent != null && parent == null) {
-				m_parent.updateInvalidMap(this, null);
-				m_parent.removeModifyChildrenProperty();
+			if (m_parent != null) {
+				m_parent.updateNamesOfChildren(this, m_name, null);
+				if (parent == null) {
+					m_parent.updateInvalidMap(this, null);
+					m_parent.removeModifyChildrenProperty();
+				}
 			}
 			m_parent = parent;
 			if (m_parent != null) {
+				m_parent.updateNamesOfChildren(this, null, m_name);
 				updateParentEditAction();
 			}
 		}
@@ -1256,6 +1277,9 @@ public abstract class TreeNodeEdit {
 	private void copyCorePropertiesFrom(TreeNodeEdit copyEdit) {
 		m_inputPathFromFileWithName = copyEdit.getInputPathFromFileWithName();
 		m_outputPathFromFile = copyEdit.getOutputPathFromFile();
+		if (m_parent != null) {
+			m_parent.updateNamesOfChildren(this, m_name, copyEdit.getName());
+		}
 		m_name = copyEdit.getName();
 		m_editOverwritePolicy = copyEdit.getEditOverwritePolicy();
 		setEditAction(copyEdit.getEditAction());
@@ -1465,18 +1489,53 @@ public abstract class TreeNodeEdit {
 	 * @return the names of the children that might have a name conflict
 	 * @see TreeNodeEdit#isNameConflictPossible(Class)
 	 */
-	private List<String> getNamesOfChildrenWithNameConflictPossible(Class<? extends TreeNodeEdit> editClass) {
-		List<String> usedNames = new ArrayList<>();
+	private Hdf5NameSet getNamesOfChildrenWithNameConflictPossible(Class<? extends TreeNodeEdit> editClass) {
+		Class<? extends TreeNodeEdit> nameConflictClass = getNameConflictClass(editClass);
+		Hdf5NameSet usedNames = m_childNames.get(nameConflictClass);
 		
-		for (TreeNodeEdit child : getAllChildren()) {
-			if (child.isNameConflictPossible(editClass)) {
-				usedNames.add(child.getName());
+		if (usedNames == null) {
+			usedNames = new Hdf5NameSet();
+			for (TreeNodeEdit child : getAllChildren()) {
+				if (child.isNameConflictPossible(editClass)) {
+					usedNames.add(child.getName());
+				}
 			}
+			m_childNames.put(nameConflictClass, usedNames);
 		}
 		
 		return usedNames;
 	}
 	
+	/**
+	 * Updates the names of the children if they have already been collected
+	 * for the class of {@code child}.
+	 * 
+	 * @param child the child which is added, removed or renamed
+	 * @param oldName the name of the child before (or {@code null} if it is added)
+	 * @param newName the name of the child afterwards (or {@code null} if it is removed)
+	 */
+	private void updateNamesOfChildren(TreeNodeEdit child, String oldName, String newName) {
+		Hdf5NameSet usedNames = m_childNames.get(getNameConflictClass(child.getClass()));
+		if (usedNames != null) {
+			if (oldName != null) {
+				usedNames.remove(oldName);
+			}
+			if (newName != null) {
+				usedNames.add(newName);
+			}
+		}
+	}
+	
+	/**
+	 * @param editClass a class of edits
+	 * @return the representative of all classes between which a name conflict
+	 * 	with {@code editClass} is possible
+	 * @see TreeNodeEdit#isNameConflictPossible(Class)
+	 */
+	private static Class<? extends TreeNodeEdit> getNameConflictClass(Class<? extends TreeNodeEdit> editClass) {
+		return editClass == DataSetNodeEdit.class || editClass == UnsupportedObjectNodeEdit.class ? GroupNodeEdit.class : editClass;
+	}
+	
 	/**
 	 * Checks if a name conflict between this edit and any edit with the class
 	 * {@code otherClass} is possible.
@@ -1627,9 +1686,15 @@ public abstract class TreeNodeEdit {
 					break;
 				case RENAME:
 					// change the name of the new edit
-					List<String> usedNames = getNamesOfChildrenWithNameConflictPossible(newEdit.getClass());
-					usedNames.addAll(parentOfNewEdit.getNamesOfChildrenWithNameConflictPossible(newEdit.getClass()));
-					newEdit.setName(Hdf5TreeElement.getUniqueName(usedNames, newEdit.getName()));
+					String newName = newEdit.getName();
+					String uniqueName;
+					do {
+						// the first name which is unique in both edits is found if neither changes it anymore
+						uniqueName = newName;
+						newName = getUniqueName(this, newEdit.getClass(), newName);
+						newName = getUniqueName(parentOfNewEdit, newEdit.getClass(), newName);
+					} while (!newName.equals(uniqueName));
+					newEdit.setName(newName);
 					break;
 				case INTEGRATE:
 					if (editToOverwrite == null || editToOverwrite.getEditAction() != EditAction.DELETE) {
@@ -1665,6 +1730,9 @@ public abstract class TreeNodeEdit {
 						}
 					}
 					break;
+				case APPEND:
+					// keep both edits, the rows of the new edit will be appended to the existing dataSet
+					break;
 				default:
 					break;
 				}
@@ -1695,7 +1763,7 @@ public abstract class TreeNodeEdit {
 	 * 	executing this edit
 	 * @throws IOException if an error occurred
 	 */
-	protected boolean doAction(BufferedDataTable inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException {
+	protected boolean doAction(RowInput inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException {
 		exec.checkCanceled();
 		
 		setEditState(EditState.IN_PROGRESS);
@@ -1755,7 +1823,7 @@ public abstract class TreeNodeEdit {
 	 * 	executing this edit
 	 * @throws IOException if an error occurred
 	 */
-	private boolean doChildActionsInOrder(BufferedDataTable inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException {
+	private boolean doChildActionsInOrder(RowInput inputTable, Map<String, FlowVariable> flowVariables, boolean saveColumnProperties, ExecutionContext exec, long totalProgressToDo) throws CanceledExecutionException, IOException {
 		List<TreeNodeEdit> deleteEdits = new ArrayList<>();
 		List<TreeNodeEdit> otherEdits = new ArrayList<>();
 		List<String> objectNames = new ArrayList<>();
@@ -1808,7 +1876,7 @@ public abstract class TreeNodeEdit {
 	 * <br>
 	 * <br>
 	 * <b>Note:</b> When using this method outside of
-	 * {@linkplain TreeNodeEdit#doAction(BufferedDataTable, Map, boolean, ExecutionContext, long)},
+	 * {@linkplain TreeNodeEdit#doAction(RowInput, Map, boolean, ExecutionContext, long)},
 	 * reset the success of this edit afterwards!
 	 * 
 	 * @param flowVariables the knime flow variables
@@ -1824,7 +1892,7 @@ public abstract class TreeNodeEdit {
 	 * <br>
 	 * <br>
 	 * <b>Note:</b> When using this method outside of
-	 * {@linkplain TreeNodeEdit#doAction(BufferedDataTable, Map, boolean, ExecutionContext, long)},
+	 * {@linkplain TreeNodeEdit#doAction(RowInput, Map, boolean, ExecutionContext, long)},
 	 * reset the success of this edit afterwards!
 	 * 
 	 * @param exec the knime execution context
@@ -1839,7 +1907,7 @@ public abstract class TreeNodeEdit {
 	 * <br>
 	 * <br>
 	 * <b>Note:</b> When using this method outside of
-	 * {@linkplain TreeNodeEdit#doAction(BufferedDataTable, Map, boolean, ExecutionContext, long)},
+	 * {@linkplain TreeNodeEdit#doAction(RowInput, Map, boolean, ExecutionContext, long)},
 	 * reset the success of this edit afterwards!
 	 * 
 	 * @throws IOException if an error occurred
@@ -1866,7 +1934,7 @@ public abstract class TreeNodeEdit {
 	 * <br>
 	 * <br>
 	 * <b>Note:</b> When using this method outside of
-	 * {@linkplain TreeNodeEdit#doAction(BufferedDataTable, Map, boolean, ExecutionContext, long)},
+	 * {@linkplain TreeNodeEdit#doAction(RowInput, Map, boolean, ExecutionContext, long)},
 	 * reset the success of this edit afterwards!
 	 * 
 	 * @param exec the knime execution context